@@ -0,0 +1,58 @@
+package com.example.securingweb.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+
+import jakarta.servlet.Filter;
+
+/**
+ * Opt-in profiling of the security filter chains:
+ * <pre>
+ * application.profiling.filter-chain.enabled=true
+ * application.profiling.filter-chain.sample-every=100   # 1 in N requests
+ * management.endpoints.web.exposure.include=filterchain
+ * </pre>
+ * Every filter of every {@link DefaultSecurityFilterChain} bean is wrapped
+ * as the chain is created, so nothing changes in the security config itself.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "application.profiling.filter-chain", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(FilterChainProfilingProperties.class)
+public class FilterChainProfilingConfig {
+
+    @Bean
+    FilterChainProfiler filterChainProfiler(FilterChainProfilingProperties properties) {
+        return new FilterChainProfiler(properties.sampleEvery());
+    }
+
+    @Bean
+    FilterChainEndpoint filterChainEndpoint(FilterChainProfiler profiler) {
+        return new FilterChainEndpoint(profiler);
+    }
+
+    // Static so the post-processor does not force this configuration to initialise early
+    @Bean
+    static BeanPostProcessor filterChainProfilingPostProcessor(ObjectProvider<FilterChainProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DefaultSecurityFilterChain chain)) {
+                    return bean;
+                }
+                List<Filter> wrapped = new ArrayList<>();
+                for (Filter filter : chain.getFilters()) {
+                    wrapped.add(profiler.getObject().wrap(beanName, wrapped.size(), filter));
+                }
+                return new DefaultSecurityFilterChain(chain.getRequestMatcher(), wrapped);
+            }
+        };
+    }
+}
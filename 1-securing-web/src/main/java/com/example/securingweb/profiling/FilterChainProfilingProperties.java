@@ -0,0 +1,22 @@
+package com.example.securingweb.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Filter chain profiling properties externalized from application.yaml.
+ *
+ * @param enabled     Whether the security filter chains are profiled
+ * @param sampleEvery Measure one request in this many, per filter; 1 measures all
+ */
+@ConfigurationProperties(prefix = "application.profiling.filter-chain")
+public record FilterChainProfilingProperties(boolean enabled, int sampleEvery) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public FilterChainProfilingProperties {
+        if (sampleEvery <= 0) {
+            sampleEvery = 100;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.securingweb.profiling;
+
+/**
+ * Self time and allocation histograms for one filter in one chain.
+ * Self time excludes the filters and servlet downstream of it.
+ */
+final class FilterStats {
+
+    private final String chain;
+    private final int position;
+    private final String filter;
+    private final Histogram nanos = new Histogram();
+    private final Histogram bytes = new Histogram();
+
+    FilterStats(String chain, int position, String filter) {
+        this.chain = chain;
+        this.position = position;
+        this.filter = filter;
+    }
+
+    void record(long selfNanos, long selfBytes) {
+        nanos.record(selfNanos);
+        if (selfBytes >= 0) {
+            bytes.record(selfBytes);
+        }
+    }
+
+    void reset() {
+        nanos.reset();
+        bytes.reset();
+    }
+
+    /**
+     * @param sampleEvery Sampling ratio, used to extrapolate the total cost
+     */
+    FilterChainProfile.Entry snapshot(int sampleEvery) {
+        return new FilterChainProfile.Entry(
+                chain,
+                position,
+                filter,
+                nanos.count(),
+                (long) (nanos.sum() * (double) sampleEvery),
+                (long) nanos.mean(),
+                nanos.percentile(0.5),
+                nanos.percentile(0.99),
+                nanos.max(),
+                (long) bytes.mean(),
+                bytes.percentile(0.99));
+    }
+}
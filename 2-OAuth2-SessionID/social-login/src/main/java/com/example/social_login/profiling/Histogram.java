@@ -0,0 +1,107 @@
+package com.example.social_login.profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of non-negative longs.
+ *
+ * Each power of two is split into 8 linear sub-buckets, so a reported
+ * percentile is at most 12.5% above the true value, over the whole range
+ * of {@code long} in under 4 KB. Recording is a few atomic increments; no
+ * locks and no allocation.
+ */
+final class Histogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+        long v = Math.max(0, value);
+        counts.incrementAndGet(index(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long sum() {
+        return sum.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    double mean() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * @param quantile Quantile in [0, 1]
+     * @return Upper bound of the bucket holding that quantile, capped at the maximum
+     */
+    long percentile(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BITS;
+        if (shift >= Long.SIZE - SUB_BITS - 2) {
+            return Long.MAX_VALUE;
+        }
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.social_login.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.social_login.config.JwtProperties;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Shared inputs for the authentication benchmarks.
+ */
+final class Fixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    static final String COOKIE_NAME = "ACCESS_TOKEN";
+    static final String EMAIL = "user@example.com";
+
+    private Fixtures() {
+    }
+
+    static JwtProperties jwtProperties(JwtProperties.Engine engine, boolean cache) {
+        return jwtProperties(engine, cache, JwtProperties.Mode.JWT);
+    }
+
+    static JwtProperties jwtProperties(JwtProperties.Engine engine, boolean cache, JwtProperties.Mode mode) {
+        return new JwtProperties(SECRET, 900000L, COOKIE_NAME, new JwtProperties.Cache(cache, 1_000_000), engine, null,
+                null, mode, null);
+    }
+
+    /**
+     * Builds a cookie jar like the ones browsers send behind a shared domain:
+     * analytics and tracking cookies around the JWT, which sits in the middle.
+     *
+     * @param count Total number of cookies, including the JWT cookie
+     * @param token The JWT value
+     */
+    static Cookie[] cookieJar(int count, String token) {
+        List<Cookie> cookies = new ArrayList<>(count);
+        for (int i = 0; i < count - 1; i++) {
+            cookies.add(new Cookie(trackingCookieName(i), "GA1.2." + (1_000_000_000L + i * 7919L) + ".1699999999"));
+        }
+        cookies.add(cookies.size() / 2, new Cookie(COOKIE_NAME, token));
+        return cookies.toArray(Cookie[]::new);
+    }
+
+    private static String trackingCookieName(int i) {
+        String[] prefixes = { "_ga", "_gid", "_fbp", "_hjSession", "ajs_anonymous_id", "intercom-id", "mp_", "_uetsid" };
+        return prefixes[i % prefixes.length] + "_" + i;
+    }
+}
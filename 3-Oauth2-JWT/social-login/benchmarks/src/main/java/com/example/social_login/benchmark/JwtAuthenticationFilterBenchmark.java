@@ -0,0 +1,132 @@
+package com.example.social_login.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.social_login.accesslog.AccessLog;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.security.jwt.JwtAuthenticationFilter;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.path.PublicPaths;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * The full per-request path through {@link JwtAuthenticationFilter}:
+ * cookie lookup, verification and security context population, plus the
+ * bypass taken for public endpoints. Compare {@code publicEndpoint} with
+ * {@code validToken}: before the bypass a public request carrying the
+ * cookie paid the full verification. Compare {@code metrics=true} with
+ * {@code metrics=false} for the cost of the Micrometer instrumentation.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "JJWT", "FAST" })
+        JwtProperties.Engine engine;
+
+        @Param({ "false", "true" })
+        boolean cache;
+
+        @Param({ "10" })
+        int cookieCount;
+
+        @Param({ "false", "true" })
+        boolean metrics;
+
+        JwtAuthenticationFilter filter;
+        String token;
+
+        @Setup
+        public void setUp() {
+            JwtProperties properties = Fixtures.jwtProperties(engine, cache);
+            JwtService jwtService = new JwtService(properties);
+            PublicPaths publicPaths = new PublicPaths(new RefreshTokenProperties(null, 0, null, null, null, null));
+            JwtMetrics jwtMetrics = metrics
+                    ? new JwtMetrics(new SimpleMeterRegistry(), properties)
+                    : JwtMetrics.noop(properties);
+            filter = new JwtAuthenticationFilter(jwtService, properties, publicPaths, jwtMetrics,
+                    AccessLog.DISABLED);
+            token = jwtService.generateToken(Fixtures.EMAIL);
+        }
+    }
+
+    /**
+     * Request objects are per thread: the filter marks them with an attribute
+     * while it runs.
+     */
+    @State(Scope.Thread)
+    public static class PerThread {
+
+        MockHttpServletRequest authenticated;
+        MockHttpServletRequest anonymous;
+        MockHttpServletRequest publicRequest;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(Shared shared) {
+            authenticated = new MockHttpServletRequest("GET", "/api/me");
+            authenticated.setCookies(Fixtures.cookieJar(shared.cookieCount, shared.token));
+            anonymous = new MockHttpServletRequest("GET", "/api/me");
+            anonymous.setCookies(Fixtures.cookieJar(shared.cookieCount, "not-a-jwt"));
+            publicRequest = new MockHttpServletRequest("GET", "/oauth2/authorization/github");
+            publicRequest.setCookies(Fixtures.cookieJar(shared.cookieCount, shared.token));
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public void validToken(Shared shared, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        run(shared, thread.authenticated, thread, blackhole);
+    }
+
+    @Benchmark
+    public void invalidToken(Shared shared, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        run(shared, thread.anonymous, thread, blackhole);
+    }
+
+    @Benchmark
+    public void publicEndpoint(Shared shared, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        run(shared, thread.publicRequest, thread, blackhole);
+    }
+
+    private static void run(Shared shared, MockHttpServletRequest request, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        FilterChain chain = (req, res) -> blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            shared.filter.doFilter(request, thread.response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
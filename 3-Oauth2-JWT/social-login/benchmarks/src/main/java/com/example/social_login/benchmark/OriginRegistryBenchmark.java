@@ -0,0 +1,92 @@
+package com.example.social_login.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.cors.CorsConfiguration;
+
+import com.example.social_login.security.cors.OriginPolicy;
+import com.example.social_login.security.cors.OriginRegistry;
+
+/**
+ * Checking a request's {@code Origin} against {@code origins} allowed
+ * origins, one in ten of them a {@code *.} wildcard: the
+ * {@link OriginRegistry} against a {@link CorsConfiguration} holding the same
+ * origins and patterns. Lookups cycle through an exact origin near the end of
+ * the list, a wildcard subdomain and an unknown origin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OriginRegistryBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    int origins;
+
+    private OriginRegistry registry;
+    private CorsConfiguration corsConfiguration;
+    private String[] requests;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        List<String> exact = new ArrayList<>();
+        List<String> wildcards = new ArrayList<>();
+        for (int i = 0; i < origins; i++) {
+            if (i % 10 == 9) {
+                wildcards.add("https://*.zone-" + i + ".example.net");
+            } else {
+                exact.add("https://tenant-" + i + ".example.com");
+            }
+        }
+        List<String> all = new ArrayList<>(exact);
+        all.addAll(wildcards);
+        registry = new OriginRegistry(null, new OriginPolicy(List.of("GET"), List.of("*"), true), all);
+        corsConfiguration = new CorsConfiguration();
+        corsConfiguration.setAllowedOrigins(exact);
+        corsConfiguration.setAllowedOriginPatterns(wildcards);
+
+        requests = new String[] {
+                exact.get(exact.size() - 1),
+                wildcards.get(wildcards.size() - 1).replace("*", "acme"),
+                "https://unknown.example.org" };
+        if (registry.find(requests[2]) != null || corsConfiguration.checkOrigin(requests[1]) == null) {
+            throw new IllegalStateException("Fixture does not match");
+        }
+    }
+
+    @Benchmark
+    public OriginPolicy registry(Cursor cursor) {
+        return registry.find(next(cursor));
+    }
+
+    @Benchmark
+    public String corsConfiguration(Cursor cursor) {
+        return corsConfiguration.checkOrigin(next(cursor));
+    }
+
+    private String next(Cursor cursor) {
+        String origin = requests[cursor.next];
+        cursor.next = cursor.next == requests.length - 1 ? 0 : cursor.next + 1;
+        return origin;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.social_login.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup benchmark: launches the packaged application again and again and
+ * measures the time from process start to the first {@code 200} from
+ * {@code /api/public}, and the resident set size at that moment.
+ *
+ * Compares every build found under {@code startup.app-dir}:
+ * <ul>
+ * <li>{@code jvm}: the plain {@code java -jar}</li>
+ * <li>{@code aot}: the extracted jar of {@code -Pfast-start} with
+ * {@code -Dspring.aot.enabled=true}</li>
+ * <li>{@code aot+cache}: the same plus its AOT cache
+ * ({@code application.aot})</li>
+ * <li>{@code native}: the {@code -Pnative native:compile} executable</li>
+ * </ul>
+ * The builds take turns, round by round, so drift on the machine affects
+ * them alike, and the first round only warms the page cache. Not a JMH
+ * benchmark: each sample is a whole new process.
+ *
+ * Configured with system properties: {@code startup.runs} (rounds measured,
+ * default 10), {@code startup.app-dir} (the application's {@code target},
+ * default {@code ../target}), {@code startup.jvm-args} and
+ * {@code startup.app-args} (added to every launch, e.g. configuration the
+ * packaged {@code application.yaml} lacks). RSS is read from {@code /proc},
+ * so it is only reported on Linux.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 10);
+        Path target = Path.of(System.getProperty("startup.app-dir", "../target")).toAbsolutePath().normalize();
+        List<String> jvmArgs = split(System.getProperty("startup.jvm-args", ""));
+        List<String> appArgs = split(System.getProperty("startup.app-args", ""));
+
+        Map<String, Launch> launches = launches(target, jvmArgs);
+        if (launches.isEmpty()) {
+            throw new IllegalStateException("No build found in " + target + "; run ./mvnw -Pfast-start package first");
+        }
+        Path logs = Files.createDirectories(target.resolve("startup-logs"));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Map<String, List<Sample>> samples = new LinkedHashMap<>();
+        launches.keySet().forEach(name -> samples.put(name, new ArrayList<>()));
+
+        for (int round = 0; round <= runs; round++) {
+            for (Map.Entry<String, Launch> launch : launches.entrySet()) {
+                Sample sample = measure(launch.getValue(), appArgs, client, logs.resolve(launch.getKey() + ".log"));
+                if (round > 0) {
+                    samples.get(launch.getKey()).add(sample);
+                }
+            }
+            System.out.printf(round == 0 ? "warm-up round done%n" : "round %d/%d done%n", round, runs);
+        }
+
+        System.out.printf("%n%s, %d runs each%n", System.getProperty("java.vm.name") + " "
+                + Runtime.version(), runs);
+        System.out.printf("%-10s %16s %16s %14s%n", "build", "first 200 p50", "first 200 min", "RSS p50");
+        for (Map.Entry<String, List<Sample>> entry : samples.entrySet()) {
+            long[] millis = entry.getValue().stream().mapToLong(Sample::millis).sorted().toArray();
+            long[] rss = entry.getValue().stream().mapToLong(Sample::rssKb).sorted().toArray();
+            System.out.printf("%-10s %13d ms %13d ms %14s%n", entry.getKey(), median(millis), millis[0],
+                    rss[0] < 0 ? "n/a" : median(rss) / 1024 + " MB");
+        }
+    }
+
+    /**
+     * @return The builds present in the target directory, by name
+     */
+    private static Map<String, Launch> launches(Path target, List<String> jvmArgs) throws IOException {
+        Map<String, Launch> launches = new LinkedHashMap<>();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Path jar = null;
+        if (Files.isDirectory(target)) {
+            try (var files = Files.list(target)) {
+                jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst().orElse(null);
+            }
+        }
+        if (jar != null) {
+            launches.put("jvm", new Launch(target, command(java, jvmArgs, "-jar", jar.toString())));
+        }
+        Path fastStart = target.resolve("fast-start");
+        if (jar != null && Files.exists(fastStart.resolve(jar.getFileName()))) {
+            String fastJar = jar.getFileName().toString();
+            launches.put("aot", new Launch(fastStart,
+                    command(java, jvmArgs, "-Dspring.aot.enabled=true", "-jar", fastJar)));
+            if (Files.exists(fastStart.resolve("application.aot"))) {
+                launches.put("aot+cache", new Launch(fastStart, command(java, jvmArgs,
+                        "-XX:AOTCache=application.aot", "-Dspring.aot.enabled=true", "-jar", fastJar)));
+            }
+        }
+        Path executable = target.resolve("social-login");
+        if (Files.isExecutable(executable) && !Files.isDirectory(executable)) {
+            launches.put("native", new Launch(target, List.of(executable.toString())));
+        }
+        return launches;
+    }
+
+    private static Sample measure(Launch launch, List<String> appArgs, HttpClient client, Path log)
+            throws IOException, InterruptedException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        List<String> command = new ArrayList<>(launch.command());
+        command.addAll(appArgs);
+        command.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/public"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(launch.directory().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        return new Sample(millis, rssKb(process.pid()));
+                    }
+                } catch (IOException notListeningYet) {
+                    // Retry below
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No 200 from /api/public within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * @return VmRSS of the process in kB, or -1 without {@code /proc}
+     */
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> command(String java, List<String> jvmArgs, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(jvmArgs);
+        command.addAll(Arrays.asList(args));
+        return command;
+    }
+
+    private static List<String> split(String args) {
+        return args.isBlank() ? List.of() : List.of(args.trim().split("\\s+"));
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private record Launch(Path directory, List<String> command) {
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+}
@@ -3,12 +3,23 @@ package com.example.social_login;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.example.social_login.config.AccessLogProperties;
 import com.example.social_login.config.AppProperties;
+import com.example.social_login.config.AuthorizationRequestProperties;
+import com.example.social_login.config.CorsProperties;
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.OAuth2HttpClientProperties;
+import com.example.social_login.config.RateLimitProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.config.UserProfileProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties({ JwtProperties.class, AppProperties.class })
+@EnableConfigurationProperties({ JwtProperties.class, AppProperties.class, RefreshTokenProperties.class,
+		AuthorizationRequestProperties.class, OAuth2HttpClientProperties.class, UserProfileProperties.class,
+		CorsProperties.class, AccessLogProperties.class, RateLimitProperties.class })
+@EnableScheduling
 public class SocialLoginApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,37 @@
+package com.example.social_login.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CORS configuration properties externalized from application.yaml.
+ *
+ * @param origins            File of allowed origins and their policies, or
+ *                           null to allow only the frontend URL
+ * @param maxAge             How long browsers may cache a preflight result
+ *                           ({@code Access-Control-Max-Age}). Browsers cap it
+ *                           (Chromium at 2 hours, Firefox at 24 hours)
+ * @param preflightCacheSize Most distinct preflights (origin, method and
+ *                           requested headers) whose responses are kept
+ *                           precomputed on the server
+ */
+@ConfigurationProperties(prefix = "application.cors")
+public record CorsProperties(
+        Path origins,
+        Duration maxAge,
+        long preflightCacheSize) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public CorsProperties {
+        if (maxAge == null) {
+            maxAge = Duration.ofHours(2);
+        }
+        if (preflightCacheSize <= 0) {
+            preflightCacheSize = 1_000;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.social_login.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Refresh token configuration properties externalized from application.yaml.
+ *
+ * @param enabled      Whether login also issues a refresh token
+ * @param expirationMs Refresh token lifetime in milliseconds; each rotation
+ *                     starts a new lifetime
+ * @param cookieName   Name of the HttpOnly cookie storing the refresh token
+ * @param path         Refresh endpoint path; the cookie is only sent there
+ * @param store        Where refresh tokens are kept
+ * @param file         Log file for the {@code FILE} store
+ */
+@ConfigurationProperties(prefix = "application.security.refresh")
+public record RefreshTokenProperties(
+        Boolean enabled,
+        long expirationMs,
+        String cookieName,
+        String path,
+        Store store,
+        Path file) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public RefreshTokenProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (expirationMs <= 0) {
+            expirationMs = 604800000L; // 7 days default
+        }
+        if (cookieName == null || cookieName.isBlank()) {
+            cookieName = "REFRESH_TOKEN";
+        }
+        if (path == null || path.isBlank()) {
+            path = "/api/auth/refresh";
+        }
+        if (store == null) {
+            store = Store.MEMORY;
+        }
+        if (file == null) {
+            file = Path.of("refresh-tokens.log");
+        }
+    }
+
+    /**
+     * Refresh token store implementations.
+     */
+    public enum Store {
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.social_login.security.cors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.web.cors.CorsConfiguration;
+
+/**
+ * Applies an origin's {@link OriginPolicy} to the CORS configuration of the
+ * path it calls. Shared by the servlet and the reactive configuration
+ * sources, which only differ in how they find the path configuration.
+ *
+ * The path configuration supplies what is the same for every origin (exposed
+ * headers, max age). For a registered origin it is combined with the
+ * origin's policy into a configuration that allows exactly that policy's
+ * origins, methods, headers and credentials. An unregistered origin gets the
+ * path configuration, which lists no origins, so the request is rejected.
+ *
+ * There is one combined configuration per path configuration and distinct
+ * policy, built on first use. Reloading the registry changes which policy an
+ * origin gets without touching the path configurations.
+ */
+public class OriginPolicyConfigurations {
+
+    private final OriginRegistry registry;
+    private final Map<Combination, CorsConfiguration> combined = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry The allowed origins
+     */
+    public OriginPolicyConfigurations(OriginRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @param base   The path's configuration, or null if CORS does not apply
+     * @param origin The request's {@code Origin} header
+     * @return The configuration for this origin on this path
+     */
+    public CorsConfiguration apply(CorsConfiguration base, String origin) {
+        if (base == null) {
+            return null;
+        }
+        OriginPolicy policy = registry.find(origin);
+        if (policy == null) {
+            return base;
+        }
+        return combined.computeIfAbsent(new Combination(base, policy), PolicyConfiguration::new);
+    }
+
+    /**
+     * The path configuration compares by identity (CorsConfiguration has no
+     * equals); the policy by value, so an unchanged policy keeps its
+     * configuration across reloads.
+     */
+    private record Combination(CorsConfiguration base, OriginPolicy policy) {
+    }
+
+    /**
+     * A path configuration with one policy applied. Its origin check asks the
+     * registry, so it allows every origin that currently has this policy.
+     */
+    private final class PolicyConfiguration extends CorsConfiguration {
+
+        private final OriginPolicy policy;
+
+        PolicyConfiguration(Combination combination) {
+            super(combination.base());
+            this.policy = combination.policy();
+            setAllowedOrigins(null);
+            setAllowedOriginPatterns(null);
+            setAllowedMethods(policy.methods());
+            setAllowedHeaders(policy.headers());
+            setAllowCredentials(policy.credentials());
+        }
+
+        @Override
+        public String checkOrigin(String origin) {
+            return policy.equals(registry.find(origin)) ? origin : null;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.social_login.security.cors;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The origins allowed to make cross-origin requests, each with its own
+ * {@link OriginPolicy}.
+ *
+ * Origins are loaded from a text file, one per line, with optional
+ * whitespace-separated columns; omitted columns take the default policy:
+ * <pre>
+ * # origin                        methods          headers        credentials
+ * https://app.example.com         GET,POST,DELETE  *              true
+ * https://*.tenants.example.com   GET,POST         Content-Type   false
+ * http://localhost:3000
+ * </pre>
+ * A {@code *.} host matches any subdomain, at any depth, but not the domain
+ * itself; the most specific wildcard wins. Origins compare case-insensitively
+ * and ignore a trailing slash, like {@code CorsConfiguration}.
+ *
+ * Exact origins are found with one hash lookup, and wildcards by walking a
+ * trie of host labels from the right, so a lookup costs the same with ten
+ * origins or a hundred thousand. Lookups read an immutable snapshot through a
+ * volatile field; reloads build a new one.
+ */
+public class OriginRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(OriginRegistry.class);
+
+    private final Path file;
+    private final OriginPolicy defaultPolicy;
+    private final List<String> builtIn;
+
+    private volatile Snapshot snapshot;
+
+    // Reload state, guarded by this
+    private FileTime lastModified;
+
+    /**
+     * @param file          Origins file, or null for only the built-in origins
+     * @param defaultPolicy Policy for built-in origins and omitted columns
+     * @param builtIn       Origins allowed even if the file doesn't list them
+     * @throws IllegalStateException if the initial origins file cannot be loaded
+     */
+    public OriginRegistry(Path file, OriginPolicy defaultPolicy, List<String> builtIn) {
+        this.file = file;
+        this.defaultPolicy = defaultPolicy;
+        this.builtIn = List.copyOf(builtIn);
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot load allowed origins from " + file, e);
+        }
+    }
+
+    /**
+     * @param origin The request's {@code Origin} header
+     * @return The origin's policy, or null if it is not allowed
+     */
+    public OriginPolicy find(String origin) {
+        return origin == null ? null : snapshot.find(origin);
+    }
+
+    /**
+     * @return Number of exact origins registered
+     */
+    public int exactOrigins() {
+        return snapshot.exact().size();
+    }
+
+    /**
+     * @return Number of wildcard origins registered
+     */
+    public int wildcardOrigins() {
+        return snapshot.wildcards();
+    }
+
+    /**
+     * Reloads the origins file if it changed. A broken file is logged and the
+     * current origins are kept.
+     */
+    public synchronized void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(file).equals(lastModified)) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping current allowed origins, cannot reload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized void reload() throws IOException {
+        Builder builder = new Builder();
+        for (String origin : builtIn) {
+            builder.add(origin, defaultPolicy);
+        }
+        if (file != null) {
+            FileTime modified = Files.getLastModifiedTime(file);
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i).strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    String[] columns = line.split("\\s+");
+                    builder.add(columns[0], policy(columns));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+                }
+            }
+            lastModified = modified;
+        }
+        snapshot = builder.build();
+        log.info("Loaded {} exact and {} wildcard allowed origin(s){}", snapshot.exact().size(),
+                snapshot.wildcards(), file != null ? " from " + file : "");
+    }
+
+    private OriginPolicy policy(String[] columns) {
+        if (columns.length > 4) {
+            throw new IllegalArgumentException("Expected at most 4 columns, found " + columns.length);
+        }
+        List<String> methods = columns.length > 1
+                ? Arrays.stream(columns[1].split(",")).map(m -> m.toUpperCase(Locale.ROOT)).toList()
+                : defaultPolicy.methods();
+        List<String> headers = columns.length > 2 ? List.of(columns[2].split(",")) : defaultPolicy.headers();
+        boolean credentials = defaultPolicy.credentials();
+        if (columns.length > 3) {
+            if (!columns[3].equals("true") && !columns[3].equals("false")) {
+                throw new IllegalArgumentException("Credentials must be true or false: " + columns[3]);
+            }
+            credentials = Boolean.parseBoolean(columns[3]);
+        }
+        return new OriginPolicy(methods, headers, credentials);
+    }
+
+    /**
+     * Lower-cases an origin and drops a trailing slash.
+     */
+    static String normalize(String origin) {
+        String normalized = origin.toLowerCase(Locale.ROOT); // Returns itself when already lower case
+        return normalized.endsWith("/") ? normalized.substring(0, normalized.length() - 1) : normalized;
+    }
+
+    private record Snapshot(Map<String, OriginPolicy> exact, Node wildcardRoot, int wildcards) {
+
+        OriginPolicy find(String origin) {
+            String normalized = normalize(origin);
+            OriginPolicy policy = exact.get(normalized);
+            if (policy != null || wildcards == 0) {
+                return policy;
+            }
+            int schemeEnd = normalized.indexOf("://");
+            if (schemeEnd < 0) {
+                return null;
+            }
+            int hostStart = schemeEnd + 3;
+            if (normalized.startsWith("[", hostStart)) {
+                return null; // IPv6 literal, no subdomains
+            }
+            int portStart = normalized.indexOf(':', hostStart);
+            int hostEnd = portStart < 0 ? normalized.length() : portStart;
+            String schemeAndPort = normalized.substring(0, schemeEnd)
+                    + (portStart < 0 ? "" : normalized.substring(portStart));
+
+            // Walk labels right to left; remember the deepest wildcard with a label left over
+            OriginPolicy match = null;
+            Node node = wildcardRoot;
+            int labelEnd = hostEnd;
+            while (node != null && labelEnd > hostStart) {
+                int dot = normalized.lastIndexOf('.', labelEnd - 1);
+                int labelStart = Math.max(dot + 1, hostStart);
+                node = node.children.get(normalized.substring(labelStart, labelEnd));
+                labelEnd = labelStart - 1;
+                if (node != null && node.policies != null && labelEnd > hostStart) {
+                    OriginPolicy candidate = node.policies.get(schemeAndPort);
+                    if (candidate != null) {
+                        match = candidate;
+                    }
+                }
+            }
+            return match;
+        }
+    }
+
+    /**
+     * One host label in the wildcard trie. {@code policies} holds the
+     * {@code *.} entries ending at this label, keyed by scheme and port.
+     */
+    private static final class Node {
+        final Map<String, Node> children = new HashMap<>();
+        Map<String, OriginPolicy> policies;
+    }
+
+    private static final class Builder {
+        private final Map<String, OriginPolicy> exact = new HashMap<>();
+        private final Map<OriginPolicy, OriginPolicy> policies = new HashMap<>();
+        private final Node root = new Node();
+        private int wildcards;
+
+        void add(String origin, OriginPolicy policy) {
+            String normalized = normalize(origin);
+            int schemeEnd = normalized.indexOf("://");
+            if (schemeEnd <= 0 || schemeEnd + 3 == normalized.length()) {
+                throw new IllegalArgumentException("Not an origin: " + origin);
+            }
+            if (normalized.indexOf('/', schemeEnd + 3) >= 0) {
+                throw new IllegalArgumentException("An origin has no path: " + origin);
+            }
+            // Many origins share a policy; keep one instance of each
+            policy = policies.computeIfAbsent(policy, p -> p);
+            String host = normalized.substring(schemeEnd + 3);
+            if (!host.contains("*")) {
+                exact.put(normalized, policy);
+                return;
+            }
+            if (!host.startsWith("*.") || host.indexOf('*', 1) >= 0) {
+                throw new IllegalArgumentException("Only a leading '*.' wildcard is supported: " + origin);
+            }
+            int portStart = host.indexOf(':');
+            String domain = portStart < 0 ? host.substring(2) : host.substring(2, portStart);
+            if (domain.isEmpty() || domain.startsWith(".") || domain.endsWith(".")) {
+                throw new IllegalArgumentException("Not a domain: " + origin);
+            }
+            String schemeAndPort = normalized.substring(0, schemeEnd)
+                    + (portStart < 0 ? "" : host.substring(portStart));
+            Node node = root;
+            String[] labels = domain.split("\\.");
+            for (int i = labels.length - 1; i >= 0; i--) {
+                node = node.children.computeIfAbsent(labels[i], label -> new Node());
+            }
+            if (node.policies == null) {
+                node.policies = new HashMap<>();
+            }
+            if (node.policies.put(schemeAndPort, policy) == null) {
+                wildcards++;
+            }
+        }
+
+        Snapshot build() {
+            return new Snapshot(Map.copyOf(exact), root, wildcards);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.social_login.security.cors;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers CORS preflight requests before they reach the security filter
+ * chain.
+ *
+ * A preflight's response depends only on the CORS configuration for its
+ * path, the {@code Origin}, the requested method and headers, and whether it
+ * asks for private network access. So each distinct combination is worked
+ * out once and the resulting status and headers are kept in a bounded cache;
+ * later preflights just replay them. The result is exactly what
+ * {@link DefaultCorsProcessor} writes, including the 403
+ * {@code Invalid CORS request} rejection. Preflights that are same-origin, or
+ * whose path has no CORS configuration, go down the chain as before.
+ *
+ * Published through {@code /actuator/metrics} as {@code cors.preflight},
+ * tagged with the {@code result} (allowed, rejected) and whether the
+ * response came from the {@code cache} (hit, miss).
+ */
+public class PreflightFilter extends OncePerRequestFilter {
+
+    // Not in HttpHeaders; DefaultCorsProcessor keeps them private
+    static final String ACCESS_CONTROL_REQUEST_PRIVATE_NETWORK = "Access-Control-Request-Private-Network";
+    static final String ACCESS_CONTROL_ALLOW_PRIVATE_NETWORK = "Access-Control-Allow-Private-Network";
+
+    private static final String[] VARY = {
+            HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS };
+
+    private final CorsConfigurationSource configurationSource;
+    private final Cache<Key, Preflight> cache;
+    // [allowed, rejected] x [hit, miss]
+    private final Timer[] timers = new Timer[4];
+
+    /**
+     * @param configurationSource The source the security chain's CORS filter uses
+     * @param cacheSize           Most distinct preflights kept precomputed
+     * @param registry            Where to publish the preflight metrics
+     */
+    public PreflightFilter(CorsConfigurationSource configurationSource, long cacheSize, MeterRegistry registry) {
+        this.configurationSource = configurationSource;
+        this.cache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        for (boolean allowed : new boolean[] { true, false }) {
+            for (boolean hit : new boolean[] { true, false }) {
+                timers[timerIndex(allowed, hit)] = Timer.builder("cors.preflight")
+                        .description("CORS preflights answered ahead of the security filter chain")
+                        .tag("result", allowed ? "allowed" : "rejected")
+                        .tag("cache", hit ? "hit" : "miss")
+                        .register(registry);
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CorsUtils.isPreFlightRequest(request) || !CorsUtils.isCorsRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        CorsConfiguration config = configurationSource.getCorsConfiguration(request);
+        // DefaultCorsProcessor leaves a response that already has CORS headers alone
+        if (config == null || response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN) != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Key key = new Key(
+                config,
+                request.getHeader(HttpHeaders.ORIGIN),
+                request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD),
+                requestedHeaders(request),
+                Boolean.parseBoolean(request.getHeader(ACCESS_CONTROL_REQUEST_PRIVATE_NETWORK)));
+        Preflight preflight = cache.getIfPresent(key);
+        boolean hit = preflight != null;
+        if (!hit) {
+            preflight = Preflight.of(key);
+            cache.put(key, preflight);
+        }
+        preflight.writeTo(response);
+        timers[timerIndex(preflight.allowed(), hit)].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return Every {@code Access-Control-Request-Headers} value, comma-joined
+     */
+    private static String requestedHeaders(HttpServletRequest request) {
+        Enumeration<String> values = request.getHeaders(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+        if (values == null || !values.hasMoreElements()) {
+            return "";
+        }
+        String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+            return first; // Browsers send a single line
+        }
+        StringBuilder joined = new StringBuilder(first);
+        while (values.hasMoreElements()) {
+            joined.append(',').append(values.nextElement());
+        }
+        return joined.toString();
+    }
+
+    private static int timerIndex(boolean allowed, boolean hit) {
+        return (allowed ? 0 : 2) + (hit ? 0 : 1);
+    }
+
+    /**
+     * Everything a preflight response depends on. The configuration is
+     * compared by identity, as the source hands out the same instance per
+     * path.
+     */
+    private record Key(
+            CorsConfiguration config,
+            String origin,
+            String method,
+            String requestedHeaders,
+            boolean privateNetwork) {
+    }
+
+    /**
+     * A precomputed preflight response: status, CORS headers and body.
+     */
+    private record Preflight(boolean allowed, String[] names, String[] values, byte[] body) {
+
+        private static final Preflight REJECTED = new Preflight(false, new String[0], new String[0],
+                "Invalid CORS request".getBytes(StandardCharsets.UTF_8));
+
+        /**
+         * Works out the response the way {@link DefaultCorsProcessor} does
+         * for a preflight, with the same checks in the same order.
+         */
+        static Preflight of(Key key) {
+            CorsConfiguration config = key.config();
+            String allowOrigin = config.checkOrigin(key.origin());
+            if (allowOrigin == null) {
+                return REJECTED;
+            }
+            List<HttpMethod> allowMethods = config.checkHttpMethod(HttpMethod.valueOf(key.method()));
+            if (allowMethods == null) {
+                return REJECTED;
+            }
+            List<String> allowHeaders = config.checkHeaders(
+                    List.of(StringUtils.tokenizeToStringArray(key.requestedHeaders(), ",")));
+            if (allowHeaders == null) {
+                return REJECTED;
+            }
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccessControlAllowOrigin(allowOrigin);
+            headers.setAccessControlAllowMethods(allowMethods);
+            if (!allowHeaders.isEmpty()) {
+                headers.setAccessControlAllowHeaders(allowHeaders);
+            }
+            if (!CollectionUtils.isEmpty(config.getExposedHeaders())) {
+                headers.setAccessControlExposeHeaders(config.getExposedHeaders());
+            }
+            if (Boolean.TRUE.equals(config.getAllowCredentials())) {
+                headers.setAccessControlAllowCredentials(true);
+            }
+            if (Boolean.TRUE.equals(config.getAllowPrivateNetwork()) && key.privateNetwork()) {
+                headers.set(ACCESS_CONTROL_ALLOW_PRIVATE_NETWORK, Boolean.toString(true));
+            }
+            if (config.getMaxAge() != null) {
+                headers.setAccessControlMaxAge(config.getMaxAge());
+            }
+
+            List<String> names = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            headers.forEach((name, list) -> list.forEach(value -> {
+                names.add(name);
+                values.add(value);
+            }));
+            return new Preflight(true, names.toArray(String[]::new), values.toArray(String[]::new), null);
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            Collection<String> vary = response.getHeaders(HttpHeaders.VARY);
+            for (String header : VARY) {
+                if (!vary.contains(header)) {
+                    response.addHeader(HttpHeaders.VARY, header);
+                }
+            }
+            for (int i = 0; i < names.length; i++) {
+                response.addHeader(names[i], values[i]);
+            }
+            if (!allowed) {
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                response.getOutputStream().write(body);
+                response.flushBuffer(); // Like ServletServerHttpResponse, only once there is a body
+            }
+        }
+    }
+}
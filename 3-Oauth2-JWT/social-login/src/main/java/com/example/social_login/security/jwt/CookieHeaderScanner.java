@@ -0,0 +1,219 @@
+package com.example.social_login.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Finds one cookie in the raw {@code Cookie} headers without parsing the
+ * others.
+ *
+ * {@link HttpServletRequest#getCookies()} turns every cookie in the header
+ * into a {@code Cookie} object with its own name and value strings, so a
+ * browser sending forty analytics cookies costs forty of each on every
+ * request that needs one. This scanner walks the header once, compares
+ * names in place and only copies out the value that matched.
+ *
+ * It accepts exactly what Tomcat's RFC 6265 cookie parser accepts, so it
+ * returns what {@link CookieUtils#getCookieValue} returns on Tomcat:
+ * <ul>
+ * <li>Names are tokens and compare case-sensitively.</li>
+ * <li>Values are cookie-octets, optionally in double quotes, which are kept
+ * as part of the value.</li>
+ * <li>A value with any other character (space, comma, backslash, a control
+ * character, text after the closing quote) makes that cookie invalid, and
+ * the scan resumes after the next semicolon.</li>
+ * <li>Cookie headers are scanned in order, and the first cookie of that name
+ * with a non-blank value wins.</li>
+ * <li>Bytes above 0x7F in a value are read as UTF-8.</li>
+ * </ul>
+ * Unlike Tomcat, it does not stop at the connector's maximum cookie count.
+ */
+public final class CookieHeaderScanner {
+
+    /**
+     * RFC 6265 cookie-octet, with 0x80-0xFF allowed for UTF-8 as in Tomcat.
+     */
+    private static final boolean[] COOKIE_OCTET = new boolean[256];
+
+    /**
+     * RFC 7230 token: visible ASCII except separators.
+     */
+    private static final boolean[] TOKEN = new boolean[128];
+
+    static {
+        for (int c = 0; c < 256; c++) {
+            COOKIE_OCTET[c] = c > 0x20 && c != '"' && c != ',' && c != ';' && c != '\\' && c != 0x7f;
+        }
+        for (int c = 0x21; c < 0x7f; c++) {
+            TOKEN[c] = "()<>@,;:\\\"/[]?={}".indexOf(c) < 0;
+        }
+    }
+
+    private CookieHeaderScanner() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * Extracts a cookie value from the request's {@code Cookie} headers.
+     *
+     * @param request    The HTTP servlet request
+     * @param cookieName The name of the cookie to extract
+     * @return The cookie's value, or null if there is no such cookie with a
+     *         non-blank value
+     */
+    public static String findValue(HttpServletRequest request, String cookieName) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.COOKIE);
+        if (headers == null) {
+            return null;
+        }
+        while (headers.hasMoreElements()) {
+            String value = findValue(headers.nextElement(), cookieName);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts a cookie value from one {@code Cookie} header.
+     *
+     * @param header     The header value
+     * @param cookieName The name of the cookie to extract
+     * @return The cookie's value, or null if there is no such cookie with a
+     *         non-blank value
+     */
+    public static String findValue(String header, String cookieName) {
+        int from = 0;
+        while (true) {
+            long slice = find(header, cookieName, from);
+            if (slice < 0) {
+                return null;
+            }
+            String value = decode(header, (int) (slice >>> 32), (int) slice);
+            if (!value.isBlank()) {
+                return value;
+            }
+            from = (int) slice; // An all-whitespace UTF-8 value; look further on
+        }
+    }
+
+    /**
+     * Finds the next valid, non-empty cookie named {@code cookieName},
+     * without allocating.
+     *
+     * @param header     The header value
+     * @param cookieName The name of the cookie to find
+     * @param from       Where to start: 0, or the end of a previous match
+     * @return The value's start index in the high 32 bits and its end index
+     *         in the low 32 bits, or -1 if there is none
+     */
+    public static long find(String header, String cookieName, int from) {
+        int length = header.length();
+        int pos = from;
+        while (pos < length) {
+            pos = skipWhitespace(header, pos);
+            int nameStart = pos;
+            while (pos < length && isToken(header.charAt(pos))) {
+                pos++;
+            }
+            int nameEnd = pos;
+            pos = skipWhitespace(header, pos);
+
+            int valueStart = -1;
+            int valueEnd = -1;
+            if (pos < length && header.charAt(pos) == '=') {
+                pos = skipWhitespace(header, pos + 1);
+                valueStart = pos;
+                valueEnd = length;
+                boolean quoted = false;
+                boolean valid = true;
+                while (pos < length) {
+                    char c = header.charAt(pos++);
+                    if (isCookieOctet(c)) {
+                        continue;
+                    }
+                    if (c == ';' || c == ' ' || c == '\t') {
+                        valueEnd = --pos;
+                        break;
+                    }
+                    if (c == '"' && pos - 1 == valueStart) {
+                        quoted = true;
+                    } else if (c == '"' && quoted) {
+                        valueEnd = pos;
+                        break;
+                    } else {
+                        valid = false;
+                        break;
+                    }
+                }
+                if (!valid) {
+                    pos = skipPastSemicolon(header, pos);
+                    continue;
+                }
+                pos = skipWhitespace(header, pos);
+            }
+
+            if (pos < length) {
+                if (header.charAt(pos) != ';') {
+                    // Anything but a semicolon after the pair makes the cookie invalid
+                    pos = skipPastSemicolon(header, pos);
+                    continue;
+                }
+                pos++;
+            }
+            // A cookie without '=' has an empty value, which never matches
+            if (valueEnd > valueStart
+                    && nameEnd > nameStart
+                    && nameEnd - nameStart == cookieName.length()
+                    && header.startsWith(cookieName, nameStart)) {
+                return (long) valueStart << 32 | valueEnd;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies out a value, reading any bytes above 0x7F as UTF-8 like Tomcat
+     * does. Servlet containers hand headers over as ISO-8859-1, one char per
+     * byte.
+     */
+    private static String decode(String header, int start, int end) {
+        boolean ascii = true;
+        boolean bytes = true;
+        for (int i = start; i < end; i++) {
+            char c = header.charAt(i);
+            ascii &= c < 0x80;
+            bytes &= c <= 0xff;
+        }
+        String value = header.substring(start, end);
+        if (ascii || !bytes) {
+            return value; // Plain ASCII, or already decoded by the container
+        }
+        return new String(value.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+    }
+
+    private static boolean isToken(char c) {
+        return c < 128 && TOKEN[c];
+    }
+
+    private static boolean isCookieOctet(char c) {
+        return c >= 256 || COOKIE_OCTET[c];
+    }
+
+    private static int skipWhitespace(String header, int pos) {
+        while (pos < header.length() && (header.charAt(pos) == ' ' || header.charAt(pos) == '\t')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipPastSemicolon(String header, int pos) {
+        int semicolon = header.indexOf(';', pos);
+        return semicolon < 0 ? header.length() : semicolon + 1;
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.http.ResponseCookie;
 
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +22,8 @@ public final class CookieUtils {
 
     /**
      * Extracts a cookie value from the request by name.
+     * Parses every cookie of the request; {@link CookieHeaderScanner} finds
+     * one cookie without doing so.
      *
      * @param request    The HTTP servlet request
      * @param cookieName The name of the cookie to extract
@@ -60,4 +63,23 @@ public final class CookieUtils {
                 .maxAge(clear ? 0 : properties.expirationMs() / 1000) // Convert ms to seconds
                 .build();
     }
+
+    /**
+     * Builds a refresh token cookie. It is only sent to the refresh endpoint,
+     * so the long-lived credential never travels with ordinary API calls.
+     *
+     * @param token      The refresh token value (empty string to clear cookie)
+     * @param properties Refresh token configuration properties
+     * @param clear      If true, creates a cookie with maxAge=0 to clear it
+     * @return A ResponseCookie scoped to the refresh endpoint
+     */
+    public static ResponseCookie buildRefreshCookie(String token, RefreshTokenProperties properties, boolean clear) {
+        return ResponseCookie.from(properties.cookieName(), clear ? "" : token)
+                .httpOnly(true)
+                .secure(false) // Set to true in production with HTTPS
+                .sameSite("Lax")
+                .path(properties.path()) // Only sent to the refresh endpoint
+                .maxAge(clear ? 0 : properties.expirationMs() / 1000)
+                .build();
+    }
 }
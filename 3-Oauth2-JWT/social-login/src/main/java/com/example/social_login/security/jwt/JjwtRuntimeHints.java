@@ -0,0 +1,32 @@
+package com.example.social_login.security.jwt;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Native image hints for jjwt 0.11, which creates its implementation
+ * classes by name from {@code Jwts} and loads the Jackson serializer through
+ * a ServiceLoader. Only used by {@code -Pnative}; the JVM needs no hints.
+ */
+class JjwtRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] TYPES = {
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer" };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.social_login.security.jwt;
+
+import io.jsonwebtoken.ClaimJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+
+/**
+ * Reference {@link TokenVerifier} backed by jjwt.
+ * Handles every header and claim shape jjwt understands, at the cost of
+ * building the full Claims map for each token.
+ */
+public class JjwtTokenVerifier implements TokenVerifier {
+
+    private final JwtParser jwtParser;
+
+    /**
+     * @param jwtParser A fully configured, thread-safe parser
+     */
+    public JjwtTokenVerifier(JwtParser jwtParser) {
+        this.jwtParser = jwtParser;
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return VerifiedToken.failure(VerifiedToken.Status.INVALID_CLAIMS);
+            }
+            return VerifiedToken.valid(
+                    claims.getSubject(),
+                    claims.getId(),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant());
+        } catch (ExpiredJwtException e) {
+            return VerifiedToken.failure(VerifiedToken.Status.EXPIRED);
+        } catch (ClaimJwtException e) {
+            // Premature (nbf) or otherwise unacceptable claims
+            return VerifiedToken.failure(VerifiedToken.Status.INVALID_CLAIMS);
+        } catch (SecurityException e) {
+            // Signature does not match the signing key
+            return VerifiedToken.failure(VerifiedToken.Status.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            // Unsigned or otherwise unexpected token type
+            return VerifiedToken.failure(VerifiedToken.Status.UNSUPPORTED);
+        } catch (MalformedJwtException e) {
+            return VerifiedToken.failure(VerifiedToken.Status.MALFORMED);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Base64/JSON decoding failures and anything else jjwt rejects
+            return VerifiedToken.failure(VerifiedToken.Status.MALFORMED);
+        }
+    }
+}
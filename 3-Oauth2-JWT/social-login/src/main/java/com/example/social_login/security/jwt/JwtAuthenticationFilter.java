@@ -2,15 +2,16 @@ package com.example.social_login.security.jwt;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.social_login.accesslog.AccessEvent;
+import com.example.social_login.accesslog.AccessLog;
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.path.PublicPaths;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,16 +25,36 @@ import jakarta.servlet.http.HttpServletResponse;
  * 
  * Note: This filter does NOT check Authorization header - JWTs are only
  * accepted from cookies to prevent XSS token theft.
+ *
+ * Public endpoints are skipped entirely: no cookie scan, no verification.
+ * Every token that is checked leaves an {@code auth} event in the
+ * {@link AccessLog}, with the subject if valid and the outcome.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
+    private final PublicPaths publicPaths;
+    private final JwtMetrics metrics;
+    private final AccessLog accessLog;
 
-    public JwtAuthenticationFilter(JwtService jwtService, JwtProperties jwtProperties) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            JwtProperties jwtProperties,
+            PublicPaths publicPaths,
+            JwtMetrics metrics,
+            AccessLog accessLog) {
         this.jwtService = jwtService;
         this.jwtProperties = jwtProperties;
+        this.publicPaths = publicPaths;
+        this.metrics = metrics;
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
     }
 
     @Override
@@ -42,26 +63,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        // Extract JWT from cookie only (no Authorization header)
-        Optional<String> tokenOpt = CookieUtils.getCookieValue(request, jwtProperties.cookieName());
+        // Extract JWT from cookie only (no Authorization header); the other cookies are never parsed
+        String token = CookieHeaderScanner.findValue(request, jwtProperties.cookieName());
 
-        if (tokenOpt.isPresent()) {
-            String token = tokenOpt.get();
+        if (token != null) {
+            // Single parse: signature, expiration and subject in one pass
+            long start = System.nanoTime();
+            VerifiedToken verified = jwtService.verify(token);
+            metrics.recordVerification(verified, start);
+            accessLog.publish(AccessEvent.now("auth", request.getRequestURI(), verified.subject(),
+                    verified.status().name()));
 
-            // Validate token signature and expiration
-            if (jwtService.isTokenValid(token)) {
-                try {
-                    String email = jwtService.extractEmail(token);
-                    Authentication auth = new UsernamePasswordAuthenticationToken(
-                            email,
-                            null,
-                            List.of() // No authorities needed for basic auth
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                } catch (Exception e) {
-                    // Token parsing failed, clear any existing authentication
-                    SecurityContextHolder.clearContext();
-                }
+            if (verified.isValid()) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        verified.subject(),
+                        null,
+                        List.of() // No authorities needed for basic auth
+                );
+                // Claims for endpoints that report on the token itself, e.g. /api/bootstrap
+                auth.setDetails(verified);
+                SecurityContextHolder.getContext().setAuthentication(auth);
             } else {
                 // Invalid or expired token, ensure no authentication is set
                 SecurityContextHolder.clearContext();
@@ -1,95 +1,290 @@
 package com.example.social_login.security.jwt;
 
+import java.io.IOException;
+import java.security.Key;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
-import javax.crypto.SecretKey;
-
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.revocation.TokenDenylist;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PreDestroy;
 
 /**
  * Service responsible for JWT token generation and validation.
  * Centralizes all JWT operations for consistent security handling.
+ * In OPAQUE mode it issues opaque tokens from an {@link OpaqueTokenIndex}
+ * instead, and verifies both kinds.
  */
 @Service
+@ImportRuntimeHints(JjwtRuntimeHints.class)
 public class JwtService {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+
     private final JwtProperties jwtProperties;
-    private final SecretKey signingKey;
+    private final SigningKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final TokenVerifier tokenVerifier;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenDenylist denylist;
+    private final OpaqueTokenIndex opaqueTokens;
 
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
-        // Generate signing key once at construction, not per-call
-        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes());
+        // Generate signing keys once at construction, not per-call
+        this.keyRing = new SigningKeyRing(
+                jwtProperties.keyRing().file(),
+                jwtProperties.secret() != null ? Keys.hmacShaKeyFor(jwtProperties.secret().getBytes()) : null,
+                Duration.ofMillis(jwtProperties.expirationMs()),
+                Clock.systemUTC());
+        // JwtParser is immutable and thread-safe, so one instance serves all requests;
+        // the key is picked per token by its header kid
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyRingResolver(keyRing))
+                .build();
+        this.tokenVerifier = createVerifier(jwtProperties.engine());
+        // Optional cache so a token re-sent on every request is only verified once
+        this.tokenCache = jwtProperties.cache().enabled()
+                ? new VerifiedTokenCache(jwtProperties.cache().maximumSize())
+                : null;
+        this.denylist = new TokenDenylist(
+                jwtProperties.revocation().expectedInsertions(),
+                jwtProperties.revocation().falsePositiveRate(),
+                Clock.systemUTC());
+        JwtProperties.Opaque opaque = jwtProperties.opaque();
+        this.opaqueTokens = jwtProperties.mode() == JwtProperties.Mode.OPAQUE
+                ? new OpaqueTokenIndex(opaque.shards(), opaque.tick(), Duration.ofMillis(jwtProperties.expirationMs()),
+                        opaque.snapshotFile(), Clock.systemUTC())
+                : null;
     }
 
     /**
      * Generates a JWT token for the given email/username.
+     * Each token carries a random {@code jti} so it can be revoked on its own.
+     * In OPAQUE mode an opaque token is issued instead.
      *
      * @param email The user's email (used as subject)
-     * @return A signed JWT token string
+     * @return A signed JWT token string, or an opaque token
      */
     public String generateToken(String email) {
         Date now = new Date();
         Date expiration = new Date(now.getTime() + jwtProperties.expirationMs());
+        if (opaqueTokens != null) {
+            return opaqueTokens.issue(email, now.toInstant(), expiration.toInstant());
+        }
+        SigningKey activeKey = keyRing.active();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder();
+        if (activeKey.kid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, activeKey.kid());
+        }
+        return builder
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
                 .setIssuedAt(now)
                 .setExpiration(expiration)
-                .signWith(signingKey)
+                .signWith(activeKey.secretKey())
                 .compact();
     }
 
     /**
-     * Extracts the email/username from a valid JWT token.
+     * Verifies the JWT token with a single parse: one signature check,
+     * one decode of header and claims, and an expiration check.
+     * Never throws for bad input; the failure reason is reported instead.
+     * When the verified-token cache is enabled, a token already verified
+     * is served from the cache until its expiry. Valid tokens are then
+     * checked against the revocation denylist. In OPAQUE mode an opaque
+     * token is resolved against the index, which needs neither.
+     *
+     * @param token The JWT token string
+     * @return The verified principal, or a failure result with its reason
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.failure(VerifiedToken.Status.MALFORMED);
+        }
+        if (opaqueTokens != null && OpaqueTokenIndex.isOpaque(token)) {
+            return opaqueTokens.find(token);
+        }
+        VerifiedToken verified = tokenCache != null
+                ? tokenCache.get(token, tokenVerifier::verify)
+                : tokenVerifier.verify(token);
+        if (verified.isValid() && denylist.isRevoked(verified.tokenId())) {
+            return VerifiedToken.failure(VerifiedToken.Status.REVOKED);
+        }
+        return verified;
+    }
+
+    /**
+     * Revokes a token until it expires. Invalid tokens, and tokens minted
+     * without a {@code jti}, are ignored. An opaque token is removed from
+     * the index.
+     *
+     * @param token The JWT token string
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(String token) {
+        if (opaqueTokens != null && token != null && OpaqueTokenIndex.isOpaque(token)) {
+            return opaqueTokens.find(token).isValid() && opaqueTokens.remove(token);
+        }
+        VerifiedToken verified = verify(token);
+        if (!verified.isValid() || verified.tokenId() == null) {
+            return false;
+        }
+        denylist.revoke(verified.tokenId(), verified.expiresAt());
+        if (tokenCache != null) {
+            tokenCache.invalidate(token);
+        }
+        return true;
+    }
+
+    /**
+     * @return The revoked-token denylist, for metrics
+     */
+    public TokenDenylist denylist() {
+        return denylist;
+    }
+
+    /**
+     * Returns the verified-token cache, if enabled.
+     *
+     * @return Optional containing the cache when caching is switched on
+     */
+    public Optional<VerifiedTokenCache> tokenCache() {
+        return Optional.ofNullable(tokenCache);
+    }
+
+    /**
+     * Returns the opaque token index, in OPAQUE mode.
+     *
+     * @return Optional containing the index when opaque tokens are issued
+     */
+    public Optional<OpaqueTokenIndex> opaqueTokens() {
+        return Optional.ofNullable(opaqueTokens);
+    }
+
+    /**
+     * Extracts the email/username from a valid token, JWT or opaque.
+     * Goes through {@link #verify(String)}, so cached, revoked and opaque
+     * tokens are handled the same way.
      *
      * @param token The JWT token string
      * @return The subject (email) from the token
-     * @throws JwtException if token is invalid or expired
+     * @throws JwtException if the token does not verify, with the reason
      */
     public String extractEmail(String token) {
-        return extractAllClaims(token).getSubject();
+        VerifiedToken verified = verify(token);
+        if (!verified.isValid()) {
+            throw new JwtException("Token is not valid: " + verified.status());
+        }
+        return verified.subject();
     }
 
     /**
      * Validates the JWT token for proper signature and expiration.
+     * Prefer {@link #verify(String)} when the claims are needed as well,
+     * so the token is only parsed once.
      *
      * @param token The JWT token string
      * @return true if token is valid, false otherwise
      */
     public boolean isTokenValid(String token) {
+        return verify(token).isValid();
+    }
+
+    /**
+     * Picks up changes to the key ring file, e.g. a new active key.
+     * Runs on the interval configured by {@code key-ring.reload-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.key-ring.reload-interval:30s}")
+    public void reloadSigningKeys() {
+        keyRing.reloadIfChanged();
+    }
+
+    /**
+     * Drops expired revocations and rebuilds the denylist's Bloom filter.
+     * Runs on the interval configured by {@code revocation.rebuild-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.revocation.rebuild-interval:1m}")
+    public void rebuildDenylist() {
+        denylist.rebuild();
+    }
+
+    /**
+     * Drops expired opaque tokens from memory.
+     * Runs on the interval configured by {@code opaque.tick}.
+     */
+    @Scheduled(fixedDelayString = "${application.security.jwt.opaque.tick:1s}")
+    public void expireOpaqueTokens() {
+        if (opaqueTokens != null) {
+            opaqueTokens.expire();
+        }
+    }
+
+    /**
+     * Saves the opaque token index to its snapshot file, if one is set.
+     * Runs on the interval configured by {@code opaque.snapshot-interval},
+     * and once more on shutdown.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${application.security.jwt.opaque.snapshot-interval:1m}")
+    public void saveOpaqueTokens() {
+        if (opaqueTokens == null) {
+            return;
+        }
         try {
-            Claims claims = extractAllClaims(token);
-            return !claims.getExpiration().before(new Date());
-        } catch (ExpiredJwtException e) {
-            // Token has expired
-            return false;
-        } catch (JwtException e) {
-            // Invalid signature, malformed token, etc.
-            return false;
+            opaqueTokens.save();
+        } catch (IOException e) {
+            log.warn("Cannot save opaque token snapshot: {}", e.getMessage());
         }
     }
 
+    private TokenVerifier createVerifier(JwtProperties.Engine engine) {
+        TokenVerifier reference = new JjwtTokenVerifier(jwtParser);
+        return switch (engine) {
+            case JJWT -> reference;
+            case FAST -> new FastHmacTokenVerifier(keyRing, reference, Clock.systemUTC());
+        };
+    }
+
     /**
-     * Extracts all claims from the JWT token.
-     *
-     * @param token The JWT token string
-     * @return The Claims object containing all token claims
-     * @throws JwtException if token parsing fails
+     * Resolves the verification key from the header kid with an O(1) ring lookup.
      */
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static final class KeyRingResolver extends SigningKeyResolverAdapter {
+
+        private final SigningKeyRing keyRing;
+
+        KeyRingResolver(SigningKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            SigningKey key = keyRing.findByKid(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Unknown signing key id");
+            }
+            return key.secretKey();
+        }
     }
 }
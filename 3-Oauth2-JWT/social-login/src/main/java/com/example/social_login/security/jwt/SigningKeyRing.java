@@ -0,0 +1,208 @@
+package com.example.social_login.security.jwt;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Set of signing keys indexed by {@code kid}, with one active key used to
+ * sign new tokens.
+ *
+ * Keys are loaded from a properties file:
+ * <pre>
+ * active=2026-10
+ * keys.2026-09=...old secret...
+ * keys.2026-10=...new secret...
+ * </pre>
+ * Rotation is zero-downtime: add the new key, switch {@code active}, and
+ * remove the old key whenever convenient. A key removed from the file keeps
+ * verifying for one token lifetime after its removal is noticed, so tokens it
+ * signed run out naturally instead of being rejected.
+ *
+ * Lookups read an immutable snapshot through a volatile field, so they are
+ * O(1) hash lookups with no locking; reloads build a new snapshot.
+ */
+public class SigningKeyRing {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyRing.class);
+
+    private static final String ACTIVE = "active";
+    private static final String KEY_PREFIX = "keys.";
+
+    private final Path file;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+    private final SigningKey legacyKey;
+
+    private volatile Snapshot snapshot;
+
+    // Reload state, guarded by this
+    private FileTime lastModified;
+    private final Map<String, Retired> retired = new HashMap<>();
+
+    /**
+     * @param file          Key file, or null for a ring holding only the legacy key
+     * @param legacySecret  Secret for tokens without a kid, or null if there are none
+     * @param tokenLifetime Lifetime of the tokens we mint
+     * @param clock         Clock used to expire removed keys
+     * @throws IllegalStateException if the initial key file cannot be loaded
+     */
+    public SigningKeyRing(Path file, SecretKey legacySecret, Duration tokenLifetime, Clock clock) {
+        this.file = file;
+        this.tokenLifetime = tokenLifetime;
+        this.clock = clock;
+        this.legacyKey = legacySecret != null ? SigningKey.withoutKid(legacySecret) : null;
+        if (file == null) {
+            if (legacyKey == null) {
+                throw new IllegalStateException("Either a JWT secret or a key ring file must be configured");
+            }
+            this.snapshot = new Snapshot(legacyKey, Map.of(), Map.of(legacyKey.encodedHeader(), legacyKey));
+        } else {
+            try {
+                reload();
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Cannot load signing keys from " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Creates a ring with a single kid-less key, as used without a key file.
+     */
+    public static SigningKeyRing ofSingleKey(SecretKey key) {
+        return new SigningKeyRing(null, key, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * @return The key new tokens are signed with
+     */
+    public SigningKey active() {
+        return snapshot.active();
+    }
+
+    /**
+     * Finds a verification key by the token header's kid.
+     *
+     * @param kid The header kid, or null for tokens minted without one
+     * @return The key, or null if unknown
+     */
+    public SigningKey findByKid(String kid) {
+        return kid == null ? legacyKey : snapshot.byKid().get(kid);
+    }
+
+    /**
+     * Finds a verification key by the token's raw header segment, for
+     * engines that recognise our canonical headers without decoding them.
+     *
+     * @param encodedHeader The base64url header segment
+     * @return The key, or null if the header is not one of ours
+     */
+    public SigningKey findByEncodedHeader(String encodedHeader) {
+        return snapshot.byHeader().get(encodedHeader);
+    }
+
+    /**
+     * Reloads the key file if it changed, and drops removed keys whose grace
+     * period is over. A broken file is logged and the current keys are kept.
+     */
+    public synchronized void reloadIfChanged() {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(file).equals(lastModified) || hasExpiredRetirees()) {
+                reload();
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Keeping current signing keys, cannot reload {}: {}", file, e.getMessage());
+        }
+    }
+
+    private boolean hasExpiredRetirees() {
+        Instant now = clock.instant();
+        return retired.values().stream().anyMatch(r -> !now.isBefore(r.until()));
+    }
+
+    private synchronized void reload() throws IOException {
+        FileTime modified = Files.getLastModifiedTime(file);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, SigningKey> loaded = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX)) {
+                String kid = name.substring(KEY_PREFIX.length());
+                byte[] secret = properties.getProperty(name).trim().getBytes(StandardCharsets.UTF_8);
+                SigningKey candidate = SigningKey.of(kid, secret);
+                SigningKey current = snapshot != null ? snapshot.byKid().get(kid) : null;
+                // Reuse unchanged keys so their per-thread MACs survive the reload
+                loaded.put(kid, current != null && current.secretKey().equals(candidate.secretKey())
+                        ? current
+                        : candidate);
+            }
+        }
+        String activeKid = properties.getProperty(ACTIVE, "").trim();
+        SigningKey active = loaded.get(activeKid);
+        if (active == null) {
+            throw new IllegalArgumentException("Active kid '" + activeKid + "' has no key");
+        }
+
+        // Keys that disappeared from the file keep verifying for one token lifetime
+        Instant now = clock.instant();
+        if (snapshot != null) {
+            for (SigningKey previous : snapshot.byKid().values()) {
+                if (!loaded.containsKey(previous.kid())) {
+                    retired.putIfAbsent(previous.kid(), new Retired(previous, now.plus(tokenLifetime)));
+                }
+            }
+        }
+        for (Iterator<Retired> it = retired.values().iterator(); it.hasNext();) {
+            Retired r = it.next();
+            if (loaded.containsKey(r.key().kid()) || !now.isBefore(r.until())) {
+                it.remove();
+            } else {
+                loaded.put(r.key().kid(), r.key());
+            }
+        }
+
+        Map<String, SigningKey> byHeader = new HashMap<>();
+        loaded.values().forEach(key -> byHeader.put(key.encodedHeader(), key));
+        if (legacyKey != null) {
+            byHeader.put(legacyKey.encodedHeader(), legacyKey);
+        }
+
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(active, Map.copyOf(loaded), Map.copyOf(byHeader));
+        lastModified = modified;
+        if (previous == null || !previous.byKid().keySet().equals(loaded.keySet())
+                || previous.active() != active) {
+            log.info("Loaded {} signing key(s) from {}, active kid '{}'", loaded.size(), file, active.kid());
+        }
+    }
+
+    private record Snapshot(
+            SigningKey active,
+            Map<String, SigningKey> byKid,
+            Map<String, SigningKey> byHeader) {
+    }
+
+    private record Retired(SigningKey key, Instant until) {
+    }
+}
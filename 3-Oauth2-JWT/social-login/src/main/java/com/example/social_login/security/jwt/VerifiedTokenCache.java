@@ -0,0 +1,169 @@
+package com.example.social_login.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * Bounded in-process cache of successfully verified tokens.
+ * Entries are keyed by a SHA-256 digest of the compact token, so the cache
+ * never holds the bearer credential itself. Size is capped with Caffeine's
+ * W-TinyLFU eviction.
+ *
+ * An entry never outlives its token: it is scheduled to expire at the
+ * token's {@code exp} on the monotonic ticker, and every hit re-checks
+ * {@code exp} against the wall clock, so moving either clock can only
+ * shorten the cached lifetime, never extend it.
+ */
+public class VerifiedTokenCache {
+
+    private static final ReusablePool<MessageDigest> SHA_256 = new ReusablePool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+    private final Clock clock;
+
+    public VerifiedTokenCache(long maximumSize) {
+        this(maximumSize, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(long maximumSize, Clock clock, Ticker ticker) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(clock))
+                .ticker(ticker)
+                .executor(Runnable::run) // Evict on the calling thread, no background pool
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached verification for the token, or runs the verifier
+     * and caches its result if the token is valid. Failures are never cached.
+     *
+     * @param token    The compact JWT
+     * @param verifier Full verification to run on a miss
+     * @return The verification result
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        TokenDigest key = TokenDigest.of(token);
+
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (clock.instant().isBefore(cached.expiresAt())) {
+                return cached;
+            }
+            // Wall clock passed exp before the ticker did; drop and re-verify
+            cache.invalidate(key);
+        }
+
+        VerifiedToken verified = verifier.apply(token);
+        if (verified.isValid() && clock.instant().isBefore(verified.expiresAt())) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Removes the cached verification for the token, if any.
+     */
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    /**
+     * @return The underlying Caffeine cache, for its hit, miss and eviction
+     *         statistics
+     */
+    public Cache<?, VerifiedToken> nativeCache() {
+        return cache;
+    }
+
+    /**
+     * @return Approximate number of cached tokens
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Runs pending maintenance such as expiring entries.
+     */
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    /**
+     * SHA-256 of the compact token, kept as four longs to avoid holding
+     * an extra array per entry.
+     */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = SHA_256.acquire();
+            ByteBuffer hash;
+            try {
+                hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            } finally {
+                SHA_256.release(digest);
+            }
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /**
+     * Expires each entry at its token's {@code exp}, measured from the
+     * moment it is written or read.
+     */
+    private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        private final Clock clock;
+
+        TokenExpiry(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime,
+                long currentDuration) {
+            return remainingNanos(value);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime,
+                long currentDuration) {
+            // Never lengthen the lifetime on read, only shorten it if the wall clock jumped ahead
+            return Math.min(currentDuration, remainingNanos(value));
+        }
+
+        private long remainingNanos(VerifiedToken value) {
+            Duration remaining = Duration.between(clock.instant(), value.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.getSeconds() >= Long.MAX_VALUE / 1_000_000_000L
+                    ? Long.MAX_VALUE
+                    : remaining.toNanos();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.social_login.security.oauth;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestOperations;
+
+/**
+ * Builds the decoder for OIDC ID tokens, one per client registration.
+ *
+ * Same checks as Spring's {@link OidcIdTokenDecoderFactory} (RS256
+ * signature, timestamps, issuer, audience and nonce), but the JWK set is
+ * fetched through the shared provider HTTP client and kept in the
+ * {@link ProviderMetadataCache}, instead of a fresh {@code RestTemplate}
+ * with its own connections per decoder.
+ */
+public class CachingIdTokenDecoderFactory implements JwtDecoderFactory<ClientRegistration> {
+
+    private static final ClaimTypeConverter CLAIM_TYPE_CONVERTER = new ClaimTypeConverter(
+            OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters());
+
+    private final RestOperations restOperations;
+    private final Cache jwkSetCache;
+    private final Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+
+    public CachingIdTokenDecoderFactory(RestOperations restOperations, Cache jwkSetCache) {
+        this.restOperations = restOperations;
+        this.jwkSetCache = jwkSetCache;
+    }
+
+    @Override
+    public JwtDecoder createDecoder(ClientRegistration registration) {
+        return decoders.computeIfAbsent(registration.getRegistrationId(), id -> buildDecoder(registration));
+    }
+
+    private JwtDecoder buildDecoder(ClientRegistration registration) {
+        String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri)) {
+            OAuth2Error error = new OAuth2Error("missing_signature_verifier",
+                    "Failed to find a Signature Verifier for Client Registration: '"
+                            + registration.getRegistrationId()
+                            + "'. Check to ensure you have configured the JwkSet URI.",
+                    null);
+            throw new OAuth2AuthenticationException(error, error.toString());
+        }
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .restOperations(restOperations)
+                .cache(jwkSetCache)
+                .build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(), new OidcIdTokenValidator(registration)));
+        decoder.setClaimSetConverter(CLAIM_TYPE_CONVERTER);
+        return decoder;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.social_login.security.path;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matches request paths against a fixed set of Ant-style patterns that are
+ * either exact paths ({@code /api/public}) or whole-subtree prefixes
+ * ({@code /oauth2/**}). Compiled once at startup:
+ * <ul>
+ * <li>exact paths go into a hash set, so a lookup is one hash and one equals;</li>
+ * <li>prefixes go into a character trie, walked once along the path with no
+ * allocation.</li>
+ * </ul>
+ * As in Spring's {@code PathPattern}, {@code /oauth2/**} matches
+ * {@code /oauth2} itself as well as everything below it, but not
+ * {@code /oauth2x}.
+ */
+public final class CompiledPathMatcher {
+
+    private static final String SUBTREE = "/**";
+
+    private final Set<String> exact;
+    private final Node prefixes;
+
+    private CompiledPathMatcher(Set<String> exact, Node prefixes) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * @param patterns Exact paths and {@code /**} prefixes
+     * @throws IllegalArgumentException for any other wildcard pattern
+     */
+    public static CompiledPathMatcher compile(Collection<String> patterns) {
+        Set<String> exact = new HashSet<>();
+        Node root = new Node();
+        for (String pattern : patterns) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Path pattern must start with '/': " + pattern);
+            }
+            if (pattern.endsWith(SUBTREE)) {
+                String prefix = pattern.substring(0, pattern.length() - SUBTREE.length());
+                requireLiteral(prefix, pattern);
+                root.insert(prefix);
+            } else {
+                requireLiteral(pattern, pattern);
+                exact.add(pattern);
+            }
+        }
+        return new CompiledPathMatcher(Set.copyOf(exact), root);
+    }
+
+    public static CompiledPathMatcher compile(String... patterns) {
+        return compile(List.of(patterns));
+    }
+
+    /**
+     * @param path Request path within the application, e.g. {@code /oauth2/authorization/github}
+     * @return true if any pattern matches
+     */
+    public boolean matches(String path) {
+        return exact.contains(path) || matchesPrefix(path);
+    }
+
+    private boolean matchesPrefix(String path) {
+        Node node = prefixes;
+        int length = path.length();
+        for (int i = 0;; i++) {
+            // A prefix ends here and the path ends or continues with a new segment
+            if (node.terminal && (i == length || path.charAt(i) == '/')) {
+                return true;
+            }
+            if (i == length) {
+                return false;
+            }
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+    }
+
+    private static void requireLiteral(String path, String pattern) {
+        if (path.indexOf('*') >= 0 || path.indexOf('?') >= 0 || path.indexOf('{') >= 0) {
+            throw new IllegalArgumentException(
+                    "Only exact paths and '/**' suffixes are supported: " + pattern);
+        }
+    }
+
+    /**
+     * Trie node with its children in parallel arrays; paths share few
+     * characters per position, so a linear scan beats hashing a boxed char.
+     */
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private boolean terminal;
+
+        Node child(char c) {
+            char[] k = keys;
+            for (int i = 0; i < k.length; i++) {
+                if (k[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void insert(String prefix) {
+            Node node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = prefix.charAt(i);
+                Node next = node.child(c);
+                if (next == null) {
+                    next = new Node();
+                    node.keys = Arrays.copyOf(node.keys, node.keys.length + 1);
+                    node.children = Arrays.copyOf(node.children, node.children.length + 1);
+                    node.keys[node.keys.length - 1] = c;
+                    node.children[node.children.length - 1] = next;
+                }
+                node = next;
+            }
+            node.terminal = true;
+        }
+    }
+}
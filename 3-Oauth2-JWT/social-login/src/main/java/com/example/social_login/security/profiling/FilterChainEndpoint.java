@@ -0,0 +1,29 @@
+package com.example.social_login.security.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/filterchain}: per-filter cost of the security filter
+ * chains, most expensive first. {@code DELETE} clears the figures.
+ */
+@Endpoint(id = "filterchain")
+public class FilterChainEndpoint {
+
+    private final FilterChainProfiler profiler;
+
+    public FilterChainEndpoint(FilterChainProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public FilterChainProfile profile() {
+        return profiler.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
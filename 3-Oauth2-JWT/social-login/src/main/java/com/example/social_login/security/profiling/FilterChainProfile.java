@@ -0,0 +1,42 @@
+package com.example.social_login.security.profiling;
+
+import java.util.List;
+
+/**
+ * Snapshot returned by the {@code filterchain} actuator endpoint.
+ *
+ * @param sampleEvery One in this many requests is measured per filter
+ * @param filters     Per-filter figures, most expensive first
+ */
+public record FilterChainProfile(int sampleEvery, List<Entry> filters) {
+
+    /**
+     * Figures for one filter. Times are in nanoseconds; percentiles are
+     * bucket upper bounds, within 12.5% of the true value.
+     *
+     * @param chain                 Bean name of the SecurityFilterChain
+     * @param position              Index of the filter in its chain
+     * @param filter                Filter class
+     * @param samples               Measured invocations
+     * @param estimatedTotalNanos   Self time summed over samples, scaled by the sampling ratio
+     * @param meanNanos             Mean self time
+     * @param p50Nanos              Median self time
+     * @param p99Nanos              99th percentile self time
+     * @param maxNanos              Largest self time seen
+     * @param meanAllocatedBytes    Mean bytes allocated by the filter itself
+     * @param p99AllocatedBytes     99th percentile bytes allocated
+     */
+    public record Entry(
+            String chain,
+            int position,
+            String filter,
+            long samples,
+            long estimatedTotalNanos,
+            long meanNanos,
+            long p50Nanos,
+            long p99Nanos,
+            long maxNanos,
+            long meanAllocatedBytes,
+            long p99AllocatedBytes) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.social_login.security.profiling;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+import jakarta.servlet.Filter;
+
+/**
+ * Collects per-filter statistics for every wrapped SecurityFilterChain.
+ * Each filter samples independently, one request in {@code sampleEvery},
+ * so unsampled requests pay one random draw per filter.
+ */
+public class FilterChainProfiler {
+
+    private final int sampleEvery;
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<FilterStats> stats = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param sampleEvery Measure one request in this many; 1 measures all
+     */
+    public FilterChainProfiler(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.threads = allocationCounter();
+    }
+
+    /**
+     * Wraps a filter so its invocations are measured.
+     *
+     * @param chain    Bean name of the chain the filter belongs to
+     * @param position Index of the filter in the chain
+     * @param filter   The filter to wrap
+     */
+    public Filter wrap(String chain, int position, Filter filter) {
+        FilterStats filterStats = new FilterStats(chain, position, filter.getClass().getSimpleName());
+        stats.add(filterStats);
+        return new ProfilingFilter(filter, filterStats, this);
+    }
+
+    /**
+     * @return The current figures, most expensive filter first
+     */
+    public FilterChainProfile snapshot() {
+        return new FilterChainProfile(sampleEvery, stats.stream()
+                .map(s -> s.snapshot(sampleEvery))
+                .sorted(Comparator.comparingLong(FilterChainProfile.Entry::estimatedTotalNanos).reversed())
+                .toList());
+    }
+
+    /**
+     * Clears all histograms.
+     */
+    public void reset() {
+        stats.forEach(FilterStats::reset);
+    }
+
+    boolean sample() {
+        return sampleEvery == 1 || ThreadLocalRandom.current().nextInt(sampleEvery) == 0;
+    }
+
+    /**
+     * @return Bytes allocated so far by the current thread, or -1 if the JVM cannot tell
+     */
+    long allocatedBytes() {
+        return threads != null ? threads.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
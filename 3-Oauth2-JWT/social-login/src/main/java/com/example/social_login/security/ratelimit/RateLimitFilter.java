@@ -0,0 +1,94 @@
+package com.example.social_login.security.ratelimit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejects requests over their {@link RateLimitPolicy} limit with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ *
+ * One instance per scope: the {@link RateLimitPolicy.Scope#CLIENT} filter
+ * keys on the remote address (set from {@code X-Forwarded-For} by the
+ * container when {@code server.forward-headers-strategy} is configured) and
+ * runs ahead of the OAuth2 and JWT filters; the
+ * {@link RateLimitPolicy.Scope#PRINCIPAL} filter keys on the user the JWT
+ * filter authenticated and runs right after it. Not a bean, so it only runs
+ * inside the security filter chain.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] BODY = "{\"message\":\"Too many requests\",\"status\":\"error\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimitPolicy policy;
+    private final RateLimitPolicy.Scope scope;
+
+    public RateLimitFilter(RateLimitPolicy policy, RateLimitPolicy.Scope scope) {
+        this.policy = policy;
+        this.scope = scope;
+        // Each scope needs its own "already filtered" marker
+        setBeanName(scope.name().toLowerCase(Locale.ROOT) + "RateLimitFilter");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !policy.limits(scope);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String key = key();
+        if (key == null && scope == RateLimitPolicy.Scope.PRINCIPAL) {
+            // Anonymous: already counted by client
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key == null) {
+            key = request.getRemoteAddr();
+        }
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        String path = contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+
+        long wait = policy.check(scope, path, key, System.nanoTime());
+        if (wait > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(BODY.length);
+            response.getOutputStream().write(BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * @return The authenticated user for the principal scope, otherwise null
+     */
+    private String key() {
+        if (scope == RateLimitPolicy.Scope.CLIENT) {
+            return null;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // The JWT filter sets the subject as a String principal
+        return authentication != null && authentication.getPrincipal() instanceof String subject ? subject : null;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.social_login.security.ratelimit;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.example.social_login.config.RateLimitProperties;
+import com.example.social_login.security.path.CompiledPathMatcher;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Decides which requests are over their limit: the configured rules,
+ * compiled once, over one shared {@link RateLimiter}.
+ *
+ * A request is checked twice, once per {@link Scope}: by client IP before
+ * authentication, so anonymous traffic such as logins is limited before it
+ * reaches the OAuth2 filters and their provider calls, and by user after the
+ * JWT is verified, so a user can't spread requests over many addresses. In
+ * each scope the first rule whose pattern matches and that sets a limit for
+ * that scope applies.
+ */
+@Component
+public class RateLimitPolicy {
+
+    /**
+     * What a request is counted against.
+     */
+    public enum Scope {
+        /** The client's IP address */
+        CLIENT,
+        /** The authenticated user */
+        PRINCIPAL
+    }
+
+    private final RateLimiter limiter;
+    private final Map<Scope, List<Rule>> rules = new EnumMap<>(Scope.class);
+    private final Map<Scope, LongAdder> allowed = new EnumMap<>(Scope.class);
+    private final Map<Scope, LongAdder> rejected = new EnumMap<>(Scope.class);
+
+    public RateLimitPolicy(RateLimitProperties properties) {
+        this.limiter = new RateLimiter(properties.trackedKeys(), properties.stripes(), properties.sketchWidth());
+        for (Scope scope : Scope.values()) {
+            List<Rule> scoped = new ArrayList<>();
+            for (RateLimitProperties.Rule rule : properties.rules()) {
+                long requests = scope == Scope.CLIENT ? rule.client() : rule.principal();
+                if (requests > 0) {
+                    scoped.add(new Rule(CompiledPathMatcher.compile(rule.path()),
+                            limiter.limit(requests, rule.period())));
+                }
+            }
+            rules.put(scope, List.copyOf(scoped));
+            allowed.put(scope, new LongAdder());
+            rejected.put(scope, new LongAdder());
+        }
+    }
+
+    /**
+     * @return true if any rule limits requests in this scope
+     */
+    public boolean limits(Scope scope) {
+        return !rules.get(scope).isEmpty();
+    }
+
+    /**
+     * Counts a request against its key's limit for the path, if any.
+     *
+     * @param scope    What the key identifies
+     * @param path     Request path within the application
+     * @param key      Client IP or user name
+     * @param nowNanos {@link System#nanoTime()}
+     * @return 0 if the request may proceed, otherwise the nanoseconds until
+     *         it would be allowed
+     */
+    public long check(Scope scope, String path, String key, long nowNanos) {
+        for (Rule rule : rules.get(scope)) {
+            if (rule.matcher().matches(path)) {
+                long wait = limiter.acquire(rule.limit(), key, nowNanos);
+                (wait == 0 ? allowed : rejected).get(scope).increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Binder for the {@code rate.limit.requests} counters, tagged
+     *         with scope and result, the {@code rate.limit.keys} gauge and the
+     *         {@code rate.limit.approximate} counter of requests decided by a
+     *         sketch
+     */
+    public MeterBinder metrics() {
+        return registry -> {
+            for (Scope scope : Scope.values()) {
+                String tag = scope.name().toLowerCase(Locale.ROOT);
+                FunctionCounter.builder("rate.limit.requests", allowed.get(scope), LongAdder::sum)
+                        .description("Requests a rate limit applied to, by outcome")
+                        .tags("scope", tag, "result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("rate.limit.requests", rejected.get(scope), LongAdder::sum)
+                        .description("Requests a rate limit applied to, by outcome")
+                        .tags("scope", tag, "result", "rejected")
+                        .register(registry);
+            }
+            Gauge.builder("rate.limit.keys", limiter, RateLimiter::trackedKeys)
+                    .description("Clients and users with an exact rate limit bucket")
+                    .register(registry);
+            FunctionCounter.builder("rate.limit.approximate", limiter, RateLimiter::approximateDecisions)
+                    .description("Requests limited by approximate count because every bucket was in use")
+                    .register(registry);
+        };
+    }
+
+    private record Rule(CompiledPathMatcher matcher, RateLimiter.Limit limit) {
+    }
+}
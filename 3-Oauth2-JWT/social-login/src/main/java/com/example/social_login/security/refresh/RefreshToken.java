@@ -0,0 +1,34 @@
+package com.example.social_login.security.refresh;
+
+import java.time.Instant;
+
+/**
+ * A stored refresh token. Only the SHA-256 hash of the cookie value is kept,
+ * so a leaked store cannot be replayed.
+ *
+ * @param hash      Hash of the token value, the store key
+ * @param familyId  Id shared by every token rotated from the same login
+ * @param subject   The user's email
+ * @param issuedAt  When this token was issued
+ * @param expiresAt When this token stops being accepted
+ * @param used      Whether this token has already been rotated
+ */
+public record RefreshToken(
+        String hash,
+        String familyId,
+        String subject,
+        Instant issuedAt,
+        Instant expiresAt,
+        boolean used) {
+
+    /**
+     * @return A copy of this token marked as rotated
+     */
+    public RefreshToken markUsed() {
+        return new RefreshToken(hash, familyId, subject, issuedAt, expiresAt, true);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
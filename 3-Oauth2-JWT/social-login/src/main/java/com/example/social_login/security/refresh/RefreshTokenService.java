@@ -0,0 +1,134 @@
+package com.example.social_login.security.refresh;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.social_login.config.RefreshTokenProperties;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ *
+ * Every login starts a token family. Each refresh marks the presented token
+ * as used and issues its successor in the same family. Presenting a token
+ * that was already used means it was copied: the whole family is revoked,
+ * so both the legitimate user and whoever replayed it must log in again.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenStore store;
+    private final Duration lifetime;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public RefreshTokenService(RefreshTokenStore store, RefreshTokenProperties properties) {
+        this(store, properties, Clock.systemUTC());
+    }
+
+    RefreshTokenService(RefreshTokenStore store, RefreshTokenProperties properties, Clock clock) {
+        this.store = store;
+        this.lifetime = Duration.ofMillis(properties.expirationMs());
+        this.clock = clock;
+    }
+
+    /**
+     * Issues the first token of a new family, at login.
+     *
+     * @param subject The user's email
+     * @return The token to set as a cookie
+     */
+    public RotatedRefreshToken issue(String subject) {
+        return issue(subject, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for its successor.
+     *
+     * @param value The presented cookie value
+     * @return The successor, or empty if the token is unknown, expired,
+     *         revoked or being reused
+     */
+    public Optional<RotatedRefreshToken> rotate(String value) {
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        String hash = hash(value);
+        RefreshToken token = store.find(hash).orElse(null);
+        if (token == null || token.isExpired(clock.instant()) || store.isFamilyRevoked(token.familyId())) {
+            return Optional.empty();
+        }
+        if (!store.markUsed(hash)) {
+            // Already rotated once: someone else holds a copy of this token
+            log.warn("Refresh token reuse detected for {}, revoking token family", token.subject());
+            store.revokeFamily(token.familyId(), clock.instant().plus(lifetime));
+            return Optional.empty();
+        }
+        return Optional.of(issue(token.subject(), token.familyId()));
+    }
+
+    /**
+     * Revokes the family of the presented token, at logout.
+     * Unknown tokens are ignored.
+     */
+    public void revoke(String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        store.find(hash(value))
+                .ifPresent(token -> store.revokeFamily(token.familyId(), clock.instant().plus(lifetime)));
+    }
+
+    /**
+     * Drops expired tokens and stale revocation records.
+     */
+    @Scheduled(fixedDelayString = "${application.security.refresh.purge-interval:10m}")
+    public void purgeExpired() {
+        int removed = store.purgeExpired(clock.instant());
+        if (removed > 0) {
+            log.debug("Purged {} expired refresh token record(s)", removed);
+        }
+    }
+
+    private RotatedRefreshToken issue(String subject, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(lifetime);
+        store.save(new RefreshToken(hash(value), familyId, subject, now, expiresAt, false));
+        return new RotatedRefreshToken(value, subject, expiresAt);
+    }
+
+    /**
+     * @return Hex SHA-256 of the token value, the form kept in the store
+     */
+    static String hash(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
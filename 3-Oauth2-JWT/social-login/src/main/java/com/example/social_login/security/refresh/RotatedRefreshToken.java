@@ -0,0 +1,13 @@
+package com.example.social_login.security.refresh;
+
+import java.time.Instant;
+
+/**
+ * A refresh token value handed to the client.
+ *
+ * @param value     The opaque cookie value
+ * @param subject   The user's email
+ * @param expiresAt When the token stops being accepted
+ */
+public record RotatedRefreshToken(String value, String subject, Instant expiresAt) {
+}
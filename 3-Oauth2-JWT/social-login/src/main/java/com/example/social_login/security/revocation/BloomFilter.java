@@ -0,0 +1,138 @@
+package com.example.social_login.security.revocation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size Bloom filter over strings that is safe for concurrent use
+ * without locks: bits are set with an atomic OR on the backing long array
+ * and read with acquire semantics, so a bit set by one thread is seen by
+ * every later read.
+ *
+ * Positions come from double hashing of one 64-bit hash, so a lookup
+ * hashes the key once and then probes {@code k} bits.
+ */
+public final class BloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.words = new long[(int) ((bitCount + 63) >>> 6)];
+        this.bitCount = (long) words.length << 6;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Sizes a filter for the expected number of entries.
+     *
+     * @param expectedInsertions Number of entries the filter should hold
+     * @param falsePositiveRate  Target false-positive rate at that size, in (0, 1)
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Adds a key.
+     */
+    public void put(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), 1L << bit);
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * @return false if the key was definitely never added; true if it may have been
+     */
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        long h1 = hash;
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            long word = (long) WORDS.getAcquire(words, (int) (bit >>> 6));
+            if ((word & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Theoretical false-positive rate for the entries added so far
+     */
+    public double expectedFalsePositiveRate() {
+        double fill = 1 - Math.exp(-(double) hashCount * insertions.get() / bitCount);
+        return Math.pow(fill, hashCount);
+    }
+
+    public long insertions() {
+        return insertions.get();
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * @return Size of the bit array in bytes
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur3 mix.
+     * jtis are ASCII, so the common case never allocates.
+     */
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c >= 128) {
+                return hashBytes(key.getBytes(StandardCharsets.UTF_8));
+            }
+            h = (h ^ c) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long hashBytes(byte[] bytes) {
+        long h = 0xCBF29CE484222325L;
+        for (byte b : bytes) {
+            h = (h ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.social_login.user;
+
+import java.time.Instant;
+
+/**
+ * What we know about a user from their last OAuth2 login.
+ *
+ * @param email      The user's email, also the JWT subject and the store key
+ * @param provider   Registration id of the provider used last, such as {@code github}
+ * @param name       Display name, if the provider shares one
+ * @param username   Provider handle, such as the GitHub login
+ * @param avatarUrl  Profile picture URL, if any
+ * @param firstLogin When the user first logged in
+ * @param lastLogin  When the user last logged in
+ */
+public record UserProfile(
+        String email,
+        String provider,
+        String name,
+        String username,
+        String avatarUrl,
+        Instant firstLogin,
+        Instant lastLogin) {
+
+    /**
+     * @return This login's details, keeping the first login time of {@code previous}
+     */
+    public UserProfile after(UserProfile previous) {
+        return previous == null ? this
+                : new UserProfile(email, provider, name, username, avatarUrl, previous.firstLogin(), lastLogin);
+    }
+}
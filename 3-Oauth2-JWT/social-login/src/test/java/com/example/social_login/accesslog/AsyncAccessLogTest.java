@@ -0,0 +1,110 @@
+package com.example.social_login.accesslog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AsyncAccessLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesOneLinePerEventAndNeutralisesControlCharacters() throws Exception {
+        Path file = dir.resolve("logs/access.log");
+        try (AsyncAccessLog log = new AsyncAccessLog(file, 16, AsyncAccessLog.WhenFull.BLOCK,
+                Duration.ofMillis(10), 1024 * 1024, 2)) {
+            log.publish(new AccessEvent(0, "auth", "/api/me", "alice@example.com", "VALID"));
+            log.publish(new AccessEvent(1, "auth", "/api/me\n2026\tforged", null, "EXPIRED"));
+        }
+
+        assertThat(Files.readAllLines(file)).containsExactly(
+                "1970-01-01T00:00:00Z\tauth\t/api/me\talice@example.com\tVALID",
+                "1970-01-01T00:00:00.001Z\tauth\t/api/me?2026?forged\t-\tEXPIRED");
+    }
+
+    @Test
+    void blockingLogKeepsEveryEventFromManyThreads() throws Exception {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLog log = new AsyncAccessLog(file, 8, AsyncAccessLog.WhenFull.BLOCK, Duration.ofMillis(1),
+                256, 3);
+        publishConcurrently(log, 4, 5_000);
+        log.close();
+
+        assertThat(log.dropped()).isZero();
+        assertThat(log.written()).isEqualTo(20_000);
+        // Every line whole, though older ones have been rolled away
+        assertThat(lines()).isNotEmpty().allSatisfy(line -> assertThat(line.split("\t")).hasSize(5));
+        // Rolled at 256 bytes, keeping three old files besides the current one
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(p -> p.getFileName().toString()))
+                    .containsExactlyInAnyOrder("access.log", "access.log.1", "access.log.2", "access.log.3");
+        }
+    }
+
+    @Test
+    void droppingLogCountsWhatItDiscards() throws Exception {
+        Path file = dir.resolve("access.log");
+        AsyncAccessLog log = new AsyncAccessLog(file, 4, AsyncAccessLog.WhenFull.DROP, Duration.ofSeconds(10),
+                1024 * 1024, 1);
+        publishConcurrently(log, 4, 5_000);
+        log.close();
+
+        assertThat(log.dropped()).isPositive();
+        assertThat(log.written() + log.dropped()).isEqualTo(20_000);
+        assertThat(Files.readAllLines(file)).hasSize((int) log.written());
+
+        log.publish(AccessEvent.now("auth", "/api/me", null, "VALID"));
+        assertThat(log.written() + log.dropped()).isEqualTo(20_001);
+    }
+
+    @Test
+    void ringHandsElementsOverInOrderAndRefusesWhenFull() {
+        EventRing<Integer> ring = new EventRing<>(3);
+        assertThat(ring.capacity()).isEqualTo(4);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertThat(ring.offer(i)).isTrue();
+            }
+            assertThat(ring.offer(99)).isFalse();
+            assertThat(ring.size()).isEqualTo(4);
+            for (int i = 0; i < 4; i++) {
+                assertThat(ring.poll()).isEqualTo(i);
+            }
+            assertThat(ring.poll()).isNull();
+        }
+    }
+
+    private static void publishConcurrently(AccessLog log, int threads, int perThread) throws Exception {
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String subject = "user" + t + "@example.com";
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    log.publish(AccessEvent.now("auth", "/api/me", subject, "VALID"));
+                }
+            }));
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+    }
+
+    private List<String> lines() throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                lines.addAll(Files.readAllLines(file));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.social_login.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.social_login.security.jwt.JwtService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsConfigTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void exposesVerifiedTokenCacheHitsAndMisses() {
+        JwtService jwtService = new JwtService(new JwtProperties(SECRET, 900000L, "ACCESS_TOKEN",
+                new JwtProperties.Cache(true, 100), null, null, null, null, null));
+        new MetricsConfig().verifiedTokenCacheMetrics(jwtService).bindTo(registry);
+        String token = jwtService.generateToken("user@example.com");
+
+        jwtService.verify(token);
+        jwtService.verify(token);
+        jwtService.verify(token);
+
+        assertThat(registry.get("cache.gets").tags("cache", "jwt.verified", "result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tags("cache", "jwt.verified", "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void bindsNothingWithoutVerifiedTokenCache() {
+        JwtService jwtService = new JwtService(new JwtProperties(SECRET, 900000L, "ACCESS_TOKEN", null, null,
+                null, null, null, null));
+        new MetricsConfig().verifiedTokenCacheMetrics(jwtService).bindTo(registry);
+
+        assertThat(registry.find("cache.gets").tags("cache", "jwt.verified").meters()).isEmpty();
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.social_login.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process stand-in for an OAuth2/OIDC provider such as Google, so the
+ * whole login flow can run without network access.
+ *
+ * Serves the endpoints a Spring Security client talks to:
+ * <ul>
+ * <li>{@code GET /.well-known/openid-configuration} for discovery, so the
+ * client only needs the issuer URI</li>
+ * <li>{@code GET /authorize} redirects straight back with a one-time code
+ * (no consent screen), as a browser would see it after the user agrees</li>
+ * <li>{@code POST /token} exchanges the code, checking redirect URI and
+ * PKCE verifier when used, and returns an RS256 ID token</li>
+ * <li>{@code GET /userinfo} returns the user for a bearer access token</li>
+ * <li>{@code GET /jwks} publishes the ID token signing key</li>
+ * </ul>
+ * Every authorization gets a new user, {@code user-N@example.com}. Each
+ * response is delayed by the configured latency to model a remote provider;
+ * requests are served on virtual threads so the delay never limits throughput.
+ */
+public final class StubOAuth2Provider implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final RSAKey signingKey;
+    private final String jwks;
+    private final AtomicLong users = new AtomicLong();
+    private final Map<String, Grant> codes = new ConcurrentHashMap<>();
+    private final Map<String, User> accessTokens = new ConcurrentHashMap<>();
+    private final Map<String, Set<InetSocketAddress>> clients = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the provider on a free local port.
+     *
+     * @param latency Delay added to every response
+     */
+    public StubOAuth2Provider(Duration latency) throws IOException {
+        this.latency = latency;
+        try {
+            this.signingKey = new RSAKeyGenerator(2048).keyID("stub").generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        this.jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/authorize", exchange -> handle(exchange, this::authorize));
+        server.createContext("/token", exchange -> handle(exchange, this::token));
+        server.createContext("/userinfo", exchange -> handle(exchange, this::userInfo));
+        server.createContext("/jwks", exchange -> handle(exchange, e -> respond(e, 200, jwks)));
+        server.createContext("/.well-known/openid-configuration",
+                exchange -> handle(exchange, e -> respond(e, 200, discovery())));
+        server.start();
+    }
+
+    /**
+     * @return Base URL, also used as the ID token issuer
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return Client properties pointing the {@code google} registration at this provider
+     */
+    public Map<String, String> googleRegistration() {
+        return Map.of(
+                "spring.security.oauth2.client.registration.google.client-id", "load-test-client",
+                "spring.security.oauth2.client.registration.google.client-secret", "load-test-secret",
+                // Same scopes as application.yaml, so logins take the OIDC path (ID token, JWKS)
+                "spring.security.oauth2.client.registration.google.scope", "openid,profile,email",
+                "spring.security.oauth2.client.provider.google.issuer-uri", baseUrl());
+    }
+
+    /**
+     * @param path Endpoint path, such as {@code /jwks}
+     * @return Requests served on that path so far
+     */
+    public long requests(String path) {
+        LongAdder count = requests.get(path);
+        return count != null ? count.sum() : 0;
+    }
+
+    /**
+     * @param paths Endpoint paths, such as {@code /token}
+     * @return Distinct client connections (by remote port) that called any of them
+     */
+    public int connections(String... paths) {
+        Set<InetSocketAddress> seen = new HashSet<>();
+        for (String path : paths) {
+            seen.addAll(clients.getOrDefault(path, Set.of()));
+        }
+        return seen.size();
+    }
+
+    /**
+     * Makes an endpoint answer with an error until {@link #recover} is called.
+     *
+     * @param path   Endpoint path, such as {@code /token}
+     * @param status Status to answer with, such as {@code 503}
+     */
+    public void fail(String path, int status) {
+        failures.put(path, status);
+    }
+
+    /**
+     * @param path Endpoint path that answers normally again
+     */
+    public void recover(String path) {
+        failures.remove(path);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private String discovery() {
+        String base = baseUrl();
+        return "{\"issuer\":\"" + base + "\","
+                + "\"authorization_endpoint\":\"" + base + "/authorize\","
+                + "\"token_endpoint\":\"" + base + "/token\","
+                + "\"userinfo_endpoint\":\"" + base + "/userinfo\","
+                + "\"jwks_uri\":\"" + base + "/jwks\","
+                + "\"response_types_supported\":[\"code\"],"
+                + "\"subject_types_supported\":[\"public\"],"
+                + "\"id_token_signing_alg_values_supported\":[\"RS256\"],"
+                + "\"scopes_supported\":[\"openid\",\"profile\",\"email\"],"
+                + "\"token_endpoint_auth_methods_supported\":[\"client_secret_basic\"],"
+                + "\"code_challenge_methods_supported\":[\"S256\"]}";
+    }
+
+    private void authorize(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseForm(exchange.getRequestURI().getRawQuery());
+        String redirectUri = params.get("redirect_uri");
+        if (redirectUri == null || !"code".equals(params.get("response_type"))) {
+            respond(exchange, 400, "{\"error\":\"invalid_request\"}");
+            return;
+        }
+        long n = users.incrementAndGet();
+        User user = new User("stub-" + n, "user-" + n + "@example.com", "Load Test User " + n);
+        String code = UUID.randomUUID().toString();
+        codes.put(code, new Grant(user, params.get("client_id"), redirectUri, params.get("nonce"),
+                params.get("code_challenge")));
+
+        String state = params.get("state");
+        String location = redirectUri + (redirectUri.contains("?") ? "&" : "?") + "code=" + code
+                + (state != null ? "&state=" + encode(state) : "");
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(readBody(exchange), StandardCharsets.UTF_8));
+        Grant grant = form.get("code") != null ? codes.remove(form.get("code")) : null;
+        if (!"authorization_code".equals(form.get("grant_type")) || grant == null
+                || !grant.redirectUri().equals(form.get("redirect_uri"))
+                || !verifierMatches(grant.codeChallenge(), form.get("code_verifier"))) {
+            respond(exchange, 400, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+        String accessToken = UUID.randomUUID().toString();
+        accessTokens.put(accessToken, grant.user());
+        respond(exchange, 200, "{\"access_token\":\"" + accessToken + "\",\"token_type\":\"Bearer\","
+                + "\"expires_in\":3600,\"scope\":\"openid profile email\","
+                + "\"id_token\":\"" + idToken(grant) + "\"}");
+    }
+
+    private void userInfo(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        User user = authorization != null && authorization.startsWith("Bearer ")
+                ? accessTokens.remove(authorization.substring(7))
+                : null;
+        if (user == null) {
+            respond(exchange, 401, "{\"error\":\"invalid_token\"}");
+            return;
+        }
+        respond(exchange, 200, "{\"sub\":\"" + user.subject() + "\",\"email\":\"" + user.email()
+                + "\",\"email_verified\":true,\"name\":\"" + user.name() + "\"}");
+    }
+
+    private String idToken(Grant grant) {
+        Instant now = Instant.now();
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                .issuer(baseUrl())
+                .subject(grant.user().subject())
+                .audience(grant.clientId())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .claim("email", grant.user().email());
+        if (grant.nonce() != null) {
+            claims.claim("nonce", grant.nonce());
+        }
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+                claims.build());
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+
+    private static boolean verifierMatches(String challenge, String verifier) {
+        if (challenge == null) {
+            return true;
+        }
+        if (verifier == null) {
+            return false;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(verifier.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).equals(challenge);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        String path = exchange.getHttpContext().getPath();
+        requests.computeIfAbsent(path, p -> new LongAdder()).increment();
+        clients.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(exchange.getRemoteAddress());
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+            Integer failure = failures.get(path);
+            if (failure != null) {
+                respond(exchange, failure, "{\"error\":\"temporarily_unavailable\"}");
+            } else {
+                handler.handle(exchange);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            respond(exchange, 500, "{\"error\":\"server_error\"}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static Map<String, String> parseForm(String encoded) {
+        Map<String, String> params = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return params;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(name, value);
+        }
+        return params;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private record User(String subject, String email, String name) {
+    }
+
+    private record Grant(User user, String clientId, String redirectUri, String nonce, String codeChallenge) {
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.social_login.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.social_login.SocialLoginApplication;
+import com.example.social_login.security.jwt.JwtService;
+
+/**
+ * Measures {@code /api/me} while slow logins are in flight, once on the
+ * platform-thread Tomcat pool and once with virtual threads.
+ *
+ * Each login's callback blocks a request thread on the provider's token and
+ * user-info calls. With platform threads, enough slow logins occupy the whole
+ * pool and {@code /api/me} queues behind them; with virtual threads a
+ * blocked call only parks its own virtual thread, so virtual threads must
+ * do at least as well on logins/s and on {@code /api/me} throughput and
+ * median latency (p99 is dominated by pauses both modes share), within
+ * 10% for run-to-run noise.
+ *
+ * Tagged {@code load}, so it only runs with {@code -Pload}. Scale it up with:
+ * <pre>
+ * mvn test -Pload -Dtest=ThreadModeLoadTest -Dloadtest.logins=2000 -Dloadtest.login-concurrency=200 \
+ *     -Dloadtest.provider-latency-ms=300 -Dloadtest.tomcat-threads=200
+ * </pre>
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadTest.class);
+
+    /**
+     * How much worse than platform threads virtual threads may measure
+     */
+    private static final double TOLERANCE = 0.1;
+
+    private static final int LOGINS = Integer.getInteger("loadtest.logins", 96);
+    private static final int LOGIN_CONCURRENCY = Integer.getInteger("loadtest.login-concurrency", 32);
+    private static final int ME_CONCURRENCY = Integer.getInteger("loadtest.me-concurrency", 4);
+    private static final int TOMCAT_THREADS = Integer.getInteger("loadtest.tomcat-threads", 8);
+    private static final Duration PROVIDER_LATENCY =
+            Duration.ofMillis(Long.getLong("loadtest.provider-latency-ms", 150));
+
+    @Test
+    void virtualThreadsKeepApiResponsiveWhileLoginsBlock() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        StringBuilder table = new StringBuilder(String.format(
+                "%d logins at concurrency %d, provider latency %d ms, Tomcat pool %d%n",
+                LOGINS, LOGIN_CONCURRENCY, PROVIDER_LATENCY.toMillis(), TOMCAT_THREADS));
+        table.append(String.format("%-10s %10s %12s %12s %12s %10s%n", "threads", "logins/s", "/api/me rps",
+                "me p50 ms", "me p99 ms", "me errors"));
+        for (Result result : new Result[] { platform, virtual }) {
+            table.append(String.format("%-10s %10.1f %12.0f %12.2f %12.2f %10d%n", result.mode(),
+                    result.logins().loginsPerSecond(), result.meThroughput(), millis(result.me().p50()),
+                    millis(result.me().p99()), result.me().errors()));
+        }
+        log.info("Thread mode load test:\n{}", table);
+
+        assertThat(virtual.logins().errors()).as("login errors").isZero();
+        assertThat(virtual.logins().completed()).isEqualTo(LOGINS);
+        assertThat(virtual.me().errors()).as("/api/me errors").isZero();
+        assertThat(virtual.logins().loginsPerSecond()).as("virtual logins/s")
+                .isGreaterThanOrEqualTo(platform.logins().loginsPerSecond() * (1 - TOLERANCE));
+        assertThat(virtual.meThroughput()).as("virtual /api/me rps")
+                .isGreaterThanOrEqualTo(platform.meThroughput() * (1 - TOLERANCE));
+        assertThat(millis(virtual.me().p50())).as("virtual /api/me p50 ms")
+                .isLessThanOrEqualTo(millis(platform.me().p50()) * (1 + TOLERANCE));
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        try (StubOAuth2Provider provider = new StubOAuth2Provider(PROVIDER_LATENCY)) {
+            Map<String, Object> properties = new HashMap<>(provider.googleRegistration());
+            properties.put("server.port", 0);
+            properties.put("server.tomcat.threads.max", TOMCAT_THREADS);
+            properties.put("spring.threads.virtual.enabled", virtualThreads);
+            properties.put("application.security.jwt.secret", "0123456789abcdef0123456789abcdef0123456789abcdef");
+            properties.put("logging.level.root", "WARN");
+            properties.put("logging.level.com.example.social_login.loadtest", "INFO");
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SocialLoginApplication.class)
+                    .properties(properties)
+                    .run()) {
+                URI app = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                String token = context.getBean(JwtService.class).generateToken("probe@example.com");
+
+                try (LoginLoadHarness harness = new LoginLoadHarness(app, LOGIN_CONCURRENCY)) {
+                    harness.run(LOGIN_CONCURRENCY, 0); // Warm up the login path and JWKS cache
+                    AtomicBoolean loginsDone = new AtomicBoolean();
+                    CompletableFuture<LoginLoadHarness.Report> logins = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return harness.run(0, LOGINS);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            loginsDone.set(true);
+                        }
+                    });
+                    long start = System.nanoTime();
+                    LoginLoadHarness.StepReport me = LoginLoadHarness.hammerMe(app, token, "probe@example.com",
+                            ME_CONCURRENCY, loginsDone);
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                    return new Result(virtualThreads ? "virtual" : "platform", logins.get(), me,
+                            me.attempts() / (elapsed.toNanos() / 1e9));
+                }
+            }
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+
+    private record Result(String mode, LoginLoadHarness.Report logins, LoginLoadHarness.StepReport me,
+            double meThroughput) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.social_login.security.cors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+class OriginRegistryTest {
+
+    private static final OriginPolicy DEFAULT = new OriginPolicy(List.of("GET", "POST"), List.of("*"), true);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesExactAndWildcardOrigins() throws Exception {
+        OriginRegistry registry = new OriginRegistry(write("""
+                # origin                       methods   headers       credentials
+                https://app.example.com
+                https://*.tenants.example.com  GET       Content-Type  false
+                https://*.eu.tenants.example.com  GET,PUT
+                http://*.example.com:8080      get
+                """), DEFAULT, List.of("http://localhost:3000"));
+
+        assertThat(registry.find("http://localhost:3000")).isEqualTo(DEFAULT);
+        assertThat(registry.find("HTTPS://App.Example.com/")).isEqualTo(DEFAULT);
+        assertThat(registry.find("https://acme.tenants.example.com"))
+                .isEqualTo(new OriginPolicy(List.of("GET"), List.of("Content-Type"), false));
+        assertThat(registry.find("https://a.b.tenants.example.com")).extracting(OriginPolicy::credentials)
+                .isEqualTo(false);
+        // The most specific wildcard wins
+        assertThat(registry.find("https://acme.eu.tenants.example.com")).extracting(OriginPolicy::methods)
+                .isEqualTo(List.of("GET", "PUT"));
+        assertThat(registry.find("http://dev.example.com:8080")).extracting(OriginPolicy::methods)
+                .isEqualTo(List.of("GET"));
+
+        assertThat(registry.find("https://tenants.example.com")).isNull(); // Not the domain itself
+        assertThat(registry.find("http://acme.tenants.example.com")).isNull(); // Other scheme
+        assertThat(registry.find("http://dev.example.com")).isNull(); // Other port
+        assertThat(registry.find("https://eviltenants.example.com")).isNull();
+        assertThat(registry.find("https://app.example.com.evil.com")).isNull();
+        assertThat(registry.find("null")).isNull();
+        assertThat(registry.find("")).isNull();
+        assertThat(registry.exactOrigins()).isEqualTo(2);
+        assertThat(registry.wildcardOrigins()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsBadEntries() {
+        for (String line : List.of("app.example.com", "https://*", "https://a.*.example.com",
+                "https://app.example.com/path", "https://app.example.com GET * maybe")) {
+            assertThatThrownBy(() -> new OriginRegistry(write(line), DEFAULT, List.of()))
+                    .as(line)
+                    .isInstanceOf(IllegalStateException.class)
+                    .cause().hasMessageStartingWith("Line 1: ");
+        }
+    }
+
+    @Test
+    void reloadsChangesAndKeepsOriginsWhenTheFileIsBroken() throws Exception {
+        Path file = write("https://a.example.com");
+        OriginRegistry registry = new OriginRegistry(file, DEFAULT, List.of());
+        assertThat(registry.find("https://a.example.com")).isNotNull();
+
+        rewrite(file, "https://b.example.com\nhttps://*.c.example.com", 1);
+        registry.reloadIfChanged();
+        assertThat(registry.find("https://a.example.com")).isNull();
+        assertThat(registry.find("https://b.example.com")).isNotNull();
+        assertThat(registry.find("https://x.c.example.com")).isNotNull();
+
+        rewrite(file, "not an origin", 2);
+        registry.reloadIfChanged();
+        assertThat(registry.find("https://b.example.com")).isNotNull();
+    }
+
+    @Test
+    void sourceAppliesEachOriginsPolicy() throws Exception {
+        OriginRegistry registry = new OriginRegistry(write("https://*.tenants.example.com GET x-tenant false"),
+                DEFAULT, List.of("http://localhost:3000"));
+        CorsConfiguration shared = new CorsConfiguration();
+        shared.setMaxAge(600L);
+        UrlBasedCorsConfigurationSource paths = new UrlBasedCorsConfigurationSource();
+        paths.registerCorsConfiguration("/api/**", shared);
+        OriginRegistryCorsConfigurationSource source = new OriginRegistryCorsConfigurationSource(paths, registry);
+
+        MockHttpServletResponse frontend = preflight(source, "http://localhost:3000", "POST", "content-type");
+        assertThat(frontend.getStatus()).isEqualTo(200);
+        assertThat(frontend.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("http://localhost:3000");
+        assertThat(frontend.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS)).isEqualTo("true");
+        assertThat(frontend.getHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE)).isEqualTo("600");
+
+        MockHttpServletResponse tenant = preflight(source, "https://acme.tenants.example.com", "GET", "X-Tenant");
+        assertThat(tenant.getStatus()).isEqualTo(200);
+        assertThat(tenant.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN))
+                .isEqualTo("https://acme.tenants.example.com");
+        assertThat(tenant.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS)).isNull();
+
+        assertThat(preflight(source, "https://acme.tenants.example.com", "POST", "X-Tenant").getStatus())
+                .isEqualTo(403);
+        assertThat(preflight(source, "https://acme.tenants.example.com", "GET", "content-type").getStatus())
+                .isEqualTo(403);
+        assertThat(preflight(source, "https://evil.example.com", "GET", "").getStatus()).isEqualTo(403);
+
+        // One configuration per policy, shared by every origin that has it
+        assertThat(source.getCorsConfiguration(request("https://a.tenants.example.com", "GET", "")))
+                .isSameAs(source.getCorsConfiguration(request("https://b.tenants.example.com", "GET", "")));
+    }
+
+    private static MockHttpServletResponse preflight(OriginRegistryCorsConfigurationSource source, String origin,
+            String method, String headers) throws Exception {
+        MockHttpServletRequest request = request(origin, method, headers);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new DefaultCorsProcessor().processRequest(source.getCorsConfiguration(request), request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String origin, String method, String headers) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/me");
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method);
+        if (!headers.isEmpty()) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, headers);
+        }
+        return request;
+    }
+
+    private Path write(String content) throws Exception {
+        return Files.writeString(Files.createTempFile(dir, "origins", ".txt"), content);
+    }
+
+    private static void rewrite(Path file, String content, int version) throws Exception {
+        Files.writeString(file, content);
+        // Filesystem timestamps may be too coarse to tell two quick writes apart
+        Files.setLastModifiedTime(file, FileTime.from(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(version)));
+    }
+}
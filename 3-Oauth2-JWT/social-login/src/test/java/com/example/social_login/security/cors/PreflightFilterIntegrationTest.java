@@ -0,0 +1,66 @@
+package com.example.social_login.security.cors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.social_login.security.jwt.JwtAuthenticationFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Checks that the application's preflights are answered before the
+ * security filter chain runs, with the configured max age.
+ */
+@SpringBootTest(properties = {
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "spring.security.oauth2.client.registration.github.client-id=test",
+        "spring.security.oauth2.client.registration.github.client-secret=test",
+        "application.cors.max-age=1h",
+})
+@AutoConfigureMockMvc
+class PreflightFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void preflightSkipsTheSecurityChain() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(options("/api/bootstrap")
+                            .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                            .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                            .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "content-type"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000"))
+                    .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true"))
+                    .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_MAX_AGE, "3600"));
+        }
+        mockMvc.perform(options("/api/bootstrap")
+                        .header(HttpHeaders.ORIGIN, "https://evil.example.com")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET"))
+                .andExpect(status().isForbidden());
+
+        verify(jwtAuthenticationFilter, never()).doFilter(any(), any(), any());
+        assertThat(meterRegistry.get("cors.preflight").tag("result", "allowed").tag("cache", "hit").timer().count())
+                .isEqualTo(2);
+    }
+}
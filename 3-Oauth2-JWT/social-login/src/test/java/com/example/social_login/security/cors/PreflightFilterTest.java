@@ -0,0 +1,174 @@
+package com.example.social_login.security.cors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the cached preflight responses against {@link DefaultCorsProcessor}
+ * over a grid of configurations and requests.
+ */
+class PreflightFilterTest {
+
+    private static final List<String> ORIGINS = List.of(
+            "http://localhost:3000", "https://app.example.com", "https://evil.example.com", "null");
+    private static final List<String> METHODS = List.of("GET", "POST", "DELETE", "PATCH", "PROPFIND");
+    private static final List<List<String>> REQUESTED_HEADERS = List.of(
+            List.of(),
+            List.of("content-type"),
+            List.of("Content-Type, X-Requested-With"),
+            List.of("x-custom"),
+            List.of("content-type", "x-trace-id"), // Two header lines
+            List.of(" , content-type ,"));
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void matchesDefaultCorsProcessor() throws Exception {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", application());
+        source.registerCorsConfiguration("/strict/**", strict());
+        source.registerCorsConfiguration("/patterns/**", patterns());
+        PreflightFilter filter = new PreflightFilter(source, 10_000, registry);
+
+        int compared = 0;
+        for (String path : List.of("/api/me", "/strict/x", "/patterns/y")) {
+            CorsConfiguration config = source.getCorsConfiguration(preflight(path, "x", "GET", List.of(), false));
+            for (String origin : ORIGINS) {
+                for (String method : METHODS) {
+                    for (List<String> headers : REQUESTED_HEADERS) {
+                        for (boolean privateNetwork : new boolean[] { false, true }) {
+                            MockHttpServletResponse expected = new MockHttpServletResponse();
+                            new DefaultCorsProcessor().processRequest(config,
+                                    preflight(path, origin, method, headers, privateNetwork), expected);
+
+                            // Twice: computed, then replayed from the cache
+                            for (int pass = 0; pass < 2; pass++) {
+                                MockHttpServletResponse actual = new MockHttpServletResponse();
+                                MockFilterChain chain = new MockFilterChain();
+                                filter.doFilter(preflight(path, origin, method, headers, privateNetwork), actual,
+                                        chain);
+
+                                String request = path + " " + origin + " " + method + " " + headers + " "
+                                        + privateNetwork + " pass " + pass;
+                                assertThat(chain.getRequest()).as(request).isNull();
+                                assertThat(actual.getStatus()).as(request).isEqualTo(expected.getStatus());
+                                assertThat(headers(actual)).as(request).isEqualTo(headers(expected));
+                                assertThat(actual.getContentAsString()).as(request)
+                                        .isEqualTo(expected.getContentAsString());
+                                assertThat(actual.isCommitted()).as(request).isEqualTo(expected.isCommitted());
+                                compared++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(compared).isEqualTo(3 * 4 * 5 * 6 * 2 * 2);
+        long hits = (long) (timer("allowed", "hit") + timer("rejected", "hit"));
+        long misses = (long) (timer("allowed", "miss") + timer("rejected", "miss"));
+        assertThat(hits).isEqualTo(compared / 2);
+        assertThat(misses).isEqualTo(compared / 2);
+        assertThat(timer("allowed", "miss")).isPositive();
+        assertThat(timer("rejected", "miss")).isPositive();
+    }
+
+    @Test
+    void otherRequestsGoDownTheChain() throws Exception {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", application());
+        PreflightFilter filter = new PreflightFilter(source, 100, registry);
+
+        // Actual CORS request, OPTIONS without a requested method, same-origin, no configuration
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/me");
+        get.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+        MockHttpServletRequest options = new MockHttpServletRequest("OPTIONS", "/api/me");
+        options.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+        MockHttpServletRequest sameOrigin = preflight("/api/me", "http://localhost:80", "GET", List.of(), false);
+        MockHttpServletRequest unconfigured = preflight("/other", "http://localhost:3000", "GET", List.of(), false);
+
+        for (MockHttpServletRequest request : List.of(get, options, sameOrigin, unconfigured)) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertThat(chain.getRequest()).as(request.getRequestURI()).isSameAs(request);
+            assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isNull();
+        }
+        assertThat(registry.get("cors.preflight").timers()).allSatisfy(t -> assertThat(t.count()).isZero());
+    }
+
+    private double timer(String result, String cache) {
+        return registry.get("cors.preflight").tag("result", result).tag("cache", cache).timer().count();
+    }
+
+    private static MockHttpServletRequest preflight(String path, String origin, String method,
+            List<String> requestedHeaders, boolean privateNetwork) {
+        MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", path);
+        request.setServerName("localhost");
+        request.setServerPort(80);
+        request.addHeader(HttpHeaders.ORIGIN, origin);
+        request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, method);
+        for (String headers : requestedHeaders) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, headers);
+        }
+        if (privateNetwork) {
+            request.addHeader(PreflightFilter.ACCESS_CONTROL_REQUEST_PRIVATE_NETWORK, "true");
+        }
+        return request;
+    }
+
+    private static Map<String, List<String>> headers(MockHttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            headers.put(name.toLowerCase(), new ArrayList<>(response.getHeaders(name)));
+        }
+        return headers;
+    }
+
+    /**
+     * The same rules as SecurityConfig.
+     */
+    private static CorsConfiguration application() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("http://localhost:3000"));
+        config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        config.setAllowedHeaders(List.of("*"));
+        config.setAllowCredentials(true);
+        config.setExposedHeaders(List.of("Set-Cookie"));
+        config.setMaxAge(7200L);
+        return config;
+    }
+
+    private static CorsConfiguration strict() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("https://app.example.com", "http://localhost:3000"));
+        config.setAllowedHeaders(List.of("Content-Type", "X-Requested-With"));
+        return config;
+    }
+
+    private static CorsConfiguration patterns() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOriginPatterns(List.of("https://*.example.com"));
+        config.setAllowedMethods(List.of("*"));
+        config.setAllowedHeaders(List.of("*"));
+        config.setAllowCredentials(true);
+        config.setAllowPrivateNetwork(true);
+        config.setExposedHeaders(List.of("X-Trace-Id", "ETag"));
+        return config;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.core.StandardContext;
+import org.apache.tomcat.util.http.Rfc6265CookieProcessor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Checks the scanner against {@link CookieUtils#getCookieValue} on real
+ * Tomcat requests, which parse cookies with Tomcat's RFC 6265 parser.
+ */
+class CookieHeaderScannerTest {
+
+    private static final Connector CONNECTOR = new Connector();
+    private static final StandardContext CONTEXT = new StandardContext();
+
+    static {
+        CONTEXT.setCookieProcessor(new Rfc6265CookieProcessor());
+    }
+
+    @Test
+    void agreesWithTomcatOnEdgeCases() {
+        List<List<String>> cases = List.of(
+                List.of("a=1; b=2"),
+                List.of("b=2; a=1"),
+                List.of("a=\"quoted\"; b=2"),
+                List.of("a=\"q v\"; a=2"),
+                List.of("a=\"\"; a=3"),
+                List.of("a=\"unterminated"),
+                List.of("a=\"x\"y; a=4"),
+                List.of("a=x\"y; a=5"),
+                List.of("a=x y; a=6"),
+                List.of("a=; a=7"),
+                List.of("a= ; a=8"),
+                List.of("a; a=9"),
+                List.of("a=1,b=2"),
+                List.of("a=\\x; a=10"),
+                List.of("a=\"a\\\"b\"; a=11"),
+                List.of("A=1; a=12"),
+                List.of(" a = 13 "),
+                List.of("a\t=\t14"),
+                List.of("a=1=15"),
+                List.of("x=1;;a=16"),
+                List.of("(a)=1; a=17"),
+                List.of("=1; a=18"),
+                List.of("ab=1; a=19"),
+                List.of("a b=1; a=20"),
+                List.of("a=21\u0001; a=22"),
+                List.of("a=café"),
+                List.of("a= ; a=23"),
+                List.of("b=1", "a=24"),
+                List.of("a=", "a=25"),
+                List.of("b=1"),
+                List.of());
+        for (List<String> headers : cases) {
+            assertSameAsTomcat(headers, "a");
+        }
+    }
+
+    @Test
+    void agreesWithTomcatOnRandomHeaders() {
+        String[] pieces = { "a", "a", "b", "A", "ab", "=", "=", ";", ";", " ", "\t", "\"", ",", "\\", "x", "1",
+                "tok-en", "é", "\u0001", "(", "%3D" };
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int headerCount = random.nextInt(3);
+            String[] headers = new String[headerCount];
+            for (int h = 0; h < headerCount; h++) {
+                StringBuilder header = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int p = 0; p < length; p++) {
+                    header.append(pieces[random.nextInt(pieces.length)]);
+                }
+                headers[h] = header.toString();
+            }
+            assertSameAsTomcat(List.of(headers), "a");
+        }
+    }
+
+    @Test
+    void findsTheJwtAmongManyCookies() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        request.setCookies(new Cookie("_ga", "GA1.2.3"), new Cookie("ACCESS_TOKEN_OLD", "no"),
+                new Cookie("ACCESS_TOKEN", "eyJ.payload.sig"), new Cookie("ACCESS_TOKEN", "second"));
+
+        assertThat(CookieHeaderScanner.findValue(request, "ACCESS_TOKEN")).isEqualTo("eyJ.payload.sig");
+        assertThat(CookieHeaderScanner.findValue(request, "ACCESS_TOKEN"))
+                .isEqualTo(CookieUtils.getCookieValue(request, "ACCESS_TOKEN").orElseThrow());
+        assertThat(CookieHeaderScanner.findValue(request, "REFRESH_TOKEN")).isNull();
+        assertThat(CookieHeaderScanner.findValue(new MockHttpServletRequest(), "ACCESS_TOKEN")).isNull();
+
+        String header = "_ga=GA1.2.3; ACCESS_TOKEN=eyJ.payload.sig";
+        long slice = CookieHeaderScanner.find(header, "ACCESS_TOKEN", 0);
+        assertThat(header.substring((int) (slice >>> 32), (int) slice)).isEqualTo("eyJ.payload.sig");
+    }
+
+    private static void assertSameAsTomcat(List<String> headers, String name) {
+        org.apache.coyote.Request coyote = new org.apache.coyote.Request();
+        for (String header : headers) {
+            // On the wire as UTF-8; Tomcat decodes the header string as ISO-8859-1 and cookie values as UTF-8
+            byte[] bytes = header.getBytes(StandardCharsets.UTF_8);
+            coyote.getMimeHeaders().addValue("Cookie").setBytes(bytes, 0, bytes.length);
+        }
+        Request request = new Request(CONNECTOR, coyote);
+        request.getMappingData().context = CONTEXT;
+
+        String scanned = CookieHeaderScanner.findValue(request, name);
+        String parsed = CookieUtils.getCookieValue(request, name).orElse(null);
+
+        assertThat(scanned).as("Cookie: %s", headers).isEqualTo(parsed);
+    }
+}
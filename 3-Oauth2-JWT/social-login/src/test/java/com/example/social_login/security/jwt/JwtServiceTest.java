@@ -0,0 +1,144 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class JwtServiceTest {
+
+    private final JwtService jwtService = new JwtService(JwtTestSupport.properties());
+
+    @Test
+    void verifyReturnsPrincipalForFreshToken() {
+        String token = jwtService.generateToken("user@example.com");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.subject()).isEqualTo("user@example.com");
+        assertThat(verified.tokenId()).isNotBlank();
+        assertThat(verified.issuedAt()).isNotNull();
+        assertThat(verified.expiresAt()).isAfter(verified.issuedAt());
+    }
+
+    @Test
+    void verifyReportsExpiredToken() {
+        String token = Jwts.builder()
+                .setSubject("user@example.com")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(JwtTestSupport.SECRET.getBytes()))
+                .compact();
+
+        assertThat(jwtService.verify(token).status()).isEqualTo(VerifiedToken.Status.EXPIRED);
+        assertThat(jwtService.isTokenValid(token)).isFalse();
+    }
+
+    @Test
+    void verifyReportsTamperedSignature() {
+        String token = jwtService.generateToken("user@example.com");
+        String tampered = JwtTestSupport.tamperSignature(token);
+
+        assertThat(jwtService.verify(tampered).status()).isEqualTo(VerifiedToken.Status.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void verifyReportsForeignKeySignature() {
+        JwtService other = new JwtService(JwtTestSupport.properties(
+                "ffffffffffffffffffffffffffffffffffffffffffffffff"));
+
+        VerifiedToken verified = jwtService.verify(other.generateToken("user@example.com"));
+
+        assertThat(verified.status()).isEqualTo(VerifiedToken.Status.INVALID_SIGNATURE);
+        assertThat(verified.subject()).isNull();
+    }
+
+    @Test
+    void verifyReportsMalformedToken() {
+        assertThat(jwtService.verify("not-a-jwt").status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+        assertThat(jwtService.verify("").status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+        assertThat(jwtService.verify(null).status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+    }
+
+    @Test
+    void verifyReportsUnsignedTokenAsUnsupported() {
+        String unsigned = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+
+        assertThat(jwtService.verify(unsigned).status()).isEqualTo(VerifiedToken.Status.UNSUPPORTED);
+    }
+
+    @Test
+    void cachedServiceServesRepeatVerificationFromCache() {
+        JwtService cached = new JwtService(JwtTestSupport.cachedProperties());
+        String token = cached.generateToken("user@example.com");
+
+        VerifiedToken first = cached.verify(token);
+        VerifiedToken second = cached.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cached.tokenCache()).hasValueSatisfying(cache -> {
+            assertThat(cache.nativeCache().stats().missCount()).isEqualTo(1);
+            assertThat(cache.nativeCache().stats().hitCount()).isEqualTo(1);
+        });
+        assertThat(jwtService.tokenCache()).isEmpty();
+    }
+
+    @Test
+    void revokedTokenIsRejectedWhileOthersStayValid() {
+        String revoked = jwtService.generateToken("user@example.com");
+        String other = jwtService.generateToken("user@example.com");
+
+        assertThat(jwtService.revoke(revoked)).isTrue();
+
+        assertThat(jwtService.verify(revoked).status()).isEqualTo(VerifiedToken.Status.REVOKED);
+        assertThat(jwtService.verify(other).isValid()).isTrue();
+        assertThat(jwtService.revoke("not-a-jwt")).isFalse();
+    }
+
+    @Test
+    void revocationOverridesCachedVerification() {
+        JwtService cached = new JwtService(JwtTestSupport.cachedProperties());
+        String token = cached.generateToken("user@example.com");
+        assertThat(cached.verify(token).isValid()).isTrue();
+
+        cached.revoke(token);
+
+        assertThat(cached.verify(token).status()).isEqualTo(VerifiedToken.Status.REVOKED);
+    }
+
+    @Test
+    void opaqueModeIssuesOpaqueTokensAndStillAcceptsJwts() {
+        JwtService opaque = new JwtService(JwtTestSupport.opaqueProperties(null));
+        String token = opaque.generateToken("user@example.com");
+        String jwt = jwtService.generateToken("user@example.com");
+
+        assertThat(token).hasSize(OpaqueTokenIndex.TOKEN_LENGTH).doesNotContain(".");
+        VerifiedToken verified = opaque.verify(token);
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.subject()).isEqualTo("user@example.com");
+        assertThat(verified.expiresAt()).isEqualTo(verified.issuedAt().plusMillis(900000L));
+        assertThat(opaque.verify(jwt).isValid()).isTrue(); // Issued before the switch
+        assertThat(opaque.extractEmail(token)).isEqualTo("user@example.com");
+        assertThat(opaque.extractEmail(jwt)).isEqualTo("user@example.com");
+        assertThat(jwtService.verify(token).status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+        assertThat(opaque.opaqueTokens()).hasValueSatisfying(index -> assertThat(index.size()).isEqualTo(1));
+        assertThat(jwtService.opaqueTokens()).isEmpty();
+
+        assertThat(opaque.revoke(token)).isTrue();
+        assertThat(opaque.revoke(token)).isFalse();
+        assertThat(opaque.verify(token).status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThatThrownBy(() -> opaque.extractEmail(token))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("UNKNOWN");
+    }
+}
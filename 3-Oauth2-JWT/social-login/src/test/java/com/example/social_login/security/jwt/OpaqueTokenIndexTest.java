@@ -0,0 +1,134 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OpaqueTokenIndexTest {
+
+    private static final Duration LIFETIME = Duration.ofMinutes(15);
+
+    private final JwtTestSupport.MutableClock clock =
+            new JwtTestSupport.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void resolvesIssuedTokensUntilTheyAreRemovedOrExpire() {
+        OpaqueTokenIndex index = index(null);
+        String token = issue(index, "user@example.com", LIFETIME);
+        String other = issue(index, "user@example.com", LIFETIME);
+
+        assertThat(token).hasSize(OpaqueTokenIndex.TOKEN_LENGTH).isNotEqualTo(other);
+        assertThat(OpaqueTokenIndex.isOpaque(token)).isTrue();
+        VerifiedToken verified = index.find(token);
+        assertThat(verified.isValid()).isTrue();
+        assertThat(verified.subject()).isEqualTo("user@example.com");
+        assertThat(verified.issuedAt()).isEqualTo(clock.instant());
+        assertThat(verified.expiresAt()).isEqualTo(clock.instant().plus(LIFETIME));
+        assertThat(index.find(token)).isSameAs(verified);
+
+        assertThat(index.remove(token)).isTrue();
+        assertThat(index.remove(token)).isFalse();
+        assertThat(index.find(token).status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThat(index.find(other).isValid()).isTrue();
+
+        clock.advance(LIFETIME);
+        assertThat(index.find(other).status()).isEqualTo(VerifiedToken.Status.EXPIRED);
+
+        assertThat(index.find("AAAAAAAAAAAAAAAAAAAAAA").status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThat(index.find("AAAAAAAAAAAAAAAAAAAAA=").status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+        assertThat(index.find("short").status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+        assertThat(index.find(null).status()).isEqualTo(VerifiedToken.Status.MALFORMED);
+    }
+
+    @Test
+    void expireDropsOnlyTokensWhoseTimeHasCome() {
+        OpaqueTokenIndex index = index(null);
+        List<String> shortLived = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            shortLived.add(issue(index, "short" + i + "@example.com", Duration.ofSeconds(30)));
+        }
+        String longLived = issue(index, "long@example.com", LIFETIME);
+        // Lives longer than one revolution of the wheel, so it shares a slot with a nearer deadline
+        String beyondWheel = issue(index, "beyond@example.com", LIFETIME.multipliedBy(3));
+
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(index.expire()).isZero();
+        assertThat(index.size()).isEqualTo(102);
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(index.expire()).isEqualTo(100);
+        assertThat(index.find(shortLived.get(0)).status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThat(index.find(longLived).isValid()).isTrue();
+
+        // A sweep that falls far behind still catches up in one pass
+        clock.advance(LIFETIME);
+        assertThat(index.expire()).isEqualTo(1);
+        assertThat(index.find(beyondWheel).isValid()).isTrue();
+
+        clock.advance(LIFETIME.multipliedBy(2));
+        assertThat(index.expire()).isEqualTo(1);
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void snapshotSurvivesRestart() throws Exception {
+        Path snapshot = dir.resolve("data/opaque-tokens.bin");
+        OpaqueTokenIndex index = index(snapshot);
+        String token = issue(index, "üser@example.com", LIFETIME);
+        String removed = issue(index, "gone@example.com", LIFETIME);
+        String expiring = issue(index, "brief@example.com", Duration.ofSeconds(5));
+        index.remove(removed);
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(index.save()).isEqualTo(2);
+        assertThat(Files.readString(snapshot, StandardCharsets.ISO_8859_1)).doesNotContain(token);
+
+        clock.advance(Duration.ofSeconds(10));
+        OpaqueTokenIndex restored = index(snapshot);
+
+        assertThat(restored.size()).isEqualTo(1);
+        assertThat(restored.find(token)).isEqualTo(index.find(token));
+        assertThat(restored.find(token).subject()).isEqualTo("üser@example.com");
+        assertThat(restored.find(removed).status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThat(restored.find(expiring).status()).isEqualTo(VerifiedToken.Status.UNKNOWN);
+        assertThat(index(null).save()).isZero();
+    }
+
+    @Test
+    void rejectsBrokenSnapshot() throws Exception {
+        Path snapshot = dir.resolve("opaque-tokens.bin");
+        OpaqueTokenIndex index = index(snapshot);
+        issue(index, "user@example.com", LIFETIME);
+        index.save();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThatThrownBy(() -> index(snapshot))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(snapshot.toString());
+
+        Files.writeString(snapshot, "not a snapshot");
+        assertThatThrownBy(() -> index(snapshot)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private OpaqueTokenIndex index(Path snapshot) {
+        return new OpaqueTokenIndex(4, Duration.ofSeconds(1), LIFETIME, snapshot, clock);
+    }
+
+    private String issue(OpaqueTokenIndex index, String subject, Duration lifetime) {
+        return index.issue(subject, clock.instant(), clock.instant().plus(lifetime));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class ReusablePoolTest {
+
+    @Test
+    void platformThreadKeepsItsOwnInstance() {
+        AtomicInteger created = new AtomicInteger();
+        ReusablePool<Object> pool = new ReusablePool<>(() -> created.incrementAndGet(), 4);
+
+        Object first = pool.acquire();
+        pool.release(first);
+        Object second = pool.acquire();
+
+        assertThat(second).isSameAs(first);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void virtualThreadsShareReleasedInstances() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ReusablePool<Object> pool = new ReusablePool<>(() -> new Object[] { created.incrementAndGet() }, 1);
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+
+        Thread.ofVirtual().start(() -> {
+            Object a = pool.acquire();
+            Object b = pool.acquire(); // Held at the same time, so a distinct instance
+            first.set(a);
+            pool.release(a);
+            pool.release(b); // Over the limit of one idle instance, dropped
+        }).join();
+        Thread.ofVirtual().start(() -> {
+            Object c = pool.acquire();
+            second.set(c);
+            pool.release(c);
+        }).join();
+
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(created).hasValue(2);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+    private final JwtTestSupport.MutableClock clock =
+            new JwtTestSupport.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(2, clock, ticker::get);
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        Function<String, VerifiedToken> verifier = validFor(Duration.ofMinutes(15));
+
+        cache.get("token-a", verifier);
+        cache.get("token-a", verifier);
+        cache.get("token-a", verifier);
+
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.nativeCache().stats().hitCount()).isEqualTo(2);
+        assertThat(cache.nativeCache().stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failuresAreNeverCached() {
+        Function<String, VerifiedToken> verifier = token -> {
+            verifications.incrementAndGet();
+            return VerifiedToken.failure(VerifiedToken.Status.INVALID_SIGNATURE);
+        };
+
+        cache.get("bad", verifier);
+        cache.get("bad", verifier);
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void entryExpiresWithTokenOnTicker() {
+        Function<String, VerifiedToken> verifier = validFor(Duration.ofMinutes(15));
+        cache.get("token-a", verifier);
+
+        ticker.addAndGet(Duration.ofMinutes(15).toNanos());
+        cache.cleanUp();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.nativeCache().stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void wallClockJumpPastExpiryForcesReverification() {
+        Function<String, VerifiedToken> verifier = validFor(Duration.ofMinutes(15));
+        cache.get("token-a", verifier);
+
+        // Ticker has not moved, but the wall clock says the token is expired
+        clock.advance(Duration.ofMinutes(16));
+        cache.get("token-a", token -> {
+            verifications.incrementAndGet();
+            return VerifiedToken.failure(VerifiedToken.Status.EXPIRED);
+        });
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void wallClockMovingBackDoesNotExtendLifetime() {
+        Function<String, VerifiedToken> verifier = validFor(Duration.ofMinutes(15));
+        cache.get("token-a", verifier);
+
+        clock.advance(Duration.ofHours(-1));
+        ticker.addAndGet(Duration.ofMinutes(15).toNanos());
+        cache.get("token-a", verifier);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void sizeIsBounded() {
+        Function<String, VerifiedToken> verifier = validFor(Duration.ofMinutes(15));
+        for (int i = 0; i < 10; i++) {
+            cache.get("token-" + i, verifier);
+        }
+        cache.cleanUp();
+
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.nativeCache().stats().evictionCount()).isGreaterThanOrEqualTo(8);
+    }
+
+    private Function<String, VerifiedToken> validFor(Duration lifetime) {
+        return token -> {
+            verifications.incrementAndGet();
+            Instant now = clock.instant();
+            return VerifiedToken.valid("user@example.com", null, now, now.plus(lifetime));
+        };
+    }
+}
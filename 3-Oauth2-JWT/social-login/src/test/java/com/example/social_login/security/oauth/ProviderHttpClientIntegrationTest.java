@@ -0,0 +1,102 @@
+package com.example.social_login.security.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.social_login.loadtest.LoginLoadHarness;
+import com.example.social_login.loadtest.StubOAuth2Provider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs concurrent Google logins against the stub provider and checks the
+ * provider calls share a small set of kept-alive connections and a single
+ * JWK set fetch.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "application.security.oauth2.http-client.max-connections=10",
+        "application.security.oauth2.http-client.max-connections-per-route=2",
+        "logging.level.org.springframework.security=WARN",
+})
+class ProviderHttpClientIntegrationTest {
+
+    private static final int LOGINS = 30;
+    private static final int CONCURRENCY = 6;
+
+    private static final StubOAuth2Provider provider = startProvider();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private static StubOAuth2Provider startProvider() {
+        try {
+            return new StubOAuth2Provider(Duration.ofMillis(5));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void pointGoogleAtStub(DynamicPropertyRegistry registry) {
+        provider.googleRegistration().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.close();
+    }
+
+    @Test
+    void loginsReuseConnectionsAndTheCachedJwkSet() throws Exception {
+        long tokenRequests = provider.requests("/token");
+        LoginLoadHarness.Report report;
+        try (LoginLoadHarness harness = new LoginLoadHarness(URI.create("http://localhost:" + port), CONCURRENCY)) {
+            report = harness.run(0, LOGINS);
+        }
+
+        assertThat(report.errors()).as("errors").isZero();
+        assertThat(provider.requests("/token") - tokenRequests).isEqualTo(LOGINS);
+        assertThat(provider.requests("/jwks")).as("JWK set fetches").isEqualTo(1);
+        // Six logins at a time, but never more than two connections to the provider
+        assertThat(provider.connections("/token", "/userinfo", "/jwks")).isBetween(1, 2);
+
+        // Every connection is back in the pool, kept alive for the next login
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "oauth2-provider", "state", "leased").gauge().value()).isZero();
+        assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "oauth2-provider", "state", "available").gauge().value()).isBetween(1.0, 2.0);
+        assertThat(registry.get("cache.gets").tags("cache", ProviderMetadataCache.NAME, "result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(LOGINS - 1);
+    }
+
+    @Test
+    void codeExchangeIsNotRetriedOnServiceUnavailable() throws Exception {
+        long tokenRequests = provider.requests("/token");
+        provider.fail("/token", 503);
+        LoginLoadHarness.Report report;
+        try (LoginLoadHarness harness = new LoginLoadHarness(URI.create("http://localhost:" + port), 1)) {
+            report = harness.run(0, 1);
+        } finally {
+            provider.recover("/token");
+        }
+
+        assertThat(report.errors()).as("errors").isEqualTo(1);
+        // The authorization code is single-use, so a retry could never succeed
+        assertThat(provider.requests("/token") - tokenRequests).isEqualTo(1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.social_login.security.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+class ProviderMetadataCacheTest {
+
+    private final ProviderMetadataCache cache = new ProviderMetadataCache(Duration.ofMinutes(1));
+
+    @Test
+    void concurrentMissesShareOneFetch() throws Exception {
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] callers = new Thread[8];
+        String[] results = new String[callers.length];
+        for (int i = 0; i < callers.length; i++) {
+            int n = i;
+            callers[i] = Thread.ofVirtual().start(() -> results[n] = cache.get("https://idp/jwks", () -> {
+                fetches.incrementAndGet();
+                release.await();
+                return "keys";
+            }));
+        }
+        Thread.sleep(100); // Let every caller reach the pending entry
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(fetches).hasValue(1);
+        assertThat(results).containsOnly("keys");
+    }
+
+    @Test
+    void failedFetchIsNotCached() {
+        assertThatThrownBy(() -> cache.get("https://idp/jwks", () -> {
+            throw new IllegalStateException("provider down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class).hasRootCauseMessage("provider down");
+
+        assertThat(cache.get("https://idp/jwks", () -> "keys")).isEqualTo("keys");
+    }
+
+    @Test
+    void evictForcesARefetch() {
+        AtomicInteger fetches = new AtomicInteger();
+        cache.get("https://idp/jwks", fetches::incrementAndGet);
+        cache.get("https://idp/jwks", fetches::incrementAndGet);
+        cache.evict("https://idp/jwks");
+        cache.get("https://idp/jwks", fetches::incrementAndGet);
+
+        assertThat(fetches).hasValue(2);
+        assertThat(cache.get("https://idp/jwks")).isNotNull();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.social_login.security.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Walks a complete GitHub login against mocked token and user-info calls
+ * and checks that no HTTP session exists at any step.
+ */
+@SpringBootTest(properties = {
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "spring.security.oauth2.client.registration.github.client-id=test",
+        "spring.security.oauth2.client.registration.github.client-secret=test",
+})
+@AutoConfigureMockMvc
+class StatelessLoginIntegrationTest {
+
+    // Primary so the OAuth2 login prefers these over the pooled provider clients
+    @TestConfiguration
+    static class MockProvider {
+
+        @Bean
+        @Primary
+        OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> mockAccessTokenResponseClient() {
+            return grantRequest -> OAuth2AccessTokenResponse.withToken("provider-token")
+                    .tokenType(OAuth2AccessToken.TokenType.BEARER)
+                    .expiresIn(3600)
+                    .build();
+        }
+
+        @Bean
+        @Primary
+        OAuth2UserService<OAuth2UserRequest, OAuth2User> mockOAuth2UserService() {
+            return userRequest -> new DefaultOAuth2User(
+                    Set.of(new SimpleGrantedAuthority("OAUTH2_USER")),
+                    Map.of("id", 42, "email", "user@example.com", "login", "octocat", "name", "The Octocat"),
+                    "id");
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void fullLoginNeverCreatesASession() throws Exception {
+        MvcResult authorize = mockMvc.perform(get("/oauth2/authorization/github"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+        assertNoSession(authorize);
+        String location = authorize.getResponse().getHeader(HttpHeaders.LOCATION);
+        String state = UriUtils.decode(
+                UriComponentsBuilder.fromUriString(location).build().getQueryParams().getFirst("state"),
+                StandardCharsets.UTF_8);
+        Cookie authorizationRequest = authorize.getResponse().getCookie("OAUTH2_AUTH_REQUEST");
+        assertThat(authorizationRequest).isNotNull();
+
+        MvcResult callback = mockMvc.perform(get("/login/oauth2/code/github")
+                        .param("code", "provider-code")
+                        .param("state", state)
+                        .cookie(authorizationRequest))
+                .andExpect(redirectedUrl("http://localhost:3000"))
+                .andReturn();
+        assertNoSession(callback);
+        assertThat(callback.getResponse().getCookie("OAUTH2_AUTH_REQUEST").getMaxAge()).isZero();
+        Cookie accessToken = callback.getResponse().getCookie("ACCESS_TOKEN");
+        assertThat(accessToken).isNotNull();
+
+        MvcResult me = mockMvc.perform(get("/api/me").cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("user@example.com"))
+                // Served from the profile saved at login; the user-info mock isn't called again
+                .andExpect(jsonPath("$.provider").value("github"))
+                .andExpect(jsonPath("$.username").value("octocat"))
+                .andExpect(jsonPath("$.name").value("The Octocat"))
+                .andReturn();
+        assertNoSession(me);
+
+        MvcResult bootstrap = mockMvc.perform(get("/api/bootstrap").cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.public.message").value("This is a public endpoint"))
+                .andExpect(jsonPath("$.user.email").value("user@example.com"))
+                .andExpect(jsonPath("$.user.username").value("octocat"))
+                .andExpect(jsonPath("$.token.expiresAt").isString())
+                .andReturn();
+        assertNoSession(bootstrap);
+        String etag = bootstrap.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        assertThat(bootstrap.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache", "private");
+
+        // Same token, so the dashboard's cached copy is still current
+        mockMvc.perform(get("/api/bootstrap").cookie(accessToken).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/bootstrap").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isForbidden());
+
+        MvcResult logout = mockMvc.perform(post("/logout").cookie(accessToken))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNoSession(logout);
+    }
+
+    @Test
+    void callbackWithoutTheCookieFailsWithoutASession() throws Exception {
+        MvcResult callback = mockMvc.perform(get("/login/oauth2/code/github")
+                        .param("code", "provider-code")
+                        .param("state", "forged"))
+                .andExpect(redirectedUrl("/login?error"))
+                .andReturn();
+        assertNoSession(callback);
+    }
+
+    private static void assertNoSession(MvcResult result) {
+        assertThat(result.getRequest().getSession(false)).isNull();
+        assertThat(result.getResponse().getCookie("JSESSIONID")).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.social_login.security.path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+class CompiledPathMatcherTest {
+
+    private static final List<String> PATTERNS =
+            List.of("/", "/api/public", "/oauth2/**", "/login", "/logout", "/api/auth/refresh", "/a/**", "/a/b/**");
+
+    @Test
+    void agreesWithSpringPathPatterns() {
+        CompiledPathMatcher matcher = CompiledPathMatcher.compile(PATTERNS);
+        List<PathPattern> reference = PATTERNS.stream().map(PathPatternParser.defaultInstance::parse).toList();
+
+        for (String path : List.of("/", "", "/api/public", "/api/public/", "/api/publicx", "/api/public/x",
+                "/api", "/api/me", "/oauth2", "/oauth2/", "/oauth2/authorization/github", "/oauth2x",
+                "/oauth", "/login", "/login/oauth2/code/github", "/logout", "/logoutx", "/api/auth/refresh",
+                "/api/auth", "/a", "/a/b", "/a/b/c", "/ab", "//", "/LOGIN")) {
+            boolean expected = reference.stream().anyMatch(p -> p.matches(PathContainer.parsePath(path)));
+            assertThat(matcher.matches(path)).as(path).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedPatterns() {
+        assertThatThrownBy(() -> CompiledPathMatcher.compile("/api/*")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledPathMatcher.compile("/a/**/b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledPathMatcher.compile("/users/{id}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CompiledPathMatcher.compile("api")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        CompiledPathMatcher matcher = CompiledPathMatcher.compile(List.of());
+
+        assertThat(matcher.matches("/")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+    }
+}
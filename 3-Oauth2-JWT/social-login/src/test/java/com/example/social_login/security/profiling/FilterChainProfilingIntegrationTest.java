@@ -0,0 +1,48 @@
+package com.example.social_login.security.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "application.profiling.filter-chain.enabled=true",
+        "application.profiling.filter-chain.sample-every=1",
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "spring.security.oauth2.client.registration.github.client-id=test",
+        "spring.security.oauth2.client.registration.github.client-secret=test",
+})
+@AutoConfigureMockMvc
+class FilterChainProfilingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilterChainProfiler profiler;
+
+    @Test
+    void everySecurityFilterIsProfiled() throws Exception {
+        mockMvc.perform(get("/api/public")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/me")).andExpect(status().isForbidden());
+
+        FilterChainProfile profile = profiler.snapshot();
+
+        assertThat(profile.sampleEvery()).isEqualTo(1);
+        assertThat(profile.filters())
+                .extracting(FilterChainProfile.Entry::filter)
+                .contains("JwtAuthenticationFilter", "AuthorizationFilter", "OAuth2AuthorizationRequestRedirectFilter");
+        assertThat(profile.filters())
+                .filteredOn(entry -> entry.filter().equals("DisableEncodeUrlFilter"))
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.samples()).isEqualTo(2));
+        assertThat(profile.filters())
+                .extracting(FilterChainProfile.Entry::estimatedTotalNanos)
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.social_login.security.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+
+class ProfilingFilterTest {
+
+    @Test
+    void selfTimeExcludesDownstreamFilters() throws Exception {
+        FilterChainProfiler profiler = new FilterChainProfiler(1);
+        Filter fast = profiler.wrap("chain", 0, (request, response, chain) -> chain.doFilter(request, response));
+        Filter slow = profiler.wrap("chain", 1, (request, response, chain) -> {
+            sleep(20);
+            chain.doFilter(request, response);
+        });
+
+        for (int i = 0; i < 3; i++) {
+            new MockFilterChain(new HttpServlet() {
+            }, fast, slow).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+        }
+
+        FilterChainProfile profile = profiler.snapshot();
+        assertThat(profile.filters()).extracting(FilterChainProfile.Entry::position).containsExactly(1, 0);
+        FilterChainProfile.Entry slowEntry = profile.filters().get(0);
+        FilterChainProfile.Entry fastEntry = profile.filters().get(1);
+        assertThat(slowEntry.samples()).isEqualTo(3);
+        assertThat(slowEntry.meanNanos()).isGreaterThanOrEqualTo(20_000_000L);
+        assertThat(fastEntry.meanNanos()).isLessThan(10_000_000L);
+        assertThat(fastEntry.filter()).isNotBlank();
+    }
+
+    @Test
+    void allocationIsAttributedToTheAllocatingFilter() throws Exception {
+        FilterChainProfiler profiler = new FilterChainProfiler(1);
+        Filter allocating = profiler.wrap("chain", 0, (request, response, chain) -> {
+            request.setAttribute("buffer", new byte[1 << 20]);
+            chain.doFilter(request, response);
+        });
+
+        new MockFilterChain(new HttpServlet() {
+        }, allocating).doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertThat(profiler.snapshot().filters().get(0).meanAllocatedBytes()).isGreaterThanOrEqualTo(1 << 20);
+    }
+
+    @Test
+    void unsampledRequestsAreNotMeasured() throws Exception {
+        FilterChainProfiler profiler = new FilterChainProfiler(1_000_000);
+        Filter filter = profiler.wrap("chain", 0, (request, response, chain) -> chain.doFilter(request, response));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(profiler.snapshot().filters().get(0).samples()).isLessThanOrEqualTo(1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
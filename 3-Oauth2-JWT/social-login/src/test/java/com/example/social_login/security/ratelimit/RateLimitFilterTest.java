@@ -0,0 +1,114 @@
+package com.example.social_login.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.social_login.config.RateLimitProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy(new RateLimitProperties(List.of(
+            new RateLimitProperties.Rule("/oauth2/**", 2, 0, Duration.ofMinutes(1)),
+            new RateLimitProperties.Rule("/api/**", 5, 2, Duration.ofMinutes(1))), 0, 0, 0));
+    private final RateLimitFilter client = new RateLimitFilter(policy, RateLimitPolicy.Scope.CLIENT);
+    private final RateLimitFilter principal = new RateLimitFilter(policy, RateLimitPolicy.Scope.PRINCIPAL);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectsClientOverLimitWithRetryAfter() throws Exception {
+        assertThat(filter(client, "/oauth2/authorization/github", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(filter(client, "/oauth2/authorization/google", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = filter(client, "/oauth2/authorization/github", "10.0.0.1");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(rejected.getContentType()).isEqualTo("application/json");
+        assertThat(rejected.getContentAsString()).isEqualTo("{\"message\":\"Too many requests\",\"status\":\"error\"}");
+
+        // Other clients and unmatched paths are unaffected
+        assertThat(filter(client, "/oauth2/authorization/github", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(filter(client, "/", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void eachRuleHasItsOwnBuckets() throws Exception {
+        filter(client, "/oauth2/authorization/github", "10.0.0.1");
+        filter(client, "/oauth2/authorization/github", "10.0.0.1");
+
+        assertThat(filter(client, "/api/me", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void limitsAuthenticatedUserAcrossAddresses() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("user@example.com", null, List.of()));
+
+        assertThat(filter(principal, "/api/me", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(filter(principal, "/api/me", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(filter(principal, "/api/me", "10.0.0.3").getStatus()).isEqualTo(429);
+        // No principal limit on this rule
+        assertThat(filter(principal, "/oauth2/authorization/github", "10.0.0.3").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void skipsAnonymousRequestsInPrincipalScope() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter(principal, "/api/me", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void limitsNothingWithoutRules() throws Exception {
+        RateLimitPolicy none = new RateLimitPolicy(new RateLimitProperties(null, 0, 0, 0));
+        RateLimitFilter filter = new RateLimitFilter(none, RateLimitPolicy.Scope.CLIENT);
+
+        assertThat(none.limits(RateLimitPolicy.Scope.CLIENT)).isFalse();
+        for (int i = 0; i < 100; i++) {
+            assertThat(filter(filter, "/api/me", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void countsOutcomesPerScope() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        policy.metrics().bindTo(registry);
+
+        for (int i = 0; i < 3; i++) {
+            filter(client, "/oauth2/authorization/github", "10.0.0.1");
+        }
+        filter(client, "/", "10.0.0.1");
+
+        assertThat(registry.get("rate.limit.requests").tags("scope", "client", "result", "allowed")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("rate.limit.requests").tags("scope", "client", "result", "rejected")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("rate.limit.requests").tags("scope", "principal", "result", "allowed")
+                .functionCounter().count()).isZero();
+        assertThat(registry.get("rate.limit.keys").gauge().value()).isEqualTo(1);
+    }
+
+    private static MockHttpServletResponse filter(RateLimitFilter filter, String path, String address)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.social_login.security.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileRefreshTokenStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void stateSurvivesRestart() {
+        Path file = dir.resolve("tokens.log");
+        FileRefreshTokenStore store = new FileRefreshTokenStore(file);
+        store.save(token("a", "family-1", NOW.plusSeconds(60)));
+        store.save(token("b", "family-1", NOW.plusSeconds(60)));
+        store.save(token("c", "family-2", NOW.plusSeconds(60)));
+        store.markUsed("a");
+        store.revokeFamily("family-2", NOW.plusSeconds(60));
+        store.close();
+
+        FileRefreshTokenStore reopened = new FileRefreshTokenStore(file);
+
+        assertThat(reopened.find("a")).get().extracting(RefreshToken::used).isEqualTo(true);
+        assertThat(reopened.find("b")).get().extracting(RefreshToken::subject).isEqualTo("user\t@example.com");
+        assertThat(reopened.find("c")).isEmpty();
+        assertThat(reopened.isFamilyRevoked("family-2")).isTrue();
+        assertThat(reopened.markUsed("a")).isFalse();
+        reopened.close();
+    }
+
+    @Test
+    void purgeCompactsLog() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        FileRefreshTokenStore store = new FileRefreshTokenStore(file);
+        store.save(token("old", "family-1", NOW.minusSeconds(1)));
+        store.save(token("live", "family-2", NOW.plusSeconds(60)));
+
+        assertThat(store.purgeExpired(NOW)).isEqualTo(1);
+        store.save(token("new", "family-3", NOW.plusSeconds(60)));
+        store.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2).noneMatch(line -> line.contains("old"));
+        FileRefreshTokenStore reopened = new FileRefreshTokenStore(file);
+        assertThat(reopened.find("live")).isPresent();
+        assertThat(reopened.find("new")).isPresent();
+        reopened.close();
+    }
+
+    @Test
+    void tornLastLineIsIgnored() throws Exception {
+        Path file = dir.resolve("tokens.log");
+        FileRefreshTokenStore store = new FileRefreshTokenStore(file);
+        store.save(token("a", "family-1", NOW.plusSeconds(60)));
+        store.close();
+        Files.writeString(file, "S\tb\tfam", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FileRefreshTokenStore reopened = new FileRefreshTokenStore(file);
+
+        assertThat(reopened.find("a")).isPresent();
+        assertThat(reopened.find("b")).isEmpty();
+        reopened.close();
+    }
+
+    private static RefreshToken token(String hash, String familyId, Instant expiresAt) {
+        return new RefreshToken(hash, familyId, "user\t@example.com", NOW.minusSeconds(10), expiresAt, false);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.social_login.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenDenylistTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void revokedIdsAreDeniedUntilTheyExpire() {
+        MovableClock clock = new MovableClock();
+        TokenDenylist denylist = new TokenDenylist(100, 0.01, clock);
+        denylist.revoke("short", NOW.plusSeconds(60));
+        denylist.revoke("long", NOW.plusSeconds(600));
+        denylist.revoke("already-expired", NOW.minusSeconds(1));
+
+        assertThat(denylist.isRevoked("short")).isTrue();
+        assertThat(denylist.isRevoked("long")).isTrue();
+        assertThat(denylist.isRevoked("already-expired")).isFalse();
+        assertThat(denylist.isRevoked("other")).isFalse();
+        assertThat(denylist.isRevoked(null)).isFalse();
+
+        clock.now = NOW.plusSeconds(120);
+        assertThat(denylist.rebuild()).isEqualTo(1);
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked("short")).isFalse();
+        assertThat(denylist.isRevoked("long")).isTrue();
+    }
+
+    @Test
+    void rebuildGrowsFilterWithLoad() {
+        TokenDenylist denylist = new TokenDenylist(10, 0.01, new MovableClock());
+        long initialMemory = denylist.memoryBytes();
+        for (int i = 0; i < 10_000; i++) {
+            denylist.revoke("jti-" + i, NOW.plus(Duration.ofHours(1)));
+        }
+
+        denylist.rebuild();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(denylist.isRevoked("jti-" + i)).isTrue();
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            falsePositives += denylist.isRevoked("live-" + i) ? 1 : 0;
+        }
+        assertThat(falsePositives).isZero();
+        assertThat(denylist.observedFalsePositiveRate()).isLessThan(0.02);
+        assertThat(denylist.memoryBytes()).isGreaterThan(initialMemory);
+    }
+
+    @Test
+    void exposesMetrics() {
+        TokenDenylist denylist = new TokenDenylist(100, 0.01, new MovableClock());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        denylist.bindTo(registry);
+        denylist.revoke("jti", NOW.plusSeconds(60));
+        denylist.isRevoked("jti");
+        denylist.isRevoked("other");
+
+        assertThat(registry.get("jwt.revocation.entries").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("jwt.revocation.checks").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("jwt.revocation.memory").gauge().value()).isPositive();
+        assertThat(registry.get("jwt.revocation.filter.fpp.expected").gauge().value()).isLessThan(0.01);
+    }
+
+    private static final class MovableClock extends Clock {
+
+        Instant now = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
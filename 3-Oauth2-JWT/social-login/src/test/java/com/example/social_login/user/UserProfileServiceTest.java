@@ -0,0 +1,119 @@
+package com.example.social_login.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+
+import com.example.social_login.config.UserProfileProperties;
+
+class UserProfileServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final UserProfileProperties PROPERTIES = new UserProfileProperties(null, null, 2, 0);
+
+    @Test
+    void mapsGitHubAttributes() {
+        UserProfileService service = service(new InMemoryUserProfileStore(), NOW);
+
+        UserProfile profile = service.recordLogin(login("github", Map.of(
+                "id", 1, "email", "ada@example.com", "login", "ada", "name", "Ada Lovelace",
+                "avatar_url", "https://avatars.githubusercontent.com/u/1")));
+
+        assertThat(profile).isEqualTo(new UserProfile("ada@example.com", "github", "Ada Lovelace", "ada",
+                "https://avatars.githubusercontent.com/u/1", NOW, NOW));
+    }
+
+    @Test
+    void mapsOidcAttributesAndKeepsFirstLogin() {
+        InMemoryUserProfileStore store = new InMemoryUserProfileStore();
+        service(store, NOW).recordLogin(login("github", Map.of("id", 1, "email", "ada@example.com")));
+
+        // A new instance, so the first login time comes from the store
+        UserProfile profile = service(store, NOW.plusSeconds(60)).recordLogin(login("google", Map.of(
+                "sub", "1", "email", "ada@example.com", "name", "Ada", "picture", "https://lh3.example.com/a")));
+
+        assertThat(profile.provider()).isEqualTo("google");
+        assertThat(profile.username()).isNull();
+        assertThat(profile.avatarUrl()).isEqualTo("https://lh3.example.com/a");
+        assertThat(profile.firstLogin()).isEqualTo(NOW);
+        assertThat(profile.lastLogin()).isEqualTo(NOW.plusSeconds(60));
+        assertThat(store.find("ada@example.com")).contains(profile);
+    }
+
+    @Test
+    void readsThroughTheCache() {
+        AtomicInteger reads = new AtomicInteger();
+        InMemoryUserProfileStore backing = new InMemoryUserProfileStore();
+        UserProfileStore store = new UserProfileStore() {
+            @Override
+            public void save(UserProfile profile) {
+                backing.save(profile);
+            }
+
+            @Override
+            public Optional<UserProfile> find(String email) {
+                reads.incrementAndGet();
+                return backing.find(email);
+            }
+        };
+        backing.save(new UserProfile("ada@example.com", "github", "Ada", null, null, NOW, NOW));
+        UserProfileService service = service(store, NOW);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.find("ada@example.com")).isPresent();
+        }
+        assertThat(service.find("nobody@example.com")).isEmpty();
+
+        assertThat(reads).hasValue(2);
+    }
+
+    @Test
+    void savesOutsideTheCacheLock() {
+        InMemoryUserProfileStore backing = new InMemoryUserProfileStore();
+        UserProfileService[] service = new UserProfileService[1];
+        AtomicInteger saves = new AtomicInteger();
+        UserProfileStore store = new UserProfileStore() {
+            @Override
+            public void save(UserProfile profile) {
+                // Touching the same cache entry from inside compute would fail as a recursive update
+                assertThat(service[0].find(profile.email())).contains(profile);
+                backing.save(profile);
+                saves.incrementAndGet();
+            }
+
+            @Override
+            public Optional<UserProfile> find(String email) {
+                return backing.find(email);
+            }
+        };
+        service[0] = service(store, NOW);
+
+        service[0].recordLogin(login("github", Map.of("id", 1, "email", "ada@example.com")));
+        service[0].recordLogin(login("github", Map.of("id", 1, "email", "ada@example.com")));
+
+        assertThat(saves).hasValue(2);
+        assertThat(backing.find("ada@example.com")).isPresent();
+    }
+
+    private static UserProfileService service(UserProfileStore store, Instant now) {
+        return new UserProfileService(store, PROPERTIES, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static OAuth2AuthenticationToken login(String provider, Map<String, Object> attributes) {
+        String nameKey = attributes.containsKey("sub") ? "sub" : "id";
+        DefaultOAuth2User user = new DefaultOAuth2User(Set.of(new SimpleGrantedAuthority("OAUTH2_USER")),
+                attributes, nameKey);
+        return new OAuth2AuthenticationToken(user, user.getAuthorities(), provider);
+    }
+}
@@ -2,21 +2,30 @@
 
 import { useEffect, useState } from 'react';
 import { useRouter } from 'next/navigation';
-import { getCurrentUser, logout, getPublicMessage } from '@/lib/api';
+import { getBootstrap, logout } from '@/lib/api';
 
 interface UserInfo {
     email?: string;
     username?: string;
     name?: string;
+    provider?: string;
+    avatarUrl?: string;
+    lastLogin?: string;
 }
 
 interface PublicMessage {
     message?: string;
 }
 
+interface TokenLifetime {
+    issuedAt?: string;
+    expiresAt?: string;
+}
+
 export default function DashboardPage() {
     const [user, setUser] = useState<UserInfo | null>(null);
     const [publicData, setPublicData] = useState<PublicMessage | null>(null);
+    const [token, setToken] = useState<TokenLifetime | null>(null);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState<string | null>(null);
     const router = useRouter();
@@ -24,13 +33,11 @@ export default function DashboardPage() {
     useEffect(() => {
         async function fetchData() {
             try {
-                // Fetch public message first (no auth needed)
-                const publicMsg = await getPublicMessage();
-                setPublicData(publicMsg);
-
-                // Then fetch authenticated user
-                const userData = await getCurrentUser();
-                setUser(userData);
+                // Public message, user and token lifetime in one request
+                const bootstrap = await getBootstrap();
+                setPublicData(bootstrap.public);
+                setUser(bootstrap.user);
+                setToken(bootstrap.token);
                 setError(null);
             } catch (err) {
                 setError('Not authenticated');
@@ -76,16 +83,23 @@ export default function DashboardPage() {
             {/* Public Endpoint Test */}
             <div style={{ marginTop: '2rem', padding: '1rem', border: '1px solid #4caf50', borderRadius: '4px', backgroundColor: '#e8f5e9' }}>
                 <h2>✅ Public Endpoint Test</h2>
-                <p><strong>GET /api/public:</strong> {publicData?.message || 'N/A'}</p>
+                <p><strong>GET /api/bootstrap (public):</strong> {publicData?.message || 'N/A'}</p>
             </div>
 
             {/* Authenticated User Info */}
             <div style={{ marginTop: '1rem', padding: '1rem', border: '1px solid #2196f3', borderRadius: '4px', backgroundColor: '#e3f2fd' }}>
                 <h2>🔐 Authenticated User</h2>
                 <div style={{ marginTop: '0.5rem' }}>
+                    {user.avatarUrl && (
+                        // eslint-disable-next-line @next/next/no-img-element
+                        <img src={user.avatarUrl} alt="" width={64} height={64} style={{ borderRadius: '50%' }} />
+                    )}
                     {user.email && <p><strong>Email:</strong> {user.email}</p>}
                     {user.username && <p><strong>Username:</strong> {user.username}</p>}
                     {user.name && <p><strong>Name:</strong> {user.name}</p>}
+                    {user.provider && <p><strong>Signed in with:</strong> {user.provider}</p>}
+                    {user.lastLogin && <p><strong>Last login:</strong> {new Date(user.lastLogin).toLocaleString()}</p>}
+                    {token?.expiresAt && <p><strong>Session expires:</strong> {new Date(token.expiresAt).toLocaleTimeString()}</p>}
                 </div>
             </div>
 
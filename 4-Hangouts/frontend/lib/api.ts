@@ -1,12 +1,26 @@
 const API_BASE_URL = 'http://localhost:8080';
 
+const REFRESH_ENDPOINT = '/api/auth/refresh';
+
 /**
- * Fetch wrapper that always includes credentials (HttpOnly cookies)
+ * Fetch wrapper that always includes credentials (HttpOnly cookies).
+ * When the access token has expired the backend answers 403; the wrapper
+ * then renews it once through the refresh endpoint and retries.
  */
 export async function apiFetch(endpoint: string, options: RequestInit = {}) {
+    const response = await rawFetch(endpoint, options);
+
+    if (response.status === 403 && endpoint !== REFRESH_ENDPOINT && await refreshAccessToken()) {
+        return rawFetch(endpoint, options);
+    }
+
+    return response;
+}
+
+async function rawFetch(endpoint: string, options: RequestInit = {}) {
     const url = `${API_BASE_URL}${endpoint}`;
 
-    const response = await fetch(url, {
+    return fetch(url, {
         ...options,
         credentials: 'include', // Always send HttpOnly cookies
         headers: {
@@ -14,8 +28,40 @@ export async function apiFetch(endpoint: string, options: RequestInit = {}) {
             ...options.headers,
         },
     });
+}
 
-    return response;
+let pendingRefresh: Promise<boolean> | null = null;
+
+/**
+ * Exchanges the refresh cookie for a new access token.
+ * Concurrent callers share one request, since each refresh token can only be used once.
+ */
+export function refreshAccessToken(): Promise<boolean> {
+    if (!pendingRefresh) {
+        pendingRefresh = rawFetch(REFRESH_ENDPOINT, { method: 'POST' })
+            .then((response) => response.ok)
+            .catch(() => false)
+            .finally(() => {
+                pendingRefresh = null;
+            });
+    }
+    return pendingRefresh;
+}
+
+/**
+ * Fetch everything the dashboard needs on load from /api/bootstrap:
+ * the public message, the current user and the access token's lifetime,
+ * in one round trip. The response carries an ETag, so a reload with the
+ * same access token is revalidated by the browser cache (304, no body).
+ */
+export async function getBootstrap() {
+    const response = await apiFetch('/api/bootstrap', { cache: 'no-cache' });
+
+    if (!response.ok) {
+        throw new Error('Not authenticated');
+    }
+
+    return response.json();
 }
 
 /**
@@ -32,9 +78,12 @@ export async function getCurrentUser() {
 }
 
 /**
- * Logout - calls POST /logout
+ * Logout - revokes the refresh token, then calls POST /logout
  */
 export async function logout() {
+    // Best effort: the refresh cookie is cleared by /logout either way
+    await rawFetch(REFRESH_ENDPOINT, { method: 'DELETE' }).catch(() => undefined);
+
     const response = await apiFetch('/logout', {
         method: 'POST',
     });
@@ -0,0 +1,59 @@
+package com.example.social_login_reactive.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import com.example.social_login.config.AppProperties;
+import com.example.social_login.config.CorsProperties;
+import com.example.social_login.security.cors.OriginPolicy;
+import com.example.social_login.security.cors.OriginRegistry;
+import com.example.social_login_reactive.security.cors.OriginRegistryCorsConfigurationSource;
+
+/**
+ * CORS rules, the same as the servlet edition's: which origins may call the
+ * API (the {@link OriginRegistry}) and what every origin gets regardless.
+ * Preflights are answered by Spring Security's CORS filter; there is no
+ * precomputed preflight cache as in the servlet edition.
+ */
+@Configuration
+public class CorsConfig {
+
+    /**
+     * Policy for the frontend URL and for origins file columns left out.
+     */
+    private static final OriginPolicy DEFAULT_POLICY = new OriginPolicy(
+            List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"), // Allow common HTTP methods
+            List.of("*"), // Allow all request headers
+            true); // Allow cookies/auth headers in cross-origin requests
+
+    @Bean
+    OriginRegistry originRegistry(AppProperties appProperties, CorsProperties corsProperties) {
+        // The frontend is always allowed, with or without an origins file
+        return new OriginRegistry(corsProperties.origins(), DEFAULT_POLICY, List.of(appProperties.frontendUrl()));
+    }
+
+    @Bean
+    OriginRegistryCorsConfigurationSource corsConfigurationSource(
+            OriginRegistry originRegistry,
+            CorsProperties corsProperties) {
+        CorsConfiguration configuration = new CorsConfiguration(); // Rules shared by every allowed origin
+
+        configuration.setExposedHeaders(
+                List.of("Set-Cookie")); // Allow frontend to see Set-Cookie response header
+
+        configuration.setMaxAge(
+                corsProperties.maxAge()); // Let browsers reuse a preflight result instead of repeating it
+
+        UrlBasedCorsConfigurationSource paths = new UrlBasedCorsConfigurationSource(); // Map CORS rules to URL paths
+
+        paths.registerCorsConfiguration(
+                "/**", configuration); // Apply CORS rules to all endpoints
+
+        // Origins, methods, headers and credentials come from the registry, per origin
+        return new OriginRegistryCorsConfigurationSource(paths, originRegistry);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.social_login_reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+
+import com.example.social_login.accesslog.AccessLog;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.path.PublicPaths;
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
+import com.example.social_login_reactive.security.jwt.JwtAuthenticationWebFilter;
+import com.example.social_login_reactive.security.oauth.CookieServerAuthorizationRequestRepository;
+import com.example.social_login_reactive.security.oauth.OAuth2LoginSuccessHandler;
+import com.example.social_login_reactive.security.ratelimit.RateLimitWebFilter;
+
+/**
+ * Main security configuration for the reactive edition.
+ * Configures stateless JWT authentication with OAuth2 social login, with the
+ * same rules as the servlet edition's SecurityConfig.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler,
+            CookieServerAuthorizationRequestRepository authorizationRequestRepository,
+            CorsConfigurationSource corsConfigurationSource,
+            PublicPaths publicPaths,
+            JwtService jwtService,
+            JwtProperties jwtProperties,
+            JwtMetrics jwtMetrics,
+            AccessLog accessLog,
+            RateLimitPolicy rateLimitPolicy) {
+        http
+                // CSRF: Disable for stateless JWT with HttpOnly cookies and SameSite=Lax
+                .csrf(csrf -> csrf.disable())
+
+                // Disable default logout to allow custom controller to handle /logout
+                .logout(logout -> logout.disable())
+                .httpBasic(basic -> basic.disable())
+                .formLogin(form -> form.disable())
+
+                // CORS: Allow the registered origins (see CorsConfig)
+                .cors(cors -> cors.configurationSource(corsConfigurationSource))
+
+                // Stateless: the security context is never stored in a WebSession,
+                // and no request is saved to replay after login
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .requestCache(cache -> cache.requestCache(NoOpServerRequestCache.getInstance()))
+
+                // Authorization rules
+                .authorizeExchange(exchanges -> exchanges
+                        // Public endpoints - no authentication required
+                        // (the JWT filter skips the same list)
+                        .pathMatchers(publicPaths.patterns()).permitAll()
+                        // All other requests require authentication
+                        .anyExchange().authenticated())
+
+                // Return 403 for unauthenticated requests (API behavior)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+
+                // OAuth2 login configuration with custom success handler.
+                // The in-flight authorization request lives in a sealed cookie,
+                // so login never creates a WebSession and the callback may hit any node
+                .oauth2Login(oauth2 -> oauth2
+                        .authorizationRequestRepository(authorizationRequestRepository)
+                        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                        .authenticationSuccessHandler(oAuth2LoginSuccessHandler)
+                        .authenticationFailureHandler(
+                                new RedirectServerAuthenticationFailureHandler("/login?error")))
+
+                // Authenticate from the JWT cookie before the authorization rules are checked
+                .addFilterAt(
+                        new JwtAuthenticationWebFilter(jwtService, jwtProperties, publicPaths, jwtMetrics, accessLog),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+
+                // Rate limits: by client IP ahead of the OAuth2 redirect filter (at
+                // HTTP_BASIC) and the callback, by user once the JWT is verified
+                .addFilterBefore(new RateLimitWebFilter(rateLimitPolicy, RateLimitPolicy.Scope.CLIENT),
+                        SecurityWebFiltersOrder.HTTP_BASIC)
+                .addFilterAfter(new RateLimitWebFilter(rateLimitPolicy, RateLimitPolicy.Scope.PRINCIPAL),
+                        SecurityWebFiltersOrder.AUTHENTICATION);
+
+        return http.build();
+    }
+}
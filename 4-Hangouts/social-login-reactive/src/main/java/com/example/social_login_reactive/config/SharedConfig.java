@@ -0,0 +1,50 @@
+package com.example.social_login_reactive.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import com.example.social_login.config.AccessLogConfig;
+import com.example.social_login.config.MetricsConfig;
+import com.example.social_login.config.RefreshTokenConfig;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.config.UserProfileConfig;
+import com.example.social_login.config.UserProfileProperties;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.oauth.CookieAuthorizationRequestRepository;
+import com.example.social_login.security.path.PublicPaths;
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
+import com.example.social_login.security.refresh.RefreshTokenService;
+import com.example.social_login.user.UserProfileService;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The services of the servlet edition, used unchanged: tokens, revocation,
+ * refresh tokens, user profiles, the access log, rate limits and their
+ * metrics. Neither
+ * edition scans the other's package, so they are imported one by one.
+ */
+@Configuration
+@Import({ JwtService.class, JwtMetrics.class, PublicPaths.class, RefreshTokenService.class,
+        UserProfileService.class, CookieAuthorizationRequestRepository.class, RefreshTokenConfig.class,
+        UserProfileConfig.class, AccessLogConfig.class, MetricsConfig.class, RateLimitPolicy.class })
+public class SharedConfig {
+
+    /**
+     * Where calls into the refresh token and user profile stores run. The
+     * file stores may block on disk, which must not happen on an event loop
+     * thread; the memory stores never block, so they are called in place.
+     */
+    @Bean
+    Scheduler storeScheduler(RefreshTokenProperties refreshTokenProperties,
+            UserProfileProperties userProfileProperties) {
+        if (refreshTokenProperties.store() == RefreshTokenProperties.Store.MEMORY
+                && userProfileProperties.store() == UserProfileProperties.Store.MEMORY) {
+            return Schedulers.immediate();
+        }
+        return Schedulers.boundedElastic();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.social_login_reactive.controller;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.security.jwt.CookieUtils;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.refresh.RefreshTokenService;
+import com.example.social_login.security.refresh.RotatedRefreshToken;
+import com.example.social_login_reactive.security.jwt.ServerCookies;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Controller for authentication-related endpoints. Refresh token calls may
+ * block on a file store, so they run on the store scheduler.
+ */
+@RestController
+public class AuthController {
+
+    private final JwtProperties jwtProperties;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final JwtMetrics metrics;
+    private final Scheduler storeScheduler;
+
+    public AuthController(
+            JwtProperties jwtProperties,
+            JwtService jwtService,
+            RefreshTokenService refreshTokenService,
+            RefreshTokenProperties refreshTokenProperties,
+            JwtMetrics metrics,
+            Scheduler storeScheduler) {
+        this.jwtProperties = jwtProperties;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.metrics = metrics;
+        this.storeScheduler = storeScheduler;
+    }
+
+    /**
+     * Logs out the user by revoking the JWT and clearing its cookie, so a
+     * copied token stops working too.
+     * No session invalidation needed (stateless architecture).
+     * The refresh cookie is not sent here; clients revoke it with
+     * {@code DELETE} on the refresh endpoint.
+     *
+     * @param request The HTTP request carrying the JWT cookie
+     * @return Success response with Set-Cookie headers to clear the JWT and refresh token
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Map<String, String>>> logout(ServerHttpRequest request) {
+        // The denylist and opaque token index are in memory, so this never blocks
+        Optional.ofNullable(ServerCookies.findValue(request, jwtProperties.cookieName()))
+                .ifPresent(jwtService::revoke);
+
+        // Build a cookie with maxAge=0 to clear it
+        var clearCookie = CookieUtils.buildJwtCookie("", jwtProperties, true);
+        var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
+
+        return Mono.just(ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, clearCookie.toString(), clearRefreshCookie.toString())
+                .body(Map.of(
+                        "message", "Logged out successfully",
+                        "status", "success")));
+    }
+
+    /**
+     * Exchanges the refresh token cookie for a new access token and a new
+     * refresh token. The access token is minted locally, with no call to
+     * the OAuth2 provider.
+     *
+     * @param request The HTTP request carrying the refresh cookie
+     * @return Success response with both cookies, or 401 with the refresh cookie cleared
+     */
+    @PostMapping("${application.security.refresh.path:/api/auth/refresh}")
+    public Mono<ResponseEntity<Map<String, String>>> refresh(ServerHttpRequest request) {
+        String value = refreshTokenProperties.enabled()
+                ? ServerCookies.findValue(request, refreshTokenProperties.cookieName())
+                : null;
+
+        return Mono.fromCallable(() -> Optional.ofNullable(value).flatMap(refreshTokenService::rotate))
+                .subscribeOn(storeScheduler)
+                .map(this::refreshed);
+    }
+
+    private ResponseEntity<Map<String, String>> refreshed(Optional<RotatedRefreshToken> rotated) {
+        if (rotated.isEmpty()) {
+            var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, clearRefreshCookie.toString())
+                    .body(Map.of(
+                            "message", "Invalid refresh token",
+                            "status", "error"));
+        }
+
+        var accessCookie = CookieUtils.buildJwtCookie(
+                jwtService.generateToken(rotated.get().subject()), jwtProperties, false);
+        metrics.tokenMinted(JwtMetrics.Source.REFRESH);
+        var refreshCookie = CookieUtils.buildRefreshCookie(rotated.get().value(), refreshTokenProperties, false);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, accessCookie.toString(), refreshCookie.toString())
+                .body(Map.of(
+                        "message", "Token refreshed",
+                        "status", "success"));
+    }
+
+    /**
+     * Revokes the refresh token family and clears the refresh cookie.
+     *
+     * @param request The HTTP request carrying the refresh cookie
+     * @return Success response with Set-Cookie header to clear the refresh token
+     */
+    @DeleteMapping("${application.security.refresh.path:/api/auth/refresh}")
+    public Mono<ResponseEntity<Map<String, String>>> revokeRefreshToken(ServerHttpRequest request) {
+        String value = ServerCookies.findValue(request, refreshTokenProperties.cookieName());
+        var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
+
+        return Mono.fromRunnable(() -> Optional.ofNullable(value).ifPresent(refreshTokenService::revoke))
+                .subscribeOn(storeScheduler)
+                .thenReturn(ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, clearRefreshCookie.toString())
+                        .body(Map.of(
+                                "message", "Refresh token revoked",
+                                "status", "success")));
+    }
+}
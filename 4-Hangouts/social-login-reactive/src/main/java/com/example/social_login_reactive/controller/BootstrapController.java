@@ -0,0 +1,79 @@
+package com.example.social_login_reactive.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.social_login.security.jwt.VerifiedToken;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Everything the dashboard needs on load in one response, instead of one
+ * cross-origin round trip (and preflight) per endpoint.
+ */
+@RestController
+@RequestMapping("/api")
+public class BootstrapController {
+
+    // Revalidate every time; only the browser may keep it
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final PublicController publicController;
+    private final UserController userController;
+
+    public BootstrapController(PublicController publicController, UserController userController) {
+        this.publicController = publicController;
+        this.userController = userController;
+    }
+
+    /**
+     * Returns the {@code /api/public} payload, the {@code /api/me} payload
+     * and the access token's lifetime, with the same ETag as the servlet
+     * edition, so a repeat load with the same token gets 304 without the
+     * profile being looked up.
+     *
+     * @param authentication The authentication set by JwtAuthenticationWebFilter
+     * @param exchange       The exchange, for the conditional check
+     * @return Map with {@code public}, {@code user} and {@code token}, or 304
+     */
+    @GetMapping("/bootstrap")
+    public Mono<ResponseEntity<Map<String, Object>>> bootstrap(Authentication authentication,
+            ServerWebExchange exchange) {
+        VerifiedToken token = (VerifiedToken) authentication.getDetails();
+        String etag = etag(token);
+        if (exchange.checkNotModified(etag)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).eTag(etag)
+                    .<Map<String, Object>>build());
+        }
+
+        Map<String, Object> lifetime = new LinkedHashMap<>();
+        lifetime.put("issuedAt", token.issuedAt().toString());
+        lifetime.put("expiresAt", token.expiresAt().toString());
+
+        return Mono.zip(publicController.publicEndpoint(), userController.getCurrentUser(authentication))
+                .map(parts -> {
+                    Map<String, Object> body = new LinkedHashMap<>();
+                    body.put("public", parts.getT1());
+                    body.put("user", parts.getT2());
+                    body.put("token", lifetime);
+                    return ResponseEntity.ok().cacheControl(CACHE_CONTROL).eTag(etag).body(body);
+                });
+    }
+
+    private static String etag(VerifiedToken token) {
+        // Hashed so the email doesn't travel in a header; jti separates two logins in the same second
+        String source = token.subject() + '\n' + token.issuedAt().getEpochSecond() + '\n' + token.tokenId();
+        return '"' + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.social_login_reactive.controller;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Controller for public endpoints that don't require authentication.
+ */
+@RestController
+@RequestMapping("/api")
+public class PublicController {
+
+    @GetMapping("/public")
+    public Mono<Map<String, String>> publicEndpoint() {
+        return Mono.just(Map.of("message", "This is a public endpoint"));
+    }
+}
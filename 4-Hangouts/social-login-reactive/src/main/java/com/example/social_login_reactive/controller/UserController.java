@@ -0,0 +1,69 @@
+package com.example.social_login_reactive.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.social_login.user.UserProfile;
+import com.example.social_login.user.UserProfileService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Controller for authenticated user endpoints.
+ */
+@RestController
+@RequestMapping("/api")
+public class UserController {
+
+    private final UserProfileService userProfileService;
+    private final Scheduler storeScheduler;
+
+    public UserController(UserProfileService userProfileService, Scheduler storeScheduler) {
+        this.userProfileService = userProfileService;
+        this.storeScheduler = storeScheduler;
+    }
+
+    /**
+     * Returns the current authenticated user's information.
+     * The email is extracted from the JWT by the JwtAuthenticationWebFilter
+     * and set as the principal in the security context; the rest comes from
+     * the profile saved at login, without calling the provider. A profile
+     * not in the cache is loaded from the store on the store scheduler.
+     *
+     * @param authentication The authentication object from security context
+     * @return Map containing the user's email and, when known, provider,
+     *         name, username, avatarUrl and lastLogin
+     */
+    @GetMapping("/me")
+    public Mono<Map<String, Object>> getCurrentUser(Authentication authentication) {
+        // The principal is set to the email string by JwtAuthenticationWebFilter
+        String email = (String) authentication.getPrincipal();
+        return Mono.fromCallable(() -> {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("email", email);
+            // No profile if the user logged in before the store existed (memory store after a restart)
+            userProfileService.find(email).ifPresent(profile -> putProfile(user, profile));
+            return user;
+        }).subscribeOn(storeScheduler);
+    }
+
+    private static void putProfile(Map<String, Object> user, UserProfile profile) {
+        putIfPresent(user, "provider", profile.provider());
+        putIfPresent(user, "name", profile.name());
+        putIfPresent(user, "username", profile.username());
+        putIfPresent(user, "avatarUrl", profile.avatarUrl());
+        user.put("lastLogin", profile.lastLogin().toString());
+    }
+
+    private static void putIfPresent(Map<String, Object> user, String key, String value) {
+        if (value != null) {
+            user.put(key, value);
+        }
+    }
+}
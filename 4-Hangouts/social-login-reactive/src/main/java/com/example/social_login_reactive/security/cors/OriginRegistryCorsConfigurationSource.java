@@ -0,0 +1,48 @@
+package com.example.social_login_reactive.security.cors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.social_login.security.cors.OriginPolicyConfigurations;
+import com.example.social_login.security.cors.OriginRegistry;
+
+/**
+ * Reactive counterpart of the servlet edition's source of the same name:
+ * applies the {@link OriginRegistry} on top of a path-based reactive
+ * {@link CorsConfigurationSource}, through the shared
+ * {@link OriginPolicyConfigurations}, so both editions answer every origin
+ * the same way.
+ */
+public class OriginRegistryCorsConfigurationSource implements CorsConfigurationSource {
+
+    private final CorsConfigurationSource paths;
+    private final OriginRegistry registry;
+    private final OriginPolicyConfigurations configurations;
+
+    /**
+     * @param paths    Per-path settings shared by every origin
+     * @param registry The allowed origins
+     */
+    public OriginRegistryCorsConfigurationSource(CorsConfigurationSource paths, OriginRegistry registry) {
+        this.paths = paths;
+        this.registry = registry;
+        this.configurations = new OriginPolicyConfigurations(registry);
+    }
+
+    @Override
+    public CorsConfiguration getCorsConfiguration(ServerWebExchange exchange) {
+        return configurations.apply(paths.getCorsConfiguration(exchange),
+                exchange.getRequest().getHeaders().getOrigin());
+    }
+
+    /**
+     * Picks up changes to the origins file.
+     * Runs on the interval configured by {@code application.cors.origins-reload-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.cors.origins-reload-interval:10s}")
+    public void reloadOrigins() {
+        registry.reloadIfChanged();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.social_login_reactive.security.jwt;
+
+import java.util.List;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.example.social_login.accesslog.AccessEvent;
+import com.example.social_login.accesslog.AccessLog;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.jwt.VerifiedToken;
+import com.example.social_login.security.path.PublicPaths;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet edition's JwtAuthenticationFilter:
+ * authenticates requests from the JWT in the HttpOnly cookie and puts the
+ * result in the {@link ReactiveSecurityContextHolder} for the rest of the
+ * chain.
+ *
+ * The same rules apply: only the cookie is read, never the Authorization
+ * header; public endpoints are skipped entirely; every token checked leaves
+ * an {@code auth} event in the {@link AccessLog}. Verification is CPU work
+ * on in-memory keys and caches, so it runs on the event loop.
+ *
+ * Not a bean: WebFlux would otherwise run it for every request, outside the
+ * security chain. SecurityConfig adds it to the chain instead.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+    private final PublicPaths publicPaths;
+    private final JwtMetrics metrics;
+    private final AccessLog accessLog;
+
+    public JwtAuthenticationWebFilter(
+            JwtService jwtService,
+            JwtProperties jwtProperties,
+            PublicPaths publicPaths,
+            JwtMetrics metrics,
+            AccessLog accessLog) {
+        this.jwtService = jwtService;
+        this.jwtProperties = jwtProperties;
+        this.publicPaths = publicPaths;
+        this.metrics = metrics;
+        this.accessLog = accessLog;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        if (publicPaths.matches(path)) {
+            return chain.filter(exchange);
+        }
+
+        // Extract JWT from cookie only (no Authorization header); the other cookies are never parsed
+        String token = ServerCookies.findValue(exchange.getRequest(), jwtProperties.cookieName());
+        if (token == null) {
+            // No token present - continue without authentication (let security config handle access)
+            return chain.filter(exchange);
+        }
+
+        // Single parse: signature, expiration and subject in one pass
+        long start = System.nanoTime();
+        VerifiedToken verified = jwtService.verify(token);
+        metrics.recordVerification(verified, start);
+        accessLog.publish(AccessEvent.now("auth", exchange.getRequest().getPath().value(), verified.subject(),
+                verified.status().name()));
+
+        if (!verified.isValid()) {
+            // Invalid or expired token, no authentication is set
+            return chain.filter(exchange);
+        }
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                verified.subject(),
+                null,
+                List.of() // No authorities needed for basic auth
+        );
+        // Claims for endpoints that report on the token itself, e.g. /api/bootstrap
+        auth.setDetails(verified);
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth));
+    }
+}
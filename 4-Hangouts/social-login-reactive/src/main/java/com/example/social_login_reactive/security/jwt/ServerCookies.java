@@ -0,0 +1,43 @@
+package com.example.social_login_reactive.security.jwt;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import com.example.social_login.security.jwt.CookieHeaderScanner;
+
+/**
+ * Reads one cookie from a reactive request with the servlet edition's
+ * {@link CookieHeaderScanner}, so both editions accept exactly the same
+ * cookies and neither parses the ones it doesn't need.
+ *
+ * {@link ServerHttpRequest#getCookies()} would split every cookie in the
+ * header into its own object on each call.
+ */
+public final class ServerCookies {
+
+    private ServerCookies() {
+        // Utility class, prevent instantiation
+    }
+
+    /**
+     * @param request    The reactive request
+     * @param cookieName The name of the cookie to extract
+     * @return The cookie's value, or null if there is no such cookie with a
+     *         non-blank value
+     */
+    public static String findValue(ServerHttpRequest request, String cookieName) {
+        List<String> headers = request.getHeaders().get(HttpHeaders.COOKIE);
+        if (headers == null) {
+            return null;
+        }
+        for (String header : headers) {
+            String value = CookieHeaderScanner.findValue(header, cookieName);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
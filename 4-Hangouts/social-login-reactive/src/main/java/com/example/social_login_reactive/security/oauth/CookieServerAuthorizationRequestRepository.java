@@ -0,0 +1,63 @@
+package com.example.social_login_reactive.security.oauth;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.security.oauth2.client.web.server.ServerAuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.social_login.config.AuthorizationRequestProperties;
+import com.example.social_login.security.oauth.CookieAuthorizationRequestRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the OAuth2 authorization request in the same sealed cookie as the
+ * servlet edition, so login never creates a {@code WebSession} and the
+ * provider callback can land on any node that shares the key, whichever
+ * edition it runs. Sealing and opening are delegated to
+ * {@link CookieAuthorizationRequestRepository}.
+ */
+@Component
+public class CookieServerAuthorizationRequestRepository
+        implements ServerAuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private final CookieAuthorizationRequestRepository cookies;
+    private final AuthorizationRequestProperties properties;
+
+    public CookieServerAuthorizationRequestRepository(
+            CookieAuthorizationRequestRepository cookies,
+            AuthorizationRequestProperties properties) {
+        this.cookies = cookies;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<OAuth2AuthorizationRequest> loadAuthorizationRequest(ServerWebExchange exchange) {
+        String state = exchange.getRequest().getQueryParams().getFirst(OAuth2ParameterNames.STATE);
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(properties.cookieName());
+        if (state == null || cookie == null) {
+            return Mono.empty();
+        }
+        OAuth2AuthorizationRequest authorizationRequest = cookies.open(cookie.getValue());
+        return authorizationRequest != null && state.equals(authorizationRequest.getState())
+                ? Mono.just(authorizationRequest)
+                : Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> saveAuthorizationRequest(
+            OAuth2AuthorizationRequest authorizationRequest,
+            ServerWebExchange exchange) {
+        return Mono.fromRunnable(() -> exchange.getResponse().addCookie(authorizationRequest == null
+                ? cookies.cookie("", true)
+                : cookies.cookie(cookies.seal(authorizationRequest), false)));
+    }
+
+    @Override
+    public Mono<OAuth2AuthorizationRequest> removeAuthorizationRequest(ServerWebExchange exchange) {
+        return loadAuthorizationRequest(exchange)
+                .doOnNext(authorizationRequest -> exchange.getResponse().addCookie(cookies.cookie("", true)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.social_login_reactive.security.oauth;
+
+import java.net.URI;
+
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.web.server.DefaultServerRedirectStrategy;
+import org.springframework.security.web.server.ServerRedirectStrategy;
+import org.springframework.security.web.server.WebFilterExchange;
+import org.springframework.security.web.server.authentication.ServerAuthenticationSuccessHandler;
+import org.springframework.stereotype.Component;
+
+import com.example.social_login.config.AppProperties;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.security.jwt.CookieUtils;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.refresh.RefreshTokenService;
+import com.example.social_login.user.UserProfileService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Handles successful OAuth2 authentication by issuing a JWT token, as the
+ * servlet edition's handler does: the JWT goes in an HttpOnly cookie, a
+ * refresh token in a second cookie when enabled, the provider's profile is
+ * saved for {@code /api/me}, and the user is redirected to the frontend.
+ *
+ * Saving the profile and issuing the refresh token may block on a file
+ * store, so they run on the store scheduler.
+ */
+@Component
+public class OAuth2LoginSuccessHandler implements ServerAuthenticationSuccessHandler {
+
+    private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+    private final AppProperties appProperties;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final JwtMetrics metrics;
+    private final UserProfileService userProfileService;
+    private final Scheduler storeScheduler;
+    private final ServerRedirectStrategy redirectStrategy = new DefaultServerRedirectStrategy();
+
+    public OAuth2LoginSuccessHandler(
+            JwtService jwtService,
+            JwtProperties jwtProperties,
+            AppProperties appProperties,
+            RefreshTokenService refreshTokenService,
+            RefreshTokenProperties refreshTokenProperties,
+            JwtMetrics metrics,
+            UserProfileService userProfileService,
+            Scheduler storeScheduler) {
+        this.jwtService = jwtService;
+        this.jwtProperties = jwtProperties;
+        this.appProperties = appProperties;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.metrics = metrics;
+        this.userProfileService = userProfileService;
+        this.storeScheduler = storeScheduler;
+    }
+
+    @Override
+    public Mono<Void> onAuthenticationSuccess(WebFilterExchange webFilterExchange, Authentication authentication) {
+        OAuth2User oauthUser = (OAuth2User) authentication.getPrincipal();
+        String email = oauthUser.getAttribute("email");
+        ServerHttpResponse response = webFilterExchange.getExchange().getResponse();
+
+        return Mono.fromRunnable(() -> {
+            // Keep the provider's profile so /api/me never has to ask for it again
+            userProfileService.recordLogin(authentication);
+
+            // Generate the access token (a JWT, or an opaque token in OPAQUE mode)
+            String jwt = jwtService.generateToken(email);
+            metrics.tokenMinted(JwtMetrics.Source.OAUTH2_LOGIN);
+            response.addCookie(CookieUtils.buildJwtCookie(jwt, jwtProperties, false));
+
+            // Start a refresh token family so the access token can be renewed without a provider round-trip
+            if (refreshTokenProperties.enabled()) {
+                var refreshToken = refreshTokenService.issue(email);
+                response.addCookie(CookieUtils.buildRefreshCookie(refreshToken.value(), refreshTokenProperties, false));
+            }
+        })
+                .subscribeOn(storeScheduler)
+                // Redirect to frontend (no token in URL)
+                .then(redirectStrategy.sendRedirect(webFilterExchange.getExchange(),
+                        URI.create(appProperties.frontendUrl())));
+    }
+}
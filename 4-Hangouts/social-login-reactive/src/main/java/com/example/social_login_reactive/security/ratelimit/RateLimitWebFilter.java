@@ -0,0 +1,76 @@
+package com.example.social_login_reactive.security.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the servlet edition's RateLimitFilter: rejects
+ * requests over their {@link RateLimitPolicy} limit with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ *
+ * The client scope keys on the remote address and runs ahead of the OAuth2
+ * filters; the principal scope keys on the user the JWT filter authenticated
+ * and runs after it. Not a bean, for the same reason as
+ * JwtAuthenticationWebFilter.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private static final byte[] BODY = "{\"message\":\"Too many requests\",\"status\":\"error\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimitPolicy policy;
+    private final RateLimitPolicy.Scope scope;
+
+    public RateLimitWebFilter(RateLimitPolicy policy, RateLimitPolicy.Scope scope) {
+        this.policy = policy;
+        this.scope = scope;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!policy.limits(scope)) {
+            return chain.filter(exchange);
+        }
+        if (scope == RateLimitPolicy.Scope.CLIENT) {
+            InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+            String client = address == null ? "unknown" : address.getHostString();
+            return check(exchange, chain, client);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .mapNotNull(context -> context.getAuthentication() != null
+                        && context.getAuthentication().getPrincipal() instanceof String subject ? subject : null)
+                // Anonymous: already counted by client
+                .flatMap(subject -> check(exchange, chain, subject))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private Mono<Void> check(ServerWebExchange exchange, WebFilterChain chain, String key) {
+        String path = exchange.getRequest().getPath().pathWithinApplication().value();
+        long wait = policy.check(scope, path, key, System.nanoTime());
+        if (wait <= 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999))));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(BODY);
+        return response.writeWith(Mono.just(body));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.social_login.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.social_login.SocialLoginApplication;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login_reactive.NettyServerConfig;
+import com.example.social_login_reactive.ReactiveSocialLoginApplication;
+
+/**
+ * Runs the same load against the servlet edition, on platform and on
+ * virtual threads, and against the reactive edition: slow logins in flight
+ * while a few clients call {@code /api/me}, as in ThreadModeLoadTest.
+ *
+ * Each edition gets its own stub provider and runs alone in this JVM. The
+ * peak thread count covers the whole JVM, so it includes the load
+ * generators, which are the same in every run.
+ *
+ * Tagged {@code load}, so it only runs with {@code -Pload}. Scale it up with:
+ * <pre>
+ * mvn test -Pload -Dtest=ServletVsReactiveLoadTest -Dloadtest.logins=2000 -Dloadtest.login-concurrency=200 \
+ *     -Dloadtest.provider-latency-ms=300 -Dloadtest.tomcat-threads=200
+ * </pre>
+ */
+@Tag("load")
+class ServletVsReactiveLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ServletVsReactiveLoadTest.class);
+
+    private static final int LOGINS = Integer.getInteger("loadtest.logins", 96);
+    private static final int LOGIN_CONCURRENCY = Integer.getInteger("loadtest.login-concurrency", 32);
+    private static final int ME_CONCURRENCY = Integer.getInteger("loadtest.me-concurrency", 4);
+    private static final int TOMCAT_THREADS = Integer.getInteger("loadtest.tomcat-threads", 8);
+    private static final Duration PROVIDER_LATENCY =
+            Duration.ofMillis(Long.getLong("loadtest.provider-latency-ms", 150));
+
+    private enum Edition {
+        SERVLET_PLATFORM,
+        SERVLET_VIRTUAL,
+        REACTIVE
+    }
+
+    @Test
+    void reactiveEditionMatchesTheServletEdition() throws Exception {
+        Map<Edition, Result> results = new HashMap<>();
+        for (Edition edition : Edition.values()) {
+            results.put(edition, run(edition));
+        }
+
+        StringBuilder table = new StringBuilder(String.format(
+                "%d logins at concurrency %d, provider latency %d ms, Tomcat pool %d%n",
+                LOGINS, LOGIN_CONCURRENCY, PROVIDER_LATENCY.toMillis(), TOMCAT_THREADS));
+        table.append(String.format("%-18s %10s %14s %12s %12s %12s %10s %13s%n", "edition", "logins/s",
+                "callback p99 ms", "/api/me rps", "me p50 ms", "me p99 ms", "me errors", "peak threads"));
+        for (Edition edition : Edition.values()) {
+            Result result = results.get(edition);
+            table.append(String.format("%-18s %10.1f %14.2f %12.0f %12.2f %12.2f %10d %13d%n", edition,
+                    result.logins().loginsPerSecond(),
+                    millis(result.logins().steps().get(LoginLoadHarness.Step.CALLBACK).p99()),
+                    result.meThroughput(), millis(result.me().p50()), millis(result.me().p99()),
+                    result.me().errors(), result.peakThreads()));
+        }
+        log.info("Servlet vs reactive load test:\n{}", table);
+
+        // The reactive edition must serve the same flow as completely as the servlet one
+        Result reactive = results.get(Edition.REACTIVE);
+        assertThat(reactive.logins().errors()).as("login errors").isZero();
+        assertThat(reactive.logins().completed()).isEqualTo(LOGINS);
+        assertThat(reactive.me().errors()).as("/api/me errors").isZero();
+        assertThat(results.get(Edition.SERVLET_VIRTUAL).logins().errors()).as("servlet login errors").isZero();
+    }
+
+    private static Result run(Edition edition) throws Exception {
+        try (StubOAuth2Provider provider = new StubOAuth2Provider(PROVIDER_LATENCY)) {
+            Map<String, Object> properties = new HashMap<>(provider.googleRegistration());
+            properties.put("server.port", 0);
+            properties.put("application.security.jwt.secret", "0123456789abcdef0123456789abcdef0123456789abcdef");
+            properties.put("logging.level.root", "WARN");
+            properties.put("logging.level.com.example.social_login.loadtest", "INFO");
+
+            SpringApplicationBuilder builder;
+            if (edition == Edition.REACTIVE) {
+                builder = new SpringApplicationBuilder(ReactiveSocialLoginApplication.class, NettyServerConfig.class)
+                        .web(WebApplicationType.REACTIVE);
+            } else {
+                properties.put("server.tomcat.threads.max", TOMCAT_THREADS);
+                properties.put("spring.threads.virtual.enabled", edition == Edition.SERVLET_VIRTUAL);
+                builder = new SpringApplicationBuilder(SocialLoginApplication.class)
+                        .web(WebApplicationType.SERVLET);
+            }
+
+            try (ConfigurableApplicationContext context = builder.properties(properties).run()) {
+                URI app = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                String token = context.getBean(JwtService.class).generateToken("probe@example.com");
+
+                try (LoginLoadHarness harness = new LoginLoadHarness(app, LOGIN_CONCURRENCY)) {
+                    harness.run(LOGIN_CONCURRENCY, 0); // Warm up the login path and JWKS cache
+                    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                    threads.resetPeakThreadCount();
+
+                    AtomicBoolean loginsDone = new AtomicBoolean();
+                    CompletableFuture<LoginLoadHarness.Report> logins = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return harness.run(0, LOGINS);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            loginsDone.set(true);
+                        }
+                    });
+                    long start = System.nanoTime();
+                    LoginLoadHarness.StepReport me = LoginLoadHarness.hammerMe(app, token, "probe@example.com",
+                            ME_CONCURRENCY, loginsDone);
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                    return new Result(logins.get(), me, me.attempts() / (elapsed.toNanos() / 1e9),
+                            threads.getPeakThreadCount());
+                }
+            }
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+
+    private record Result(LoginLoadHarness.Report logins, LoginLoadHarness.StepReport me, double meThroughput,
+            int peakThreads) {
+    }
+}
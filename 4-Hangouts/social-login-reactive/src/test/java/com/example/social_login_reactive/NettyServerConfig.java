@@ -0,0 +1,20 @@
+package com.example.social_login_reactive;
+
+import org.springframework.boot.reactor.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Runs the reactive edition on Reactor Netty, as it does in production.
+ * The test classpath also holds Tomcat, for the servlet edition in
+ * ServletVsReactiveLoadTest, which the reactive server auto-configuration
+ * would otherwise be free to pick.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class NettyServerConfig {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.social_login_reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.example.social_login.security.jwt.JwtService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		// Tomcat and Spring MVC are on the test classpath for the servlet edition
+		"spring.main.web-application-type=reactive",
+		"application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+		"application.frontend-url=http://localhost:3000",
+		"spring.security.oauth2.client.registration.google.client-id=test-client",
+		"spring.security.oauth2.client.registration.google.client-secret=test-secret",
+		"logging.level.org.springframework.security=WARN",
+})
+@Import(NettyServerConfig.class)
+class ReactiveSocialLoginApplicationTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void connect() {
+		client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+	}
+
+	@Test
+	void publicEndpointNeedsNoCookie() {
+		client.get().uri("/api/public").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.message").isEqualTo("This is a public endpoint");
+	}
+
+	@Test
+	void meNeedsAValidCookieAndLogoutRevokesIt() {
+		client.get().uri("/api/me").exchange().expectStatus().isForbidden();
+		client.get().uri("/api/me").cookie("ACCESS_TOKEN", "not-a-token").exchange().expectStatus().isForbidden();
+
+		String token = jwtService.generateToken("user@example.com");
+		client.get().uri("/api/me").cookie("ACCESS_TOKEN", token).exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.email").isEqualTo("user@example.com");
+		client.get().uri("/api/bootstrap").cookie("ACCESS_TOKEN", token).exchange()
+				.expectStatus().isOk()
+				.expectHeader().exists(HttpHeaders.ETAG)
+				.expectBody().jsonPath("$.user.email").isEqualTo("user@example.com");
+
+		client.post().uri("/logout").cookie("ACCESS_TOKEN", token).exchange()
+				.expectStatus().isOk()
+				.expectCookie().maxAge("ACCESS_TOKEN", Duration.ZERO);
+		client.get().uri("/api/me").cookie("ACCESS_TOKEN", token).exchange().expectStatus().isForbidden();
+	}
+
+	@Test
+	void loginStartsWithoutASession() {
+		var result = client.get().uri("/oauth2/authorization/google").exchange()
+				.expectStatus().isFound()
+				.expectCookie().exists("OAUTH2_AUTH_REQUEST")
+				.returnResult(Void.class);
+		assertThat(result.getResponseCookies()).doesNotContainKey("SESSION");
+		assertThat(result.getResponseHeaders().getLocation()).hasParameter("state");
+	}
+
+	@Test
+	void refreshWithoutACookieIsRejected() {
+		client.post().uri("/api/auth/refresh").exchange().expectStatus().isUnauthorized();
+	}
+
+	@Test
+	void corsFollowsTheOriginRegistry() {
+		client.options().uri("/api/me")
+				.header(HttpHeaders.ORIGIN, "http://localhost:3000")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:3000")
+				.expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+
+		client.options().uri("/api/me")
+				.header(HttpHeaders.ORIGIN, "https://evil.example.com")
+				.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+				.exchange()
+				.expectStatus().isForbidden();
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.example.social_login.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.core.StandardContext;
+import org.apache.tomcat.util.buf.MessageBytes;
+import org.apache.tomcat.util.http.Rfc6265CookieProcessor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseCookie;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.CookieHeaderScanner;
+import com.example.social_login.security.jwt.CookieUtils;
+import com.example.social_login.security.jwt.JwtService;
+
+/**
+ * Cookie extraction with realistic cookie jars, and JWT cookie construction.
+ *
+ * The {@code tomcat*} benchmarks read a real Tomcat request whose
+ * {@code Cookie} header arrives as bytes before every call, so they include
+ * the work Tomcat does per request: parsing every cookie for
+ * {@code getCookies()}, or decoding the header string for the scanner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CookieUtilsBenchmark {
+
+    @Param({ "1", "10", "40" })
+    int cookieCount;
+
+    private JwtProperties properties;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @State(Scope.Thread)
+    public static class TomcatRequest {
+        final StandardContext context = new StandardContext();
+        org.apache.coyote.Request coyote;
+        Request request;
+        MessageBytes header;
+        byte[] headerBytes;
+
+        @Setup
+        public void setUp(CookieUtilsBenchmark benchmark) {
+            context.setCookieProcessor(new Rfc6265CookieProcessor());
+            coyote = new org.apache.coyote.Request();
+            request = new Request(new Connector(), coyote);
+            headerBytes = Stream.of(Fixtures.cookieJar(benchmark.cookieCount, benchmark.token))
+                    .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                    .collect(Collectors.joining("; "))
+                    .getBytes(StandardCharsets.ISO_8859_1);
+            header = coyote.getMimeHeaders().addValue("Cookie");
+        }
+
+        /**
+         * A fresh request: nothing parsed yet, header back to raw bytes.
+         */
+        Request next() {
+            request.recycle();
+            coyote.getCookies().recycle();
+            request.getMappingData().context = context;
+            header.setBytes(headerBytes, 0, headerBytes.length);
+            return request;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        properties = Fixtures.jwtProperties(JwtProperties.Engine.JJWT, false);
+        token = new JwtService(properties).generateToken(Fixtures.EMAIL);
+        request = new MockHttpServletRequest("GET", "/api/me");
+        request.setCookies(Fixtures.cookieJar(cookieCount, token));
+    }
+
+    @Benchmark
+    public Optional<String> getCookieValue() {
+        return CookieUtils.getCookieValue(request, Fixtures.COOKIE_NAME);
+    }
+
+    @Benchmark
+    public String scanCookieHeader() {
+        return CookieHeaderScanner.findValue(request, Fixtures.COOKIE_NAME);
+    }
+
+    @Benchmark
+    public Optional<String> tomcatGetCookieValue(TomcatRequest tomcat) {
+        return CookieUtils.getCookieValue(tomcat.next(), Fixtures.COOKIE_NAME);
+    }
+
+    @Benchmark
+    public String tomcatScanCookieHeader(TomcatRequest tomcat) {
+        return CookieHeaderScanner.findValue(tomcat.next(), Fixtures.COOKIE_NAME);
+    }
+
+    @Benchmark
+    public ResponseCookie buildJwtCookie() {
+        return CookieUtils.buildJwtCookie(token, properties, false);
+    }
+
+    @Benchmark
+    public String buildJwtCookieHeader() {
+        // What the success handler actually writes: the serialized Set-Cookie value
+        return CookieUtils.buildJwtCookie(token, properties, false).toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.social_login.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.jwt.VerifiedToken;
+
+/**
+ * Token minting and verification through {@link JwtService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({ "JJWT", "FAST" })
+    JwtProperties.Engine engine;
+
+    @Param({ "false", "true" })
+    boolean cache;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(Fixtures.jwtProperties(engine, cache));
+        token = jwtService.generateToken(Fixtures.EMAIL);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(Fixtures.EMAIL);
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token);
+    }
+}
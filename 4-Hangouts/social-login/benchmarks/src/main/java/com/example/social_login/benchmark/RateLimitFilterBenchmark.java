@@ -0,0 +1,160 @@
+package com.example.social_login.benchmark;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.social_login.config.RateLimitProperties;
+import com.example.social_login.security.ratelimit.RateLimitFilter;
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * The per-request cost of the client {@link RateLimitFilter}, with the
+ * default table of 65,536 exact buckets and a 600 requests per minute rule
+ * on {@code /api/**}. With {@code keys=1} almost every request is rejected
+ * with a 429; with 10k keys every client has an exact bucket; with 1M keys
+ * most are in the long tail and counted by the sketch. {@code unmatchedPath}
+ * is a request no rule applies to. Teardown prints the share of decisions
+ * made by the sketch.
+ *
+ * The response discards its body: MockHttpServletResponse's buffer costs
+ * several microseconds per 429, far more than a container's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimitFilterBenchmark {
+
+    private static final ServletOutputStream DISCARD = new ServletOutputStream() {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    };
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "1", "10000", "1000000" })
+        int keys;
+
+        RateLimitPolicy policy;
+        RateLimitFilter filter;
+        String[] addresses;
+
+        @Setup
+        public void setUp() {
+            policy = new RateLimitPolicy(new RateLimitProperties(List.of(
+                    new RateLimitProperties.Rule("/oauth2/**", 20, 0, Duration.ofMinutes(1)),
+                    new RateLimitProperties.Rule("/api/**", 600, 300, Duration.ofMinutes(1))), 0, 0, 0));
+            filter = new RateLimitFilter(policy, RateLimitPolicy.Scope.CLIENT);
+            addresses = new String[keys];
+            for (int i = 0; i < keys; i++) {
+                addresses[i] = "10." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            policy.metrics().bindTo(registry);
+            double allowed = registry.get("rate.limit.requests").tags("scope", "client", "result", "allowed")
+                    .functionCounter().count();
+            double rejected = registry.get("rate.limit.requests").tags("scope", "client", "result", "rejected")
+                    .functionCounter().count();
+            double approximate = registry.get("rate.limit.approximate").functionCounter().count();
+            double total = allowed + rejected;
+            System.out.printf("%nkeys=%d: %.0f requests, %.1f%% rejected, %.1f%% decided by the sketch%n", keys,
+                    total, 100 * rejected / total, 100 * approximate / total);
+        }
+    }
+
+    /**
+     * Request objects are per thread: the filter marks them with an attribute
+     * while it runs.
+     */
+    @State(Scope.Thread)
+    public static class PerThread {
+
+        MockHttpServletRequest api;
+        MockHttpServletRequest unmatched;
+        MockHttpServletResponse response;
+        HttpServletResponse discarding;
+        int next;
+
+        @Setup
+        public void setUp() {
+            api = new MockHttpServletRequest("GET", "/api/me");
+            unmatched = new MockHttpServletRequest("GET", "/");
+            response = new MockHttpServletResponse();
+            discarding = new HttpServletResponseWrapper(response) {
+                @Override
+                public ServletOutputStream getOutputStream() {
+                    return DISCARD;
+                }
+            };
+        }
+    }
+
+    @Benchmark
+    public void apiRequest(Shared shared, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        thread.api.setRemoteAddr(shared.addresses[thread.next]);
+        thread.next = thread.next + 1 == shared.addresses.length ? 0 : thread.next + 1;
+        run(shared, thread.api, thread, blackhole);
+    }
+
+    @Benchmark
+    public void unmatchedPath(Shared shared, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        run(shared, thread.unmatched, thread, blackhole);
+    }
+
+    private static void run(Shared shared, MockHttpServletRequest request, PerThread thread, Blackhole blackhole)
+            throws ServletException, IOException {
+        FilterChain chain = (req, res) -> blackhole.consume(req);
+        shared.filter.doFilter(request, thread.discarding, chain);
+        blackhole.consume(thread.response.getStatus());
+        thread.response.reset();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.social_login.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.jwt.VerifiedToken;
+
+/**
+ * JWT against opaque access tokens with many users logged in at once,
+ * verifying a token picked from every active user's. Issuing is left to
+ * {@link JwtServiceBenchmark}: issued opaque tokens stay in the index, so
+ * a loop issuing them would mostly measure a growing heap.
+ *
+ * Setup also prints what the benchmark modes cannot report: the size of
+ * the {@code Cookie} entry each request carries, and the heap the server
+ * keeps per active user (the token cache in {@code JWT_CACHED}, the index
+ * in {@code OPAQUE}, nothing in {@code JWT}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenModeBenchmark {
+
+    public enum Variant {
+        JWT, JWT_CACHED, OPAQUE
+    }
+
+    @Param({ "JWT", "JWT_CACHED", "OPAQUE" })
+    Variant variant;
+
+    @Param({ "1000", "100000" })
+    int activeUsers;
+
+    private JwtService jwtService;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        jwtService = new JwtService(Fixtures.jwtProperties(JwtProperties.Engine.FAST, variant == Variant.JWT_CACHED,
+                variant == Variant.OPAQUE ? JwtProperties.Mode.OPAQUE : JwtProperties.Mode.JWT));
+        tokens = new String[activeUsers];
+        for (int i = 0; i < activeUsers; i++) {
+            tokens[i] = jwtService.generateToken("user-" + i + "@example.com");
+            jwtService.verify(tokens[i]); // Fills the cache in JWT_CACHED
+        }
+        long issued = usedHeap() - before;
+
+        // The tokens themselves are held by the clients; measure a copy to take them out again
+        String[] copies = new String[activeUsers];
+        long beforeCopies = usedHeap();
+        for (int i = 0; i < activeUsers; i++) {
+            copies[i] = new String(tokens[i].toCharArray());
+        }
+        long clientSide = usedHeap() - beforeCopies;
+
+        System.out.printf("%n%s: Cookie entry %d bytes, ~%d heap bytes per active user on the server%n",
+                variant, (Fixtures.COOKIE_NAME + "=" + tokens[0]).length(),
+                Math.max(0, issued - clientSide) / copies.length); // Keeps the copies reachable until measured
+    }
+
+    @Benchmark
+    public VerifiedToken verify(Cursor cursor) {
+        String token = tokens[cursor.next];
+        cursor.next = (cursor.next + 7919) % activeUsers; // Stride through users in a scattered order
+        return jwtService.verify(token);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
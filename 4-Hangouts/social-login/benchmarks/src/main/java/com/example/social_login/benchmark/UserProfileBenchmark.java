@@ -0,0 +1,100 @@
+package com.example.social_login.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.social_login.config.UserProfileProperties;
+import com.example.social_login.user.FileUserProfileStore;
+import com.example.social_login.user.InMemoryUserProfileStore;
+import com.example.social_login.user.UserProfile;
+import com.example.social_login.user.UserProfileService;
+import com.example.social_login.user.UserProfileStore;
+
+/**
+ * The profile lookup behind {@code /api/me}, cycling through 10,000 users.
+ * With {@code cacheSize=100000} every lookup is a cache hit; with 1000 most
+ * lookups miss and read the profile from the store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserProfileBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({ "MEMORY", "FILE" })
+    UserProfileProperties.Store store;
+
+    @Param({ "100000", "1000" })
+    long cacheSize;
+
+    private Path dir;
+    private UserProfileStore profileStore;
+    private UserProfileService service;
+    private String[] emails;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("profiles");
+        profileStore = switch (store) {
+            case MEMORY -> new InMemoryUserProfileStore();
+            case FILE -> new FileUserProfileStore(dir.resolve("profiles.log"), USERS);
+        };
+        emails = new String[USERS];
+        Instant now = Instant.now();
+        for (int i = 0; i < USERS; i++) {
+            emails[i] = "user-" + i + "@example.com";
+            profileStore.save(new UserProfile(emails[i], "github", "User " + i, "user" + i,
+                    "https://avatars.githubusercontent.com/u/" + i, now, now));
+        }
+        profileStore.flush();
+        service = new UserProfileService(profileStore,
+                new UserProfileProperties(store, null, cacheSize, USERS));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (profileStore instanceof FileUserProfileStore file) {
+            file.close();
+        }
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public Optional<UserProfile> find(Cursor cursor) {
+        String email = emails[cursor.next];
+        cursor.next = (cursor.next + 7919) % USERS; // Stride through users in a scattered order
+        return service.find(email);
+    }
+}
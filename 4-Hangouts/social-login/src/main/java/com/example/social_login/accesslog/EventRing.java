@@ -0,0 +1,97 @@
+package com.example.social_login.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer.
+ *
+ * Each slot carries a sequence number saying whose turn it is: a producer
+ * claims the next position with one compare-and-set on the tail, fills the
+ * slot and publishes it by advancing the slot's sequence; the consumer reads
+ * slots in order and hands each back by advancing the sequence one lap. A
+ * full ring fails the offer instead of waiting, so the caller decides what
+ * to do (Vyukov's bounded queue).
+ *
+ * @param <T> Element type
+ */
+class EventRing<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Read by producers only to size the ring; written by the consumer
+    private volatile long head;
+
+    /**
+     * @param capacity Most elements held; rounded up to a power of two
+     */
+    EventRing(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @return Whether the element was queued; false if the ring is full
+     */
+    boolean offer(T element) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long lag = sequences.get(slot) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false; // The consumer has not freed this slot yet
+            } else {
+                position = tail.get(); // Another producer took it
+            }
+        }
+    }
+
+    /**
+     * Takes the oldest element. Only one thread may call this.
+     *
+     * @return The element, or null if none is ready
+     */
+    T poll() {
+        long position = head;
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        T element = elements.get(slot);
+        elements.lazySet(slot, null);
+        sequences.set(slot, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    /**
+     * @return Number of elements queued, possibly including some still being
+     *         filled in
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * @return Most elements held
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.social_login.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.social_login.accesslog.AccessLog;
+import com.example.social_login.accesslog.AsyncAccessLog;
+
+/**
+ * Creates the access log configured in application.yaml, or a disabled one
+ * when no file is set.
+ */
+@Configuration
+public class AccessLogConfig {
+
+    @Bean
+    AccessLog accessLog(AccessLogProperties properties) {
+        if (properties.file() == null) {
+            return AccessLog.DISABLED;
+        }
+        return new AsyncAccessLog(
+                properties.file(),
+                properties.bufferSize(),
+                properties.whenFull(),
+                properties.flushInterval(),
+                properties.maxFileSize().toBytes(),
+                properties.maxFiles());
+    }
+}
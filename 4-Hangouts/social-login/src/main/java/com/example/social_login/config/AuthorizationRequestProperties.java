@@ -0,0 +1,33 @@
+package com.example.social_login.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the cookie that carries an in-flight OAuth2 authorization
+ * request between the redirect to the provider and its callback.
+ *
+ * @param cookieName Name of the HttpOnly cookie
+ * @param maxAge     How long a started login may take to complete
+ * @param secret     Key material for sealing the cookie; when unset it is
+ *                   derived from the JWT secret. Every node must share it.
+ */
+@ConfigurationProperties(prefix = "application.security.oauth2.authorization-request")
+public record AuthorizationRequestProperties(
+        String cookieName,
+        Duration maxAge,
+        String secret) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public AuthorizationRequestProperties {
+        if (cookieName == null || cookieName.isBlank()) {
+            cookieName = "OAUTH2_AUTH_REQUEST";
+        }
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            maxAge = Duration.ofMinutes(5);
+        }
+    }
+}
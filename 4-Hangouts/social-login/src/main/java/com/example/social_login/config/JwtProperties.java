@@ -1,20 +1,36 @@
 package com.example.social_login.config;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
  * JWT configuration properties externalized from application.yaml.
  * 
  * @param secret       The secret key used for signing JWTs (min 32 chars for
- *                     HS256)
+ *                     HS256). With a key ring it only verifies tokens
+ *                     minted before the ring was introduced (no kid).
  * @param expirationMs Token expiration time in milliseconds
  * @param cookieName   Name of the HttpOnly cookie storing the JWT
+ * @param cache        Settings for the in-process verified-token cache
+ * @param engine       Token verification engine to use
+ * @param keyRing      Optional file-backed signing key ring for rotation
+ * @param revocation   Settings for the revoked-token denylist
+ * @param mode         Kind of access token issued
+ * @param opaque       Settings for the opaque token index, used in OPAQUE mode
  */
 @ConfigurationProperties(prefix = "application.security.jwt")
 public record JwtProperties(
         String secret,
         long expirationMs,
-        String cookieName) {
+        String cookieName,
+        Cache cache,
+        Engine engine,
+        KeyRing keyRing,
+        Revocation revocation,
+        Mode mode,
+        Opaque opaque) {
 
     /**
      * Default values for optional properties.
@@ -26,5 +42,123 @@ public record JwtProperties(
         if (cookieName == null || cookieName.isBlank()) {
             cookieName = "ACCESS_TOKEN";
         }
+        if (cache == null) {
+            cache = new Cache(false, 0);
+        }
+        if (engine == null) {
+            engine = Engine.JJWT;
+        }
+        if (keyRing == null) {
+            keyRing = new KeyRing(null, null);
+        }
+        if (revocation == null) {
+            revocation = new Revocation(0, 0, null);
+        }
+        if (mode == null) {
+            mode = Mode.JWT;
+        }
+        if (opaque == null) {
+            opaque = new Opaque(0, null, null, null);
+        }
+    }
+
+    /**
+     * Access token kinds.
+     * {@code JWT} issues self-contained signed tokens any node can verify;
+     * {@code OPAQUE} issues short random tokens resolved against an in-memory
+     * index on the issuing node. JWTs issued before switching to
+     * {@code OPAQUE} keep verifying until they expire.
+     */
+    public enum Mode {
+        JWT,
+        OPAQUE
+    }
+
+    /**
+     * Token verification engines.
+     * {@code JJWT} is the reference implementation; {@code FAST} verifies the
+     * compact HMAC tokens we mint without building a Claims map and falls back
+     * to jjwt for anything else.
+     */
+    public enum Engine {
+        JJWT,
+        FAST
+    }
+
+    /**
+     * Verified-token cache settings.
+     *
+     * @param enabled     Whether verified tokens are cached in-process
+     * @param maximumSize Maximum number of cached tokens before eviction
+     */
+    public record Cache(boolean enabled, long maximumSize) {
+
+        public Cache {
+            if (maximumSize <= 0) {
+                maximumSize = 10000L;
+            }
+        }
+    }
+
+    /**
+     * Signing key ring settings.
+     *
+     * @param file           Properties file holding {@code active=<kid>} and
+     *                       {@code keys.<kid>=<secret>} entries; no ring when unset
+     * @param reloadInterval How often the file is checked for changes
+     */
+    public record KeyRing(Path file, Duration reloadInterval) {
+
+        public KeyRing {
+            if (reloadInterval == null || reloadInterval.isNegative() || reloadInterval.isZero()) {
+                reloadInterval = Duration.ofSeconds(30);
+            }
+        }
+    }
+
+    /**
+     * Revoked-token denylist settings.
+     *
+     * @param expectedInsertions Revoked tokens the Bloom filter is sized for at minimum
+     * @param falsePositiveRate  Target Bloom filter false-positive rate
+     * @param rebuildInterval    How often expired entries are dropped and the filter rebuilt
+     */
+    public record Revocation(long expectedInsertions, double falsePositiveRate, Duration rebuildInterval) {
+
+        public Revocation {
+            if (expectedInsertions <= 0) {
+                expectedInsertions = 10000L;
+            }
+            if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+                falsePositiveRate = 0.01;
+            }
+            if (rebuildInterval == null || rebuildInterval.isNegative() || rebuildInterval.isZero()) {
+                rebuildInterval = Duration.ofMinutes(1);
+            }
+        }
+    }
+
+    /**
+     * Opaque token index settings.
+     *
+     * @param shards           Independently locked parts of the index
+     * @param tick             How often expired tokens are dropped from memory
+     * @param snapshotFile     Memory-mapped file the index is saved to and
+     *                         restored from on startup; memory only when unset
+     * @param snapshotInterval How often the index is saved, besides on shutdown
+     */
+    public record Opaque(int shards, Duration tick, Path snapshotFile, Duration snapshotInterval) {
+
+        public Opaque {
+            if (shards <= 0) {
+                shards = 64;
+            }
+            if (tick == null || tick.isNegative() || tick.isZero()) {
+                tick = Duration.ofSeconds(1);
+            }
+            if (snapshotInterval == null || snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+                snapshotInterval = Duration.ofMinutes(1);
+            }
+        }
     }
 }
@@ -0,0 +1,80 @@
+package com.example.social_login.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.social_login.accesslog.AccessLog;
+import com.example.social_login.security.cors.OriginRegistry;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.jwt.OpaqueTokenIndex;
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
+import com.example.social_login.user.UserProfileService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Registers application metrics with the actuator's meter registry.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    MeterBinder tokenDenylistMetrics(JwtService jwtService) {
+        return jwtService.denylist();
+    }
+
+    @Bean
+    MeterBinder verifiedTokenCacheMetrics(JwtService jwtService) {
+        return registry -> jwtService.tokenCache().ifPresent(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache.nativeCache(), "jwt.verified"));
+    }
+
+    @Bean
+    MeterBinder opaqueTokenMetrics(JwtService jwtService) {
+        return registry -> jwtService.opaqueTokens().ifPresent(index ->
+                Gauge.builder("jwt.opaque.tokens", index, OpaqueTokenIndex::size)
+                        .description("Opaque access tokens held in memory, including expired ones not yet dropped")
+                        .register(registry));
+    }
+
+    @Bean
+    MeterBinder corsOriginMetrics(OriginRegistry originRegistry) {
+        return registry -> {
+            Gauge.builder("cors.origins", originRegistry, OriginRegistry::exactOrigins)
+                    .description("Allowed CORS origins")
+                    .tag("kind", "exact")
+                    .register(registry);
+            Gauge.builder("cors.origins", originRegistry, OriginRegistry::wildcardOrigins)
+                    .description("Allowed CORS origins")
+                    .tag("kind", "wildcard")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder accessLogMetrics(AccessLog accessLog) {
+        return registry -> {
+            FunctionCounter.builder("access.log.events", accessLog, AccessLog::written)
+                    .description("Access events by what became of them")
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("access.log.events", accessLog, AccessLog::dropped)
+                    .description("Access events by what became of them")
+                    .tag("result", "dropped")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder userProfileCacheMetrics(UserProfileService userProfileService) {
+        return userProfileService.metrics();
+    }
+
+    @Bean
+    MeterBinder rateLimitMetrics(RateLimitPolicy rateLimitPolicy) {
+        return rateLimitPolicy.metrics();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.social_login.config;
+
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.FormHttpMessageConverter;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2AuthorizationCodeGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.RestClientAuthorizationCodeTokenResponseClient;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
+import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserService;
+import org.springframework.security.oauth2.core.http.converter.OAuth2AccessTokenResponseHttpMessageConverter;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.social_login.security.oauth.CachingIdTokenDecoderFactory;
+import com.example.social_login.security.oauth.ProviderMetadataCache;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Routes every call the OAuth2 login makes to a provider (code exchange,
+ * user info, JWK set) through one pooled HTTP client.
+ *
+ * Spring Security's defaults open a new connection per call, so each login
+ * paid a TCP and TLS handshake per provider request. Here connections are
+ * kept alive and reused, concurrency per provider host is bounded, and every
+ * call has connect, read and pool-wait timeouts. The OAuth2 login picks the
+ * beans below up by type.
+ *
+ * Metrics: {@code httpcomponents.httpclient.pool.*} for the pool,
+ * {@code http.client.requests} per provider call and {@code cache.*} tagged
+ * {@code cache=oauth2.provider.metadata} for the JWK set cache.
+ */
+@Configuration
+public class OAuth2ClientConfig {
+
+    private static final String CLIENT_NAME = "oauth2-provider";
+
+    @Bean
+    PoolingHttpClientConnectionManager oauth2ConnectionManager(OAuth2HttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        // Check a connection that sat idle before reusing it
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    CloseableHttpClient oauth2HttpClient(PoolingHttpClientConnectionManager connectionManager,
+            OAuth2HttpClientProperties properties) {
+        TimeValue keepAlive = TimeValue.of(properties.keepAlive());
+        ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> DefaultConnectionKeepAliveStrategy.INSTANCE
+                .getKeepAliveDuration(response, context).min(keepAlive);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.poolTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .setKeepAliveStrategy(keepAliveStrategy)
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                // Idempotent methods only, so a single-use authorization code is never sent twice
+                .setRetryStrategy(new IdempotentRetryStrategy(properties.maxRetries()))
+                .disableCookieManagement()
+                .build();
+    }
+
+    @Bean
+    ProviderMetadataCache providerMetadataCache(OAuth2HttpClientProperties properties) {
+        return new ProviderMetadataCache(properties.metadataCacheTtl());
+    }
+
+    @Bean
+    OAuth2AccessTokenResponseClient<OAuth2AuthorizationCodeGrantRequest> accessTokenResponseClient(
+            CloseableHttpClient oauth2HttpClient, ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestClient restClient = RestClient.builder()
+                .requestFactory(requestFactory(oauth2HttpClient))
+                .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+                // Only these two; no defaults registered
+                .configureMessageConverters(converters -> converters
+                        .addCustomConverter(new FormHttpMessageConverter())
+                        .addCustomConverter(new OAuth2AccessTokenResponseHttpMessageConverter()))
+                .defaultStatusHandler(new OAuth2ErrorResponseErrorHandler())
+                .build();
+        RestClientAuthorizationCodeTokenResponseClient client = new RestClientAuthorizationCodeTokenResponseClient();
+        client.setRestClient(restClient);
+        return client;
+    }
+
+    @Bean
+    OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService(CloseableHttpClient oauth2HttpClient,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(oauth2HttpClient));
+        restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+        restTemplate.setObservationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        DefaultOAuth2UserService userService = new DefaultOAuth2UserService();
+        userService.setRestOperations(restTemplate);
+        return userService;
+    }
+
+    @Bean
+    OAuth2UserService<OidcUserRequest, OidcUser> oidcUserService(
+            OAuth2UserService<OAuth2UserRequest, OAuth2User> oauth2UserService) {
+        OidcUserService userService = new OidcUserService();
+        userService.setOauth2UserService(oauth2UserService);
+        return userService;
+    }
+
+    @Bean
+    JwtDecoderFactory<ClientRegistration> idTokenDecoderFactory(CloseableHttpClient oauth2HttpClient,
+            ProviderMetadataCache providerMetadataCache, ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplate(requestFactory(oauth2HttpClient));
+        restTemplate.setObservationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new CachingIdTokenDecoderFactory(restTemplate, providerMetadataCache);
+    }
+
+    @Bean
+    MeterBinder oauth2ConnectionPoolMetrics(PoolingHttpClientConnectionManager oauth2ConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(oauth2ConnectionManager, CLIENT_NAME);
+    }
+
+    @Bean
+    MeterBinder providerMetadataCacheMetrics(ProviderMetadataCache providerMetadataCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, providerMetadataCache.getNativeCache(),
+                providerMetadataCache.getName());
+    }
+
+    private static ClientHttpRequestFactory requestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * Retries after an I/O error, 429 or 503. The default strategy only
+     * checks the method for I/O errors and would resend a POST on a 429 or
+     * 503 too, so status-based retries are limited to idempotent methods here.
+     */
+    static final class IdempotentRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+        IdempotentRetryStrategy(int maxRetries) {
+            super(maxRetries, TimeValue.ofMilliseconds(200));
+        }
+
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            HttpRequest request = HttpClientContext.castOrCreate(context).getRequest();
+            return request != null && handleAsIdempotent(request) && super.retryRequest(response, execCount, context);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.social_login.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the shared HTTP client the OAuth2 login uses to call
+ * providers (token, user-info and JWKS endpoints).
+ *
+ * @param maxConnections         Most open connections across all providers
+ * @param maxConnectionsPerRoute Most concurrent connections to one provider
+ *                               host; further calls wait for a free one
+ * @param connectTimeout         Time allowed to open a connection
+ * @param readTimeout            Time allowed between response bytes
+ * @param poolTimeout            How long a call waits for a pooled connection
+ *                               before failing
+ * @param keepAlive              Longest an idle connection is kept for reuse,
+ *                               unless the provider asks for less
+ * @param maxRetries             Retries of idempotent calls (user-info, JWKS)
+ *                               after an I/O error, 429 or 503; the code
+ *                               exchange is never retried
+ * @param metadataCacheTtl       How long a fetched JWK set is reused before
+ *                               it is fetched again
+ */
+@ConfigurationProperties(prefix = "application.security.oauth2.http-client")
+public record OAuth2HttpClientProperties(
+        int maxConnections,
+        int maxConnectionsPerRoute,
+        Duration connectTimeout,
+        Duration readTimeout,
+        Duration poolTimeout,
+        Duration keepAlive,
+        Integer maxRetries,
+        Duration metadataCacheTtl) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public OAuth2HttpClientProperties {
+        if (maxConnections <= 0) {
+            maxConnections = 50;
+        }
+        if (maxConnectionsPerRoute <= 0) {
+            maxConnectionsPerRoute = 20;
+        }
+        if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()) {
+            connectTimeout = Duration.ofSeconds(2);
+        }
+        if (readTimeout == null || readTimeout.isNegative() || readTimeout.isZero()) {
+            readTimeout = Duration.ofSeconds(5);
+        }
+        if (poolTimeout == null || poolTimeout.isNegative() || poolTimeout.isZero()) {
+            poolTimeout = Duration.ofSeconds(2);
+        }
+        if (keepAlive == null || keepAlive.isNegative() || keepAlive.isZero()) {
+            keepAlive = Duration.ofSeconds(30);
+        }
+        if (maxRetries == null || maxRetries < 0) {
+            maxRetries = 1;
+        }
+        if (metadataCacheTtl == null || metadataCacheTtl.isNegative() || metadataCacheTtl.isZero()) {
+            metadataCacheTtl = Duration.ofMinutes(10);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.social_login.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rate limit configuration properties externalized from application.yaml.
+ *
+ * @param rules       Limits per path pattern; the first rule whose pattern
+ *                    matches and that sets a limit for the key applies.
+ *                    Nothing is limited without rules
+ * @param trackedKeys Clients and principals whose buckets are kept exactly;
+ *                    the rest share an approximate count. Fixed at startup
+ * @param stripes     Independently locked parts of the bucket table
+ * @param sketchWidth Counters per row of each rule's approximate count; wider
+ *                    means fewer keys sharing a counter
+ */
+@ConfigurationProperties(prefix = "application.rate-limit")
+public record RateLimitProperties(
+        List<Rule> rules,
+        int trackedKeys,
+        int stripes,
+        int sketchWidth) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public RateLimitProperties {
+        if (rules == null) {
+            rules = List.of();
+        }
+        if (trackedKeys <= 0) {
+            trackedKeys = 65_536;
+        }
+        if (stripes <= 0) {
+            stripes = 64;
+        }
+        if (sketchWidth <= 0) {
+            sketchWidth = 16_384;
+        }
+    }
+
+    /**
+     * @param path      Exact path or {@code /**} prefix, as in PublicPaths
+     * @param client    Requests allowed per period per client IP, 0 for no limit.
+     *                  Checked before authentication
+     * @param principal Requests allowed per period per authenticated user, 0
+     *                  for no limit. Checked after the JWT is verified
+     * @param period    Period the limits are counted over. A client may use
+     *                  its whole allowance at once, then gets it back evenly
+     */
+    public record Rule(
+            String path,
+            long client,
+            long principal,
+            Duration period) {
+
+        /**
+         * Default values for optional properties.
+         */
+        public Rule {
+            if (period == null) {
+                period = Duration.ofMinutes(1);
+            }
+        }
+    }
+}
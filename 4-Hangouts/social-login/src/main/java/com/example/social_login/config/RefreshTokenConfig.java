@@ -0,0 +1,23 @@
+package com.example.social_login.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.social_login.security.refresh.FileRefreshTokenStore;
+import com.example.social_login.security.refresh.InMemoryRefreshTokenStore;
+import com.example.social_login.security.refresh.RefreshTokenStore;
+
+/**
+ * Selects the refresh token store configured in application.yaml.
+ */
+@Configuration
+public class RefreshTokenConfig {
+
+    @Bean
+    RefreshTokenStore refreshTokenStore(RefreshTokenProperties properties) {
+        return switch (properties.store()) {
+            case MEMORY -> new InMemoryRefreshTokenStore();
+            case FILE -> new FileRefreshTokenStore(properties.file());
+        };
+    }
+}
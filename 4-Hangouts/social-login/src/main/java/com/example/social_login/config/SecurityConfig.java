@@ -1,22 +1,23 @@
 package com.example.social_login.config;
 
-import java.util.Arrays;
-import java.util.List;
-
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizationRequestRedirectFilter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.example.social_login.security.jwt.JwtAuthenticationFilter;
+import com.example.social_login.security.oauth.CookieAuthorizationRequestRepository;
 import com.example.social_login.security.oauth.OAuth2LoginSuccessHandler;
+import com.example.social_login.security.path.PublicPaths;
+import com.example.social_login.security.ratelimit.RateLimitFilter;
+import com.example.social_login.security.ratelimit.RateLimitPolicy;
 
 /**
  * Main security configuration for the application.
@@ -28,15 +29,24 @@ public class SecurityConfig {
 
         private final JwtAuthenticationFilter jwtAuthenticationFilter;
         private final OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler;
-        private final AppProperties appProperties;
+        private final CookieAuthorizationRequestRepository authorizationRequestRepository;
+        private final CorsConfigurationSource corsConfigurationSource;
+        private final PublicPaths publicPaths;
+        private final RateLimitPolicy rateLimitPolicy;
 
         public SecurityConfig(
                         JwtAuthenticationFilter jwtAuthenticationFilter,
                         OAuth2LoginSuccessHandler oAuth2LoginSuccessHandler,
-                        AppProperties appProperties) {
+                        CookieAuthorizationRequestRepository authorizationRequestRepository,
+                        CorsConfigurationSource corsConfigurationSource,
+                        PublicPaths publicPaths,
+                        RateLimitPolicy rateLimitPolicy) {
                 this.jwtAuthenticationFilter = jwtAuthenticationFilter;
                 this.oAuth2LoginSuccessHandler = oAuth2LoginSuccessHandler;
-                this.appProperties = appProperties;
+                this.authorizationRequestRepository = authorizationRequestRepository;
+                this.corsConfigurationSource = corsConfigurationSource;
+                this.publicPaths = publicPaths;
+                this.rateLimitPolicy = rateLimitPolicy;
         }
 
         @Bean
@@ -49,8 +59,9 @@ public class SecurityConfig {
                                 // Disable default logout to allow custom controller to handle /logout
                                 .logout(logout -> logout.disable())
 
-                                // CORS: Allow frontend origin with credentials
-                                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                                // CORS: Allow the registered origins (see CorsConfig); preflights
+                                // are answered earlier, by the PreflightFilter
+                                .cors(cors -> cors.configurationSource(corsConfigurationSource))
 
                                 // Stateless session: No server-side session storage
                                 .sessionManagement(session -> session
@@ -59,10 +70,10 @@ public class SecurityConfig {
                                 // Authorization rules
                                 .authorizeHttpRequests(auth -> auth
                                                 // Public endpoints - no authentication required
-                                                .requestMatchers("/", "/api/public", "/oauth2/**", "/login", "/logout")
-                                                .permitAll()
+                                                // (the JWT filter skips the same list)
+                                                .requestMatchers(publicPaths.patterns()).permitAll()
                                                 // Protected endpoints - authentication required
-                                                .requestMatchers("/api/me").authenticated()
+                                                .requestMatchers("/api/me", "/api/bootstrap").authenticated()
                                                 // All other requests require authentication
                                                 .anyRequest().authenticated())
 
@@ -70,41 +81,36 @@ public class SecurityConfig {
                                 .exceptionHandling(exceptions -> exceptions
                                                 .authenticationEntryPoint(new Http403ForbiddenEntryPoint()))
 
-                                // OAuth2 login configuration with custom success handler
+                                // OAuth2 login configuration with custom success handler.
+                                // The in-flight authorization request lives in a sealed cookie
+                                // and failures don't stash the exception in a session, so login
+                                // never creates a JSESSIONID and the callback may hit any node
                                 .oauth2Login(oauth2 -> oauth2
-                                                .successHandler(oAuth2LoginSuccessHandler))
+                                                .authorizationEndpoint(endpoint -> endpoint
+                                                                .authorizationRequestRepository(
+                                                                                authorizationRequestRepository))
+                                                .successHandler(oAuth2LoginSuccessHandler)
+                                                .failureHandler(loginFailureHandler()))
 
                                 // Add JWT filter before username/password authentication filter
-                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                                // Rate limits: by client IP ahead of the OAuth2 redirect and
+                                // callback filters (which run before the JWT filter), by user
+                                // once the JWT is verified
+                                .addFilterBefore(new RateLimitFilter(rateLimitPolicy, RateLimitPolicy.Scope.CLIENT),
+                                                OAuth2AuthorizationRequestRedirectFilter.class)
+                                .addFilterAfter(new RateLimitFilter(rateLimitPolicy, RateLimitPolicy.Scope.PRINCIPAL),
+                                                JwtAuthenticationFilter.class);
 
                 return http.build();
         }
 
-        @Bean
-        CorsConfigurationSource corsConfigurationSource() {
-                CorsConfiguration configuration = new CorsConfiguration(); // Create CORS rules container
-
-                configuration.setAllowedOrigins(
-                                List.of(appProperties.frontendUrl())); // Allow requests only from frontend origin
-
-                configuration.setAllowedMethods(
-                                Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Allow common HTTP methods
-
-                configuration.setAllowedHeaders(
-                                List.of("*")); // Allow all request headers
-
-                configuration.setAllowCredentials(true); // Allow cookies/auth headers in cross-origin requests
-
-                configuration.setExposedHeaders(
-                                List.of("Set-Cookie")); // Allow frontend to see Set-Cookie response header
-
-                UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource(); // Map CORS rules to URL
-                                                                                                // paths
-
-                source.registerCorsConfiguration(
-                                "/**", configuration); // Apply CORS rules to all endpoints
-
-                return source; // Expose configuration to Spring Security
+        private static SimpleUrlAuthenticationFailureHandler loginFailureHandler() {
+                SimpleUrlAuthenticationFailureHandler handler = new SimpleUrlAuthenticationFailureHandler(
+                                "/login?error");
+                handler.setAllowSessionCreation(false);
+                return handler;
         }
 
 }
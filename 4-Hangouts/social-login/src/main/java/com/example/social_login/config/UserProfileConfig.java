@@ -0,0 +1,23 @@
+package com.example.social_login.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.social_login.user.FileUserProfileStore;
+import com.example.social_login.user.InMemoryUserProfileStore;
+import com.example.social_login.user.UserProfileStore;
+
+/**
+ * Selects the user profile store configured in application.yaml.
+ */
+@Configuration
+public class UserProfileConfig {
+
+    @Bean
+    UserProfileStore userProfileStore(UserProfileProperties properties) {
+        return switch (properties.store()) {
+            case MEMORY -> new InMemoryUserProfileStore();
+            case FILE -> new FileUserProfileStore(properties.file(), properties.maxPending());
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.social_login.config;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * User profile store configuration properties externalized from application.yaml.
+ *
+ * @param store      Where profiles are kept
+ * @param file       Log file for the {@code FILE} store
+ * @param cacheSize  Most profiles kept in memory in front of the store
+ * @param maxPending Most profiles the {@code FILE} store queues before a
+ *                   login writes them itself instead of waiting for the
+ *                   next scheduled flush
+ */
+@ConfigurationProperties(prefix = "application.user-profile")
+public record UserProfileProperties(
+        Store store,
+        Path file,
+        long cacheSize,
+        int maxPending) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public UserProfileProperties {
+        if (store == null) {
+            store = Store.MEMORY;
+        }
+        if (file == null) {
+            file = Path.of("user-profiles.log");
+        }
+        if (cacheSize <= 0) {
+            cacheSize = 10_000;
+        }
+        if (maxPending <= 0) {
+            maxPending = 1_000;
+        }
+    }
+
+    /**
+     * User profile store implementations.
+     */
+    public enum Store {
+        MEMORY,
+        FILE
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.social_login.controller;
 
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.security.jwt.CookieHeaderScanner;
 import com.example.social_login.security.jwt.CookieUtils;
+import com.example.social_login.security.jwt.JwtMetrics;
+import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.refresh.RefreshTokenService;
+import com.example.social_login.security.refresh.RotatedRefreshToken;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Controller for authentication-related endpoints.
@@ -17,26 +28,102 @@ import com.example.social_login.security.jwt.CookieUtils;
 public class AuthController {
 
     private final JwtProperties jwtProperties;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final JwtMetrics metrics;
 
-    public AuthController(JwtProperties jwtProperties) {
+    public AuthController(
+            JwtProperties jwtProperties,
+            JwtService jwtService,
+            RefreshTokenService refreshTokenService,
+            RefreshTokenProperties refreshTokenProperties,
+            JwtMetrics metrics) {
         this.jwtProperties = jwtProperties;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.metrics = metrics;
     }
 
     /**
-     * Logs out the user by clearing the JWT cookie.
+     * Logs out the user by revoking the JWT and clearing its cookie, so a
+     * copied token stops working too.
      * No session invalidation needed (stateless architecture).
+     * The refresh cookie is not sent here; clients revoke it with
+     * {@code DELETE} on the refresh endpoint.
      *
-     * @return Success response with Set-Cookie header to clear the JWT
+     * @param request The HTTP request carrying the JWT cookie
+     * @return Success response with Set-Cookie headers to clear the JWT and refresh token
      */
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout() {
+    public ResponseEntity<Map<String, String>> logout(HttpServletRequest request) {
+        Optional.ofNullable(CookieHeaderScanner.findValue(request, jwtProperties.cookieName()))
+                .ifPresent(jwtService::revoke);
+
         // Build a cookie with maxAge=0 to clear it
         var clearCookie = CookieUtils.buildJwtCookie("", jwtProperties, true);
+        var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
 
         return ResponseEntity.ok()
-                .header(HttpHeaders.SET_COOKIE, clearCookie.toString())
+                .header(HttpHeaders.SET_COOKIE, clearCookie.toString(), clearRefreshCookie.toString())
                 .body(Map.of(
                         "message", "Logged out successfully",
                         "status", "success"));
     }
+
+    /**
+     * Exchanges the refresh token cookie for a new access token and a new
+     * refresh token. The access token is minted locally, with no call to
+     * the OAuth2 provider.
+     *
+     * @param request The HTTP request carrying the refresh cookie
+     * @return Success response with both cookies, or 401 with the refresh cookie cleared
+     */
+    @PostMapping("${application.security.refresh.path:/api/auth/refresh}")
+    public ResponseEntity<Map<String, String>> refresh(HttpServletRequest request) {
+        Optional<RotatedRefreshToken> rotated = refreshTokenProperties.enabled()
+                ? Optional.ofNullable(CookieHeaderScanner.findValue(request, refreshTokenProperties.cookieName()))
+                        .flatMap(refreshTokenService::rotate)
+                : Optional.empty();
+
+        if (rotated.isEmpty()) {
+            var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, clearRefreshCookie.toString())
+                    .body(Map.of(
+                            "message", "Invalid refresh token",
+                            "status", "error"));
+        }
+
+        var accessCookie = CookieUtils.buildJwtCookie(
+                jwtService.generateToken(rotated.get().subject()), jwtProperties, false);
+        metrics.tokenMinted(JwtMetrics.Source.REFRESH);
+        var refreshCookie = CookieUtils.buildRefreshCookie(rotated.get().value(), refreshTokenProperties, false);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, accessCookie.toString(), refreshCookie.toString())
+                .body(Map.of(
+                        "message", "Token refreshed",
+                        "status", "success"));
+    }
+
+    /**
+     * Revokes the refresh token family and clears the refresh cookie.
+     *
+     * @param request The HTTP request carrying the refresh cookie
+     * @return Success response with Set-Cookie header to clear the refresh token
+     */
+    @DeleteMapping("${application.security.refresh.path:/api/auth/refresh}")
+    public ResponseEntity<Map<String, String>> revokeRefreshToken(HttpServletRequest request) {
+        Optional.ofNullable(CookieHeaderScanner.findValue(request, refreshTokenProperties.cookieName()))
+                .ifPresent(refreshTokenService::revoke);
+        var clearRefreshCookie = CookieUtils.buildRefreshCookie("", refreshTokenProperties, true);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, clearRefreshCookie.toString())
+                .body(Map.of(
+                        "message", "Refresh token revoked",
+                        "status", "success"));
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.social_login.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.social_login.security.jwt.VerifiedToken;
+
+/**
+ * Everything the dashboard needs on load in one response, instead of one
+ * cross-origin round trip (and preflight) per endpoint.
+ */
+@RestController
+@RequestMapping("/api")
+public class BootstrapController {
+
+    // Revalidate every time; only the browser may keep it
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final PublicController publicController;
+    private final UserController userController;
+
+    public BootstrapController(PublicController publicController, UserController userController) {
+        this.publicController = publicController;
+        this.userController = userController;
+    }
+
+    /**
+     * Returns the {@code /api/public} payload, the {@code /api/me} payload
+     * and the access token's lifetime.
+     *
+     * The response only changes when a new access token is issued (the
+     * profile is updated at login, which issues one), so its ETag is derived
+     * from the principal and the token's claims. A repeat load with the same
+     * token and a matching {@code If-None-Match} gets 304 without the profile
+     * being looked up. The lifetime is sent as absolute times for the same
+     * reason; the client works out how much is left.
+     *
+     * @param authentication The authentication set by JwtAuthenticationFilter
+     * @param request        The request, for the conditional check
+     * @return Map with {@code public}, {@code user} and {@code token}, or 304
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<Map<String, Object>> bootstrap(Authentication authentication, WebRequest request) {
+        VerifiedToken token = (VerifiedToken) authentication.getDetails();
+        String etag = etag(token);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).eTag(etag).build();
+        }
+
+        Map<String, Object> lifetime = new LinkedHashMap<>();
+        lifetime.put("issuedAt", token.issuedAt().toString());
+        lifetime.put("expiresAt", token.expiresAt().toString());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("public", publicController.publicEndpoint());
+        body.put("user", userController.getCurrentUser(authentication));
+        body.put("token", lifetime);
+        return ResponseEntity.ok().cacheControl(CACHE_CONTROL).eTag(etag).body(body);
+    }
+
+    private static String etag(VerifiedToken token) {
+        // Hashed so the email doesn't travel in a header; jti separates two logins in the same second
+        String source = token.subject() + '\n' + token.issuedAt().getEpochSecond() + '\n' + token.tokenId();
+        return '"' + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.social_login.controller;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.security.core.Authentication;
@@ -7,6 +8,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.social_login.user.UserProfile;
+import com.example.social_login.user.UserProfileService;
+
 /**
  * Controller for authenticated user endpoints.
  */
@@ -14,18 +18,44 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api")
 public class UserController {
 
+    private final UserProfileService userProfileService;
+
+    public UserController(UserProfileService userProfileService) {
+        this.userProfileService = userProfileService;
+    }
+
     /**
      * Returns the current authenticated user's information.
      * The email is extracted from the JWT by the JwtAuthenticationFilter
-     * and set as the principal in the SecurityContext.
+     * and set as the principal in the SecurityContext; the rest comes from
+     * the profile saved at login, without calling the provider.
      *
      * @param authentication The authentication object from security context
-     * @return Map containing the authenticated user's email
+     * @return Map containing the user's email and, when known, provider,
+     *         name, username, avatarUrl and lastLogin
      */
     @GetMapping("/me")
     public Map<String, Object> getCurrentUser(Authentication authentication) {
         // The principal is set to the email string by JwtAuthenticationFilter
         String email = (String) authentication.getPrincipal();
-        return Map.of("email", email);
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("email", email);
+        // No profile if the user logged in before the store existed (memory store after a restart)
+        userProfileService.find(email).ifPresent(profile -> putProfile(user, profile));
+        return user;
+    }
+
+    private static void putProfile(Map<String, Object> user, UserProfile profile) {
+        putIfPresent(user, "provider", profile.provider());
+        putIfPresent(user, "name", profile.name());
+        putIfPresent(user, "username", profile.username());
+        putIfPresent(user, "avatarUrl", profile.avatarUrl());
+        user.put("lastLogin", profile.lastLogin().toString());
+    }
+
+    private static void putIfPresent(Map<String, Object> user, String key, String value) {
+        if (value != null) {
+            user.put(key, value);
+        }
     }
 }
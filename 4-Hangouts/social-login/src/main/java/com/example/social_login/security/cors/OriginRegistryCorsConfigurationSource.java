@@ -0,0 +1,44 @@
+package com.example.social_login.security.cors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Applies the {@link OriginRegistry} on top of a path-based
+ * {@link CorsConfigurationSource}; see {@link OriginPolicyConfigurations}
+ * for how an origin's policy and the path's settings are combined.
+ */
+public class OriginRegistryCorsConfigurationSource implements CorsConfigurationSource {
+
+    private final CorsConfigurationSource paths;
+    private final OriginRegistry registry;
+    private final OriginPolicyConfigurations configurations;
+
+    /**
+     * @param paths    Per-path settings shared by every origin
+     * @param registry The allowed origins
+     */
+    public OriginRegistryCorsConfigurationSource(CorsConfigurationSource paths, OriginRegistry registry) {
+        this.paths = paths;
+        this.registry = registry;
+        this.configurations = new OriginPolicyConfigurations(registry);
+    }
+
+    @Override
+    public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+        return configurations.apply(paths.getCorsConfiguration(request), request.getHeader(HttpHeaders.ORIGIN));
+    }
+
+    /**
+     * Picks up changes to the origins file.
+     * Runs on the interval configured by {@code application.cors.origins-reload-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.cors.origins-reload-interval:10s}")
+    public void reloadOrigins() {
+        registry.reloadIfChanged();
+    }
+}
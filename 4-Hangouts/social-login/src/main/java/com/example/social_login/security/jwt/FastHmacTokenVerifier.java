@@ -0,0 +1,380 @@
+package com.example.social_login.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+
+/**
+ * Allocation-light {@link TokenVerifier} for the compact HMAC-SHA tokens
+ * this service mints ({@code {"alg":"HS256"}} and its HS384/HS512 siblings,
+ * depending on the secret length, optionally with a {@code kid}).
+ *
+ * The happy path works on reused scratch buffers: the header segment is
+ * matched against the precomputed headers of the {@link SigningKeyRing}
+ * without decoding it, the signing input is copied into a reused byte array,
+ * the signature and payload are base64url-decoded in place, the MAC comes
+ * from a pooled {@link Mac} already initialised with that
+ * key, and a minimal scanner pulls only {@code sub}, {@code jti},
+ * {@code iat} and {@code exp} out of the payload. No Claims map, JSON tree or {@code Date}
+ * is built.
+ *
+ * Anything outside that narrow shape (another header, escaped strings,
+ * nested values, {@code nbf}, non-integer dates, padding) is handed to the
+ * jjwt reference verifier, so both engines accept exactly the same tokens.
+ */
+public class FastHmacTokenVerifier implements TokenVerifier {
+
+    private static final byte[] BASE64URL = new byte[128];
+
+    static {
+        Arrays.fill(BASE64URL, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = (byte) i;
+        }
+    }
+
+    private static final String[] LITERALS = { "true", "false", "null" };
+
+    /** Largest MAC we handle (HS512). */
+    private static final int MAX_MAC_LENGTH = 64;
+
+    /** Marker for "this token needs the reference verifier". */
+    private static final VerifiedToken FALLBACK = null;
+
+    private final SigningKeyRing keyRing;
+    private final TokenVerifier fallback;
+    private final Clock clock;
+    private final ReusablePool<Scratch> scratch = new ReusablePool<>(Scratch::new);
+
+    /**
+     * @param keyRing  Keys our tokens may be signed with
+     * @param fallback Reference verifier for tokens this engine doesn't handle
+     * @param clock    Clock used for the expiration check
+     */
+    public FastHmacTokenVerifier(SigningKeyRing keyRing, TokenVerifier fallback, Clock clock) {
+        this.keyRing = keyRing;
+        this.fallback = fallback;
+        this.clock = clock;
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        VerifiedToken result = verifyCompact(token);
+        return result != FALLBACK ? result : fallback.verify(token);
+    }
+
+    private VerifiedToken verifyCompact(String token) {
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            return FALLBACK;
+        }
+        // Only our own canonical headers are handled here; look up the encoded form directly
+        SigningKey key = keyRing.findByEncodedHeader(token.substring(0, firstDot));
+        if (key == null) {
+            return FALLBACK;
+        }
+        Mac mac = key.acquireMac();
+        Scratch s = scratch.acquire();
+        try {
+            return verifyWith(token, firstDot, secondDot, key.macLength(), mac, s);
+        } finally {
+            scratch.release(s);
+            key.releaseMac(mac);
+        }
+    }
+
+    private VerifiedToken verifyWith(String token, int firstDot, int secondDot, int signatureLength, Mac mac,
+            Scratch s) {
+        // Signing input is "header.payload" as ASCII
+        byte[] input = s.input(secondDot);
+        for (int i = 0; i < secondDot; i++) {
+            char c = token.charAt(i);
+            if (c >= 128) {
+                return FALLBACK;
+            }
+            input[i] = (byte) c;
+        }
+
+        int sigLength = decode(token, secondDot + 1, token.length(), s.signature);
+        if (sigLength < 0) {
+            return FALLBACK;
+        }
+
+        try {
+            mac.update(input, 0, secondDot);
+            mac.doFinal(s.computed, 0);
+        } catch (GeneralSecurityException e) {
+            mac.reset();
+            return FALLBACK;
+        }
+        if (sigLength != signatureLength || !constantTimeEquals(s.computed, s.signature, signatureLength)) {
+            return VerifiedToken.failure(VerifiedToken.Status.INVALID_SIGNATURE);
+        }
+
+        // Signature is good; only now look at the claims
+        byte[] payload = s.payload(secondDot - firstDot);
+        int payloadLength = decode(token, firstDot + 1, secondDot, payload);
+        if (payloadLength < 0) {
+            return FALLBACK;
+        }
+        return scanClaims(payload, payloadLength);
+    }
+
+    /**
+     * Scans a flat JSON object for {@code sub}, {@code jti}, {@code iat} and {@code exp}.
+     * Returns {@link #FALLBACK} as soon as anything unexpected shows up.
+     */
+    private VerifiedToken scanClaims(byte[] json, int length) {
+        String subject = null;
+        String tokenId = null;
+        long issuedAt = -1;
+        long expiresAt = -1;
+
+        int i = skipWhitespace(json, 0, length);
+        if (i >= length || json[i] != '{') {
+            return FALLBACK;
+        }
+        i = skipWhitespace(json, i + 1, length);
+        if (i < length && json[i] == '}') {
+            return FALLBACK; // No claims at all
+        }
+
+        while (true) {
+            if (i >= length || json[i] != '"') {
+                return FALLBACK;
+            }
+            int keyStart = i + 1;
+            int keyEnd = endOfPlainString(json, keyStart, length);
+            if (keyEnd < 0) {
+                return FALLBACK;
+            }
+            i = skipWhitespace(json, keyEnd + 1, length);
+            if (i >= length || json[i] != ':') {
+                return FALLBACK;
+            }
+            i = skipWhitespace(json, i + 1, length);
+            if (i >= length) {
+                return FALLBACK;
+            }
+
+            if (isKey(json, keyStart, keyEnd, "sub") || isKey(json, keyStart, keyEnd, "jti")) {
+                if (json[i] != '"') {
+                    return FALLBACK;
+                }
+                int end = endOfPlainString(json, i + 1, length);
+                if (end < 0) {
+                    return FALLBACK;
+                }
+                String value = new String(json, i + 1, end - i - 1, StandardCharsets.US_ASCII);
+                if (json[keyStart] == 's') {
+                    subject = value;
+                } else {
+                    tokenId = value;
+                }
+                i = end + 1;
+            } else if (isKey(json, keyStart, keyEnd, "exp") || isKey(json, keyStart, keyEnd, "iat")) {
+                int end = i;
+                long value = 0;
+                while (end < length && json[end] >= '0' && json[end] <= '9' && end - i < 18) {
+                    value = value * 10 + (json[end] - '0');
+                    end++;
+                }
+                if (end == i || (end < length && isNumberPart(json[end]))
+                        || (json[i] == '0' && end - i > 1)) {
+                    return FALLBACK; // Negative, fractional, exponent, leading zero or too long
+                }
+                if (json[keyStart] == 'e') {
+                    expiresAt = value;
+                } else {
+                    issuedAt = value;
+                }
+                i = end;
+            } else if (isKey(json, keyStart, keyEnd, "nbf")) {
+                return FALLBACK; // Not-before needs jjwt's clock-skew handling
+            } else {
+                i = skipScalar(json, i, length);
+                if (i < 0) {
+                    return FALLBACK;
+                }
+            }
+
+            i = skipWhitespace(json, i, length);
+            if (i >= length) {
+                return FALLBACK;
+            }
+            if (json[i] == '}') {
+                break;
+            }
+            if (json[i] != ',') {
+                return FALLBACK;
+            }
+            i = skipWhitespace(json, i + 1, length);
+        }
+        if (skipWhitespace(json, i + 1, length) != length) {
+            return FALLBACK;
+        }
+
+        if (subject == null || expiresAt < 0) {
+            return FALLBACK; // Let jjwt decide how to report missing claims
+        }
+        if (clock.millis() > expiresAt * 1000) {
+            return VerifiedToken.failure(VerifiedToken.Status.EXPIRED);
+        }
+        return VerifiedToken.valid(
+                subject,
+                tokenId,
+                issuedAt >= 0 ? Instant.ofEpochSecond(issuedAt) : null,
+                Instant.ofEpochSecond(expiresAt));
+    }
+
+    /**
+     * Skips a string, number or literal value. Objects and arrays are not supported.
+     */
+    private static int skipScalar(byte[] json, int i, int length) {
+        byte b = json[i];
+        if (b == '"') {
+            for (int j = i + 1; j < length; j++) {
+                if (json[j] == '\\') {
+                    j++;
+                } else if (json[j] == '"') {
+                    return j + 1;
+                }
+            }
+            return -1;
+        }
+        if (b == '-' || (b >= '0' && b <= '9')) {
+            int j = i;
+            while (j < length && isNumberPart(json[j])) {
+                j++;
+            }
+            return j;
+        }
+        for (String literal : LITERALS) {
+            int end = i + literal.length();
+            if (end <= length && isKey(json, i, end, literal)) {
+                return end;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares the first {@code length} bytes in time independent of where they differ.
+     */
+    private static boolean constantTimeEquals(byte[] expected, byte[] actual, int length) {
+        int diff = 0;
+        for (int i = 0; i < length; i++) {
+            diff |= expected[i] ^ actual[i];
+        }
+        return diff == 0;
+    }
+
+    /**
+     * Returns the index of the closing quote, or -1 if the string has escapes,
+     * control characters or non-ASCII bytes.
+     */
+    private static int endOfPlainString(byte[] json, int start, int length) {
+        for (int j = start; j < length; j++) {
+            byte b = json[j];
+            if (b == '"') {
+                return j;
+            }
+            if (b == '\\' || b < 0x20) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isKey(byte[] json, int start, int end, String key) {
+        if (end - start != key.length()) {
+            return false;
+        }
+        for (int k = 0; k < key.length(); k++) {
+            if (json[start + k] != key.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNumberPart(byte b) {
+        return (b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+';
+    }
+
+    private static int skipWhitespace(byte[] json, int i, int length) {
+        while (i < length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Decodes unpadded base64url from {@code src[from, to)} into {@code dst}.
+     * Leftover bits in the final character are ignored, matching jjwt.
+     *
+     * @return Number of bytes written, or -1 if the input is not plain base64url
+     *         or does not fit
+     */
+    static int decode(String src, int from, int to, byte[] dst) {
+        int length = to - from;
+        if (length % 4 == 1) {
+            return -1;
+        }
+        int outLength = length * 3 / 4;
+        if (outLength > dst.length) {
+            return -1;
+        }
+        int out = 0;
+        int buffer = 0;
+        int bits = 0;
+        for (int i = from; i < to; i++) {
+            char c = src.charAt(i);
+            int value = c < 128 ? BASE64URL[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            buffer = (buffer << 6) | value;
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                dst[out++] = (byte) (buffer >> bits);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Reusable working state. Buffers only ever grow, so steady-state
+     * verification allocates nothing but the subject string and result.
+     */
+    private static final class Scratch {
+
+        final byte[] computed = new byte[MAX_MAC_LENGTH];
+        // Room for extra bytes so an over-long signature is detected, not truncated
+        final byte[] signature = new byte[MAX_MAC_LENGTH + 3];
+        byte[] input = new byte[512];
+        byte[] payload = new byte[512];
+
+        byte[] input(int length) {
+            if (input.length < length) {
+                input = new byte[length];
+            }
+            return input;
+        }
+
+        byte[] payload(int encodedLength) {
+            int needed = encodedLength * 3 / 4 + 3;
+            if (payload.length < needed) {
+                payload = new byte[needed];
+            }
+            return payload;
+        }
+    }
+}
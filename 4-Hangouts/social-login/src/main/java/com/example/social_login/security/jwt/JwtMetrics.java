@@ -0,0 +1,123 @@
+package com.example.social_login.security.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.example.social_login.config.JwtProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Micrometer instrumentation for the JWT authentication path, published
+ * through {@code /actuator/metrics}:
+ * <ul>
+ * <li>{@code jwt.verification} - verification latency, tagged with the outcome</li>
+ * <li>{@code jwt.verification.failures} - rejected tokens, tagged with the reason</li>
+ * <li>{@code jwt.token.age} - time since {@code iat} when a valid token is used</li>
+ * <li>{@code jwt.token.remaining} - time left until {@code exp} when a valid token is used</li>
+ * <li>{@code jwt.tokens.minted} - access tokens issued, tagged with the source</li>
+ * </ul>
+ * Every meter is registered up front and looked up from an array by
+ * status, so recording costs no tag resolution or allocation. Percentiles
+ * are left to the backend (histogram buckets) rather than computed
+ * in-process, which would add a sliding-window update to every request.
+ */
+@Component
+public class JwtMetrics {
+
+    /**
+     * Where an access token was minted.
+     */
+    public enum Source {
+        OAUTH2_LOGIN,
+        REFRESH
+    }
+
+    private final Timer[] verificationTimers;
+    private final Counter[] failureCounters;
+    private final Timer tokenAge;
+    private final Timer tokenRemaining;
+    private final Map<Source, Counter> minted = new EnumMap<>(Source.class);
+
+    public JwtMetrics(MeterRegistry registry, JwtProperties jwtProperties) {
+        Duration lifetime = Duration.ofMillis(jwtProperties.expirationMs());
+        VerifiedToken.Status[] statuses = VerifiedToken.Status.values();
+        this.verificationTimers = new Timer[statuses.length];
+        this.failureCounters = new Counter[statuses.length];
+        for (VerifiedToken.Status status : statuses) {
+            String tag = status.name().toLowerCase();
+            verificationTimers[status.ordinal()] = Timer.builder("jwt.verification")
+                    .description("JWT verification latency")
+                    .tag("status", tag)
+                    .register(registry);
+            if (status != VerifiedToken.Status.VALID) {
+                failureCounters[status.ordinal()] = Counter.builder("jwt.verification.failures")
+                        .description("Rejected JWTs by reason")
+                        .tag("reason", tag)
+                        .register(registry);
+            }
+        }
+        this.tokenAge = Timer.builder("jwt.token.age")
+                .description("Time since the token was issued, at use")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(lifetime)
+                .register(registry);
+        this.tokenRemaining = Timer.builder("jwt.token.remaining")
+                .description("Time left until the token expires, at use")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(lifetime)
+                .register(registry);
+        for (Source source : Source.values()) {
+            minted.put(source, Counter.builder("jwt.tokens.minted")
+                    .description("Access tokens issued")
+                    .tag("source", source.name().toLowerCase().replace('_', '-'))
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Metrics that go nowhere, for code paths built without a registry.
+     */
+    public static JwtMetrics noop(JwtProperties jwtProperties) {
+        return new JwtMetrics(new CompositeMeterRegistry(), jwtProperties);
+    }
+
+    /**
+     * Records one verification.
+     *
+     * @param verified    The verification result
+     * @param startNanos  {@link System#nanoTime()} taken before verifying
+     */
+    public void recordVerification(VerifiedToken verified, long startNanos) {
+        long now = System.nanoTime();
+        int status = verified.status().ordinal();
+        verificationTimers[status].record(now - startNanos, TimeUnit.NANOSECONDS);
+        if (!verified.isValid()) {
+            failureCounters[status].increment();
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        Instant issuedAt = verified.issuedAt();
+        if (issuedAt != null) {
+            tokenAge.record(Math.max(0, nowMillis - issuedAt.toEpochMilli()), TimeUnit.MILLISECONDS);
+        }
+        tokenRemaining.record(Math.max(0, verified.expiresAt().toEpochMilli() - nowMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts an access token issued from the given source.
+     */
+    public void tokenMinted(Source source) {
+        minted.get(source).increment();
+    }
+}
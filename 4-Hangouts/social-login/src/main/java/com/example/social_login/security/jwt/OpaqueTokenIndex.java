@@ -0,0 +1,372 @@
+package com.example.social_login.security.jwt;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server-side index of opaque access tokens: short random strings that mean
+ * nothing on their own and are resolved to their principal by lookup.
+ *
+ * A token is 128 random bits in 22 base64url characters, against a few
+ * hundred for a signed JWT, and checking it is a hash lookup instead of an
+ * HMAC and a claims parse. The price is state: a token is only valid on the
+ * node that issued it (or one that loaded its snapshot).
+ *
+ * Entries are keyed by a SHA-256 digest of the token, so neither the heap
+ * nor the snapshot file holds the bearer credential itself. The index is
+ * split into shards, each a plain map behind its own lock, so concurrent
+ * requests rarely meet on the same lock. Each shard schedules its entries'
+ * expiry on a {@link TimerWheel}; {@link #expire()} only visits the entries
+ * whose time has come, and lookups check expiry themselves, so a late
+ * sweep never lets a token live longer.
+ *
+ * With a snapshot file the live entries are written to a memory-mapped file
+ * by {@link #save()}, and read back on startup so logins survive a restart.
+ */
+public class OpaqueTokenIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OpaqueTokenIndex.class);
+
+    /** Length of a token: 16 random bytes in unpadded base64url. */
+    static final int TOKEN_LENGTH = 22;
+
+    private static final int TOKEN_BYTES = 16;
+    private static final int SNAPSHOT_MAGIC = 0x4f544931; // "OTI1"
+
+    private static final ReusablePool<Digester> DIGESTERS = new ReusablePool<>(Digester::new);
+
+    private final Shard[] shards;
+    private final int mask;
+    private final Clock clock;
+    private final Path snapshotFile;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * @param shards       Number of independently locked shards, rounded up to a power of two
+     * @param tick         Resolution of the expiry timer wheels
+     * @param lifetime     Lifetime of the tokens issued, to size the wheels
+     * @param snapshotFile File the index is saved to and restored from, or null to keep it in memory only
+     * @param clock        Clock used for expiry
+     * @throws IllegalStateException if an existing snapshot file cannot be read
+     */
+    public OpaqueTokenIndex(int shards, Duration tick, Duration lifetime, Path snapshotFile, Clock clock) {
+        int length = Integer.highestOneBit(Math.max(1, shards - 1)) << 1;
+        this.shards = new Shard[length];
+        long now = clock.millis();
+        for (int i = 0; i < length; i++) {
+            this.shards[i] = new Shard(new TimerWheel<>(TimerWheel.slotsFor(lifetime, tick), tick, now));
+        }
+        this.mask = length - 1;
+        this.clock = clock;
+        this.snapshotFile = snapshotFile;
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            try {
+                log.info("Restored {} opaque token(s) from {}", load(snapshotFile), snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("Cannot read opaque token snapshot " + snapshotFile, e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the token has the shape of an opaque token rather than a JWT
+     */
+    public static boolean isOpaque(String token) {
+        return token.length() == TOKEN_LENGTH && token.indexOf('.') < 0;
+    }
+
+    /**
+     * Issues a new token for the subject.
+     *
+     * @param subject   The subject (email)
+     * @param issuedAt  Issue time, kept with millisecond precision
+     * @param expiresAt Expiry time, kept with millisecond precision
+     * @return The opaque token
+     */
+    public String issue(String subject, Instant issuedAt, Instant expiresAt) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        put(Key.of(token), VerifiedToken.valid(subject, null,
+                Instant.ofEpochMilli(issuedAt.toEpochMilli()), Instant.ofEpochMilli(expiresAt.toEpochMilli())));
+        return token;
+    }
+
+    /**
+     * Resolves a token. A valid result is the instance stored at issue,
+     * so a lookup allocates nothing but its key.
+     *
+     * @param token The opaque token
+     * @return The verified principal, or MALFORMED, UNKNOWN or EXPIRED
+     */
+    public VerifiedToken find(String token) {
+        if (!isWellFormed(token)) {
+            return VerifiedToken.failure(VerifiedToken.Status.MALFORMED);
+        }
+        Key key = Key.of(token);
+        Shard shard = shardFor(key);
+        VerifiedToken verified;
+        synchronized (shard) {
+            verified = shard.tokens.get(key);
+        }
+        if (verified == null) {
+            return VerifiedToken.failure(VerifiedToken.Status.UNKNOWN);
+        }
+        if (clock.millis() >= verified.expiresAt().toEpochMilli()) {
+            return VerifiedToken.failure(VerifiedToken.Status.EXPIRED);
+        }
+        return verified;
+    }
+
+    /**
+     * Forgets a token, e.g. on logout. Its timer stays scheduled until the
+     * token would have expired and then finds nothing to remove.
+     *
+     * @param token The opaque token
+     * @return true if the token was known
+     */
+    public boolean remove(String token) {
+        if (!isWellFormed(token)) {
+            return false;
+        }
+        Key key = Key.of(token);
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            return shard.tokens.remove(key) != null;
+        }
+    }
+
+    /**
+     * Drops the entries whose expiry has passed since the last call, one
+     * shard at a time.
+     *
+     * @return Number of entries dropped
+     */
+    public int expire() {
+        long now = clock.millis();
+        int expired = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                int before = shard.tokens.size();
+                shard.wheel.advance(now, key -> {
+                    VerifiedToken verified = shard.tokens.get(key);
+                    if (verified != null && now >= verified.expiresAt().toEpochMilli()) {
+                        shard.tokens.remove(key);
+                    }
+                });
+                expired += before - shard.tokens.size();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return Number of tokens held, including expired ones not yet dropped
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                size += shard.tokens.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Writes the live entries to the snapshot file, replacing it atomically.
+     * Does nothing without a snapshot file.
+     *
+     * @return Number of entries written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public int save() throws IOException {
+        if (snapshotFile == null) {
+            return 0;
+        }
+        long now = clock.millis();
+        List<Key> keys = new ArrayList<>();
+        List<VerifiedToken> values = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                shard.tokens.forEach((key, verified) -> {
+                    if (now < verified.expiresAt().toEpochMilli()) {
+                        keys.add(key);
+                        values.add(verified);
+                    }
+                });
+            }
+        }
+
+        List<byte[]> subjects = new ArrayList<>(values.size());
+        long size = Integer.BYTES * 2;
+        for (VerifiedToken verified : values) {
+            byte[] subject = verified.subject().getBytes(StandardCharsets.UTF_8);
+            subjects.add(subject);
+            size += Long.BYTES * 4 + Integer.BYTES + subject.length;
+        }
+
+        Path dir = snapshotFile.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, snapshotFile.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                out.putInt(SNAPSHOT_MAGIC).putInt(keys.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    Key key = keys.get(i);
+                    VerifiedToken verified = values.get(i);
+                    out.putLong(key.hi()).putLong(key.lo())
+                            .putLong(verified.issuedAt().toEpochMilli())
+                            .putLong(verified.expiresAt().toEpochMilli())
+                            .putInt(subjects.get(i).length).put(subjects.get(i));
+                }
+                out.force();
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return keys.size();
+    }
+
+    private int load(Path file) throws IOException {
+        long now = clock.millis();
+        int loaded = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (in.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an opaque token snapshot");
+            }
+            int count = in.getInt();
+            for (int i = 0; i < count; i++) {
+                Key key = new Key(in.getLong(), in.getLong());
+                long issuedAt = in.getLong();
+                long expiresAt = in.getLong();
+                byte[] subject = new byte[in.getInt()];
+                in.get(subject);
+                if (now < expiresAt) {
+                    put(key, VerifiedToken.valid(new String(subject, StandardCharsets.UTF_8), null,
+                            Instant.ofEpochMilli(issuedAt), Instant.ofEpochMilli(expiresAt)));
+                    loaded++;
+                }
+            }
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Truncated opaque token snapshot", e);
+        }
+        return loaded;
+    }
+
+    private void put(Key key, VerifiedToken verified) {
+        Shard shard = shardFor(key);
+        synchronized (shard) {
+            shard.tokens.put(key, verified);
+            shard.wheel.schedule(key, verified.expiresAt().toEpochMilli());
+        }
+    }
+
+    private Shard shardFor(Key key) {
+        return shards[(int) key.lo() & mask];
+    }
+
+    private static boolean isWellFormed(String token) {
+        if (token == null || token.length() != TOKEN_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            char c = token.charAt(i);
+            if (!(c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One lock's worth of the index.
+     */
+    private static final class Shard {
+        final Map<Key, VerifiedToken> tokens = new HashMap<>();
+        final TimerWheel<Key> wheel;
+
+        Shard(TimerWheel<Key> wheel) {
+            this.wheel = wheel;
+        }
+    }
+
+    /**
+     * First 128 bits of the token's SHA-256, as two longs so an entry holds
+     * no extra array.
+     */
+    private record Key(long hi, long lo) {
+
+        /**
+         * @param token A well-formed token, so one ASCII byte per char
+         */
+        static Key of(String token) {
+            Digester d = DIGESTERS.acquire();
+            try {
+                for (int i = 0; i < TOKEN_LENGTH; i++) {
+                    d.input[i] = (byte) token.charAt(i);
+                }
+                d.sha256.update(d.input);
+                d.sha256.digest(d.hash, 0, d.hash.length);
+                return new Key(toLong(d.hash, 0), toLong(d.hash, Long.BYTES));
+            } catch (DigestException e) {
+                d.sha256.reset();
+                throw new IllegalStateException("SHA-256 failed", e);
+            } finally {
+                DIGESTERS.release(d);
+            }
+        }
+
+        private static long toLong(byte[] bytes, int offset) {
+            long value = 0;
+            for (int i = offset; i < offset + Long.BYTES; i++) {
+                value = value << 8 | (bytes[i] & 0xff);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Reusable digest and buffers, so hashing a token allocates nothing.
+     */
+    private static final class Digester {
+
+        final MessageDigest sha256;
+        final byte[] input = new byte[TOKEN_LENGTH];
+        final byte[] hash = new byte[32];
+
+        Digester() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
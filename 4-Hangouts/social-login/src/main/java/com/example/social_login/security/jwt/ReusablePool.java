@@ -0,0 +1,67 @@
+package com.example.social_login.security.jwt;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reuses expensive per-call objects ({@code Mac}, {@code MessageDigest},
+ * scratch buffers) across calls without sharing them between threads.
+ *
+ * Platform threads are long-lived pool threads, so each keeps its own
+ * instance in a {@link ThreadLocal}. Virtual threads usually live for one
+ * request, so a thread local would build a fresh instance every time; they
+ * borrow from a small shared queue instead and hand the instance back.
+ *
+ * Callers must {@link #release} what they {@link #acquire}, and must not use
+ * it afterwards.
+ */
+final class ReusablePool<T> {
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> perThread;
+    private final ConcurrentLinkedQueue<T> shared = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger sharedSize = new AtomicInteger();
+    private final int maxShared;
+
+    /**
+     * @param factory   Creates a new instance
+     * @param maxShared Most idle instances kept for virtual threads
+     */
+    ReusablePool(Supplier<T> factory, int maxShared) {
+        this.factory = factory;
+        this.perThread = ThreadLocal.withInitial(factory);
+        this.maxShared = maxShared;
+    }
+
+    /**
+     * Pool sized for the virtual thread scheduler, which runs at most one
+     * virtual thread per carrier at a time.
+     */
+    ReusablePool(Supplier<T> factory) {
+        this(factory, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    T acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return perThread.get();
+        }
+        T instance = shared.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        sharedSize.decrementAndGet();
+        return instance;
+    }
+
+    void release(T instance) {
+        if (!Thread.currentThread().isVirtual()) {
+            return; // Still held by the thread local
+        }
+        if (sharedSize.incrementAndGet() <= maxShared) {
+            shared.offer(instance);
+        } else {
+            sharedSize.decrementAndGet();
+        }
+    }
+}
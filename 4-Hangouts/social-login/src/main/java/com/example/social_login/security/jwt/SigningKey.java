@@ -0,0 +1,120 @@
+package com.example.social_login.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+
+/**
+ * One HMAC signing key with everything verification needs precomputed:
+ * the {@link SecretKey}, the exact encoded JWS header our tokens carry for
+ * it, the MAC length and reusable {@link Mac} instances already initialised
+ * with the key.
+ */
+public final class SigningKey {
+
+    private static final Pattern KID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final String kid;
+    private final SecretKey secretKey;
+    private final String encodedHeader;
+    private final int macLength;
+    private final ReusablePool<Mac> macs;
+
+    private SigningKey(String kid, SecretKey secretKey) {
+        this.kid = kid;
+        this.secretKey = secretKey;
+        // Same field order jjwt writes: kid (set by us) first, alg (set at compact time) last
+        String header = kid == null
+                ? "{\"alg\":\"" + jwsAlgorithm(secretKey) + "\"}"
+                : "{\"kid\":\"" + kid + "\",\"alg\":\"" + jwsAlgorithm(secretKey) + "\"}";
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(header.getBytes(StandardCharsets.US_ASCII));
+        this.macLength = newMac().getMacLength();
+        this.macs = new ReusablePool<>(this::newMac);
+    }
+
+    /**
+     * Creates a key identified by {@code kid}.
+     *
+     * @param kid    Key id, limited to {@code [A-Za-z0-9._-]} so it never needs JSON escaping
+     * @param secret Raw secret, at least 32 bytes
+     * @throws IllegalArgumentException if the kid or secret is unusable
+     */
+    public static SigningKey of(String kid, byte[] secret) {
+        if (!KID.matcher(kid).matches()) {
+            throw new IllegalArgumentException("Invalid kid: " + kid);
+        }
+        try {
+            return new SigningKey(kid, Keys.hmacShaKeyFor(secret));
+        } catch (WeakKeyException e) {
+            throw new IllegalArgumentException("Key '" + kid + "' is too short: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a key without a kid, used for tokens minted before key rotation.
+     */
+    public static SigningKey withoutKid(SecretKey secretKey) {
+        return new SigningKey(null, secretKey);
+    }
+
+    /**
+     * @return The key id, or null for the kid-less legacy key
+     */
+    public String kid() {
+        return kid;
+    }
+
+    public SecretKey secretKey() {
+        return secretKey;
+    }
+
+    /**
+     * @return The base64url header segment of tokens signed with this key
+     */
+    public String encodedHeader() {
+        return encodedHeader;
+    }
+
+    public int macLength() {
+        return macLength;
+    }
+
+    /**
+     * @return A MAC initialised with the key and ready for use; hand it back
+     *         with {@link #releaseMac} in a reset state
+     */
+    Mac acquireMac() {
+        return macs.acquire();
+    }
+
+    void releaseMac(Mac mac) {
+        macs.release(mac);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(secretKey.getAlgorithm());
+            instance.init(secretKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + secretKey.getAlgorithm(), e);
+        }
+    }
+
+    private static String jwsAlgorithm(SecretKey key) {
+        return switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Unsupported signing key algorithm: " + key.getAlgorithm());
+        };
+    }
+}
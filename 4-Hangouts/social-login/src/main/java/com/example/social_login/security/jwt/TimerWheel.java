@@ -0,0 +1,103 @@
+package com.example.social_login.security.jwt;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel: deadlines are bucketed into a ring of slots, one per
+ * tick, so expiring entries only looks at the slots the clock has passed
+ * instead of scanning everything scheduled.
+ *
+ * A deadline further away than one revolution shares its slot with nearer
+ * ones and is simply kept there until a later pass finds it due. Sizing the
+ * ring to cover the longest deadline keeps that to one visit per entry.
+ *
+ * Not thread-safe; callers serialise access.
+ *
+ * @param <K> Key reported when its deadline passes
+ */
+final class TimerWheel<K> {
+
+    private final ArrayList<Timer<K>>[] slots;
+    private final int mask;
+    private final long tickMillis;
+
+    private long currentTick; // Last tick whose slot has been expired
+    private int size;
+
+    /**
+     * @param slots      Number of slots, rounded up to a power of two
+     * @param tick       Time covered by one slot
+     * @param nowMillis  Current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    TimerWheel(int slots, Duration tick, long nowMillis) {
+        int length = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.slots = new ArrayList[length];
+        for (int i = 0; i < length; i++) {
+            this.slots[i] = new ArrayList<>();
+        }
+        this.mask = length - 1;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Slots needed for one revolution to cover a lifetime.
+     */
+    static int slotsFor(Duration lifetime, Duration tick) {
+        long ticks = lifetime.toMillis() / Math.max(1, tick.toMillis()) + 1;
+        return (int) Math.min(ticks, 1 << 16);
+    }
+
+    /**
+     * @param key            Key to report
+     * @param deadlineMillis When it is due, in epoch milliseconds
+     */
+    void schedule(K key, long deadlineMillis) {
+        // Round up, so an entry is never found in its slot before its deadline
+        long tick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        slots[(int) (tick & mask)].add(new Timer<>(key, deadlineMillis));
+        size++;
+    }
+
+    /**
+     * Expires the slots of every tick up to now.
+     *
+     * @param nowMillis Current time in epoch milliseconds
+     * @param expired   Receives each key whose deadline has passed
+     * @return Number of keys expired
+     */
+    int advance(long nowMillis, Consumer<K> expired) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+        // After a long pause every slot is due once, not once per missed revolution
+        long ticks = Math.min(targetTick - currentTick, slots.length);
+        int before = size;
+        for (long tick = currentTick + 1; tick <= currentTick + ticks; tick++) {
+            slots[(int) (tick & mask)].removeIf(timer -> {
+                if (timer.deadlineMillis() > nowMillis) {
+                    return false; // Due in a later revolution
+                }
+                expired.accept(timer.key());
+                size--;
+                return true;
+            });
+        }
+        currentTick = targetTick;
+        return before - size;
+    }
+
+    /**
+     * @return Number of scheduled keys
+     */
+    int size() {
+        return size;
+    }
+
+    private record Timer<K>(K key, long deadlineMillis) {
+    }
+}
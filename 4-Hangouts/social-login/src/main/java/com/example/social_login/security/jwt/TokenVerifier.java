@@ -0,0 +1,17 @@
+package com.example.social_login.security.jwt;
+
+/**
+ * Verifies a compact JWT and reports the verified principal or the
+ * reason it was rejected. Implementations must be thread-safe and must
+ * never throw for untrusted input.
+ */
+public interface TokenVerifier {
+
+    /**
+     * Verifies signature and expiration of the token.
+     *
+     * @param token The compact JWT, never null or blank
+     * @return The verified principal, or a failure result with its reason
+     */
+    VerifiedToken verify(String token);
+}
@@ -0,0 +1,62 @@
+package com.example.social_login.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Immutable result of verifying a JWT in a single parse, or of resolving
+ * an opaque token.
+ * Carries the verified principal on success, or the reason the token
+ * was rejected on failure.
+ *
+ * @param status    Outcome of the verification
+ * @param subject   The subject (email) claim, null unless valid
+ * @param tokenId   The token id (jti) claim, null unless valid and present
+ * @param issuedAt  The issued-at claim, null unless valid
+ * @param expiresAt The expiration claim, null unless valid
+ */
+public record VerifiedToken(
+        Status status,
+        String subject,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt) {
+
+    /**
+     * Verification outcome. Everything except {@link #VALID} is a failure reason.
+     */
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        UNSUPPORTED,
+        INVALID_CLAIMS,
+        REVOKED,
+        /** An opaque token the index does not hold: never issued, logged out or already dropped. */
+        UNKNOWN
+    }
+
+    /**
+     * Creates a successful verification result.
+     */
+    public static VerifiedToken valid(String subject, String tokenId, Instant issuedAt, Instant expiresAt) {
+        return new VerifiedToken(Status.VALID, subject, tokenId, issuedAt, expiresAt);
+    }
+
+    /**
+     * Creates a failed verification result carrying only the reason.
+     */
+    public static VerifiedToken failure(Status status) {
+        if (status == Status.VALID) {
+            throw new IllegalArgumentException("A failure cannot have status VALID");
+        }
+        return new VerifiedToken(status, null, null, null, null);
+    }
+
+    /**
+     * @return true if the token passed signature, expiration and revocation checks
+     */
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
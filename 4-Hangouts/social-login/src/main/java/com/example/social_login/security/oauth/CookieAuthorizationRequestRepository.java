@@ -0,0 +1,294 @@
+package com.example.social_login.security.oauth;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.oauth2.client.web.AuthorizationRequestRepository;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+import org.springframework.stereotype.Component;
+
+import com.example.social_login.config.AuthorizationRequestProperties;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.security.jwt.CookieUtils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps the OAuth2 authorization request in a short-lived cookie instead of
+ * the HTTP session, so login never creates a {@code JSESSIONID} and the
+ * provider callback can land on any node that shares the key.
+ *
+ * The request is written in a compact binary form (the authorization URI is
+ * rebuilt on load rather than stored) and sealed with AES-256-GCM, which both
+ * hides the PKCE verifier and nonce and authenticates the whole cookie.
+ * The sealing time is part of the plaintext, so a cookie older than
+ * {@code max-age} is rejected even if the browser kept it.
+ *
+ * Layout: {@code base64url(version | iv | ciphertext+tag)}, with the version
+ * byte and cookie name bound in as associated data.
+ */
+@Component
+public class CookieAuthorizationRequestRepository implements AuthorizationRequestRepository<OAuth2AuthorizationRequest> {
+
+    private static final Logger log = LoggerFactory.getLogger(CookieAuthorizationRequestRepository.class);
+
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    /** Browsers drop cookies over 4 KiB; leave room for the name and attributes. */
+    private static final int MAX_COOKIE_LENGTH = 3800;
+    private static final byte[] KEY_CONTEXT = "oauth2-authorization-request".getBytes(StandardCharsets.US_ASCII);
+
+    private final AuthorizationRequestProperties properties;
+    private final SecretKey key;
+    private final byte[] associatedData;
+    private final Clock clock;
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    public CookieAuthorizationRequestRepository(AuthorizationRequestProperties properties, JwtProperties jwtProperties) {
+        this(properties, deriveKey(properties.secret() != null ? properties.secret() : jwtProperties.secret()),
+                Clock.systemUTC());
+    }
+
+    CookieAuthorizationRequestRepository(AuthorizationRequestProperties properties, SecretKey key, Clock clock) {
+        this.properties = properties;
+        this.key = key;
+        this.clock = clock;
+        byte[] name = properties.cookieName().getBytes(StandardCharsets.US_ASCII);
+        this.associatedData = new byte[name.length + 1];
+        this.associatedData[0] = VERSION;
+        System.arraycopy(name, 0, associatedData, 1, name.length);
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest loadAuthorizationRequest(HttpServletRequest request) {
+        String state = request.getParameter(OAuth2ParameterNames.STATE);
+        if (state == null) {
+            return null;
+        }
+        OAuth2AuthorizationRequest authorizationRequest = CookieUtils
+                .getCookieValue(request, properties.cookieName())
+                .map(this::open)
+                .orElse(null);
+        return authorizationRequest != null && state.equals(authorizationRequest.getState())
+                ? authorizationRequest
+                : null;
+    }
+
+    @Override
+    public void saveAuthorizationRequest(
+            OAuth2AuthorizationRequest authorizationRequest,
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        if (authorizationRequest == null) {
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie("", true).toString());
+            return;
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie(seal(authorizationRequest), false).toString());
+    }
+
+    @Override
+    public OAuth2AuthorizationRequest removeAuthorizationRequest(
+            HttpServletRequest request,
+            HttpServletResponse response) {
+        OAuth2AuthorizationRequest authorizationRequest = loadAuthorizationRequest(request);
+        if (authorizationRequest != null) {
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie("", true).toString());
+        }
+        return authorizationRequest;
+    }
+
+    /**
+     * Serializes and encrypts a request into a cookie value.
+     *
+     * @throws IllegalStateException if the request carries non-string
+     *                               parameters or does not fit in a cookie
+     */
+    public String seal(OAuth2AuthorizationRequest authorizationRequest) {
+        byte[] plaintext = serialize(authorizationRequest, clock.instant());
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] sealed;
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            sealed = new byte[1 + IV_LENGTH + ciphertext.length];
+            sealed[0] = VERSION;
+            System.arraycopy(iv, 0, sealed, 1, IV_LENGTH);
+            System.arraycopy(ciphertext, 0, sealed, 1 + IV_LENGTH, ciphertext.length);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot seal authorization request", e);
+        }
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(sealed);
+        if (value.length() > MAX_COOKIE_LENGTH) {
+            throw new IllegalStateException("Authorization request is too large for a cookie: " + value.length());
+        }
+        return value;
+    }
+
+    /**
+     * Decrypts and deserializes a cookie value.
+     *
+     * @return The request, or null if the value is forged, corrupt or expired
+     */
+    public OAuth2AuthorizationRequest open(String value) {
+        try {
+            byte[] sealed = Base64.getUrlDecoder().decode(value);
+            if (sealed.length <= 1 + IV_LENGTH || sealed[0] != VERSION) {
+                return null;
+            }
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, sealed, 1, IV_LENGTH));
+            cipher.updateAAD(associatedData);
+            byte[] plaintext = cipher.doFinal(sealed, 1 + IV_LENGTH, sealed.length - 1 - IV_LENGTH);
+            return deserialize(plaintext);
+        } catch (IllegalArgumentException | IOException | GeneralSecurityException e) {
+            log.debug("Rejected authorization request cookie: {}", e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Builds the cookie holding a sealed request.
+     *
+     * @param value The sealed request (empty string to clear cookie)
+     * @param clear If true, creates a cookie with maxAge=0 to clear it
+     */
+    public ResponseCookie cookie(String value, boolean clear) {
+        return ResponseCookie.from(properties.cookieName(), value)
+                .httpOnly(true)
+                .secure(false) // Set to true in production with HTTPS
+                .sameSite("Lax") // Still sent on the provider's top-level redirect back to us
+                .path("/")
+                .maxAge(clear ? 0 : properties.maxAge().toSeconds())
+                .build();
+    }
+
+    private static byte[] serialize(OAuth2AuthorizationRequest request, Instant now) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(now.getEpochSecond());
+            writeString(out, request.getAuthorizationUri());
+            writeString(out, request.getClientId());
+            writeString(out, request.getRedirectUri());
+            writeString(out, request.getState());
+            out.writeShort(request.getScopes().size());
+            for (String scope : request.getScopes()) {
+                writeString(out, scope);
+            }
+            writeMap(out, request.getAdditionalParameters());
+            writeMap(out, request.getAttributes());
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Cannot happen with an in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    private OAuth2AuthorizationRequest deserialize(byte[] plaintext) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(plaintext));
+        Instant sealedAt = Instant.ofEpochSecond(in.readLong());
+        if (clock.instant().isAfter(sealedAt.plus(properties.maxAge()))) {
+            return null;
+        }
+        String authorizationUri = readString(in);
+        String clientId = readString(in);
+        String redirectUri = readString(in);
+        String state = readString(in);
+        Set<String> scopes = new LinkedHashSet<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            scopes.add(readString(in));
+        }
+        Map<String, Object> additionalParameters = readMap(in);
+        Map<String, Object> attributes = readMap(in);
+        // The authorization request URI is not stored; build() derives it from the fields above
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri(authorizationUri)
+                .clientId(clientId)
+                .redirectUri(redirectUri)
+                .state(state)
+                .scopes(scopes)
+                .additionalParameters(additionalParameters)
+                .attributes(attributes)
+                .build();
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, Object> map) throws IOException {
+        out.writeShort(map.size());
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!(entry.getValue() instanceof String value)) {
+                throw new IllegalStateException("Only string values can be stored, not " + entry.getKey());
+            }
+            writeString(out, entry.getKey());
+            writeString(out, value);
+        }
+    }
+
+    private static Map<String, Object> readMap(DataInputStream in) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = in.readUnsignedShort(); i > 0; i--) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Derives the AES key from the configured secret, so the JWT signing key
+     * itself is never used for encryption. Without any secret a random key
+     * is used, which only works while a login starts and ends on this node.
+     */
+    static SecretKey deriveKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("No secret for authorization request cookies; logins must complete on the node that started them");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return new SecretKeySpec(random, "AES");
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return new SecretKeySpec(mac.doFinal(KEY_CONTEXT), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive authorization request key", e);
+        }
+    }
+}
@@ -10,8 +10,12 @@ import org.springframework.stereotype.Component;
 
 import com.example.social_login.config.AppProperties;
 import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
 import com.example.social_login.security.jwt.CookieUtils;
+import com.example.social_login.security.jwt.JwtMetrics;
 import com.example.social_login.security.jwt.JwtService;
+import com.example.social_login.security.refresh.RefreshTokenService;
+import com.example.social_login.user.UserProfileService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -19,7 +23,9 @@ import jakarta.servlet.http.HttpServletResponse;
 /**
  * Handles successful OAuth2 authentication by issuing a JWT token.
  * The JWT is stored in an HttpOnly cookie and the user is redirected
- * to the frontend application.
+ * to the frontend application. When enabled, a refresh token is issued
+ * alongside it in a second cookie scoped to the refresh endpoint. The
+ * provider's profile is saved for {@code /api/me}.
  */
 @Component
 public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHandler {
@@ -27,14 +33,26 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
     private final JwtService jwtService;
     private final JwtProperties jwtProperties;
     private final AppProperties appProperties;
+    private final RefreshTokenService refreshTokenService;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final JwtMetrics metrics;
+    private final UserProfileService userProfileService;
 
     public OAuth2LoginSuccessHandler(
             JwtService jwtService,
             JwtProperties jwtProperties,
-            AppProperties appProperties) {
+            AppProperties appProperties,
+            RefreshTokenService refreshTokenService,
+            RefreshTokenProperties refreshTokenProperties,
+            JwtMetrics metrics,
+            UserProfileService userProfileService) {
         this.jwtService = jwtService;
         this.jwtProperties = jwtProperties;
         this.appProperties = appProperties;
+        this.refreshTokenService = refreshTokenService;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.metrics = metrics;
+        this.userProfileService = userProfileService;
     }
 
     @Override
@@ -46,14 +64,25 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         OAuth2User oauthUser = (OAuth2User) authentication.getPrincipal();
         String email = oauthUser.getAttribute("email");
 
-        // Generate JWT token for the authenticated user
+        // Keep the provider's profile so /api/me never has to ask for it again
+        userProfileService.recordLogin(authentication);
+
+        // Generate the access token (a JWT, or an opaque token in OPAQUE mode)
         String jwt = jwtService.generateToken(email);
+        metrics.tokenMinted(JwtMetrics.Source.OAUTH2_LOGIN);
 
         // Build secure HttpOnly cookie using centralized utility
         var cookie = CookieUtils.buildJwtCookie(jwt, jwtProperties, false);
 
         response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
+        // Start a refresh token family so the access token can be renewed without a provider round-trip
+        if (refreshTokenProperties.enabled()) {
+            var refreshToken = refreshTokenService.issue(email);
+            var refreshCookie = CookieUtils.buildRefreshCookie(refreshToken.value(), refreshTokenProperties, false);
+            response.addHeader(HttpHeaders.SET_COOKIE, refreshCookie.toString());
+        }
+
         // Redirect to frontend (no token in URL)
         response.sendRedirect(appProperties.frontendUrl());
     }
@@ -0,0 +1,95 @@
+package com.example.social_login.security.oauth;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived cache for documents fetched from OAuth2 providers, keyed by
+ * URL. ID token decoders read their JWK set through it, so a login only
+ * calls the provider's {@code jwks_uri} when the entry has expired or the
+ * token names a key the cached set doesn't have (the decoder evicts the entry
+ * and refetches, which picks up key rotation straight away).
+ *
+ * Concurrent misses for the same URL share one fetch.
+ */
+public class ProviderMetadataCache extends AbstractValueAdaptingCache {
+
+    public static final String NAME = "oauth2.provider.metadata";
+
+    private final AsyncCache<Object, Object> cache;
+
+    /**
+     * @param ttl How long a fetched document is reused
+     */
+    public ProviderMetadataCache(Duration ttl) {
+        super(false);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(1_000)
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public AsyncCache<Object, Object> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return cache.synchronous().getIfPresent(key);
+    }
+
+    /**
+     * Loads on the calling thread, outside the map's locks: the first caller
+     * installs a pending entry and fetches, later callers wait on it. A
+     * loader blocked on the network inside {@code compute} would pin its
+     * carrier thread under virtual threads (before Java 24).
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> entry = cache.get(key, (k, executor) -> pending);
+        if (entry == pending) {
+            try {
+                pending.complete(toStoreValue(valueLoader.call()));
+            } catch (Exception e) {
+                pending.completeExceptionally(e); // Failed entries are dropped, the next call retries
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        try {
+            return (T) fromStoreValue(entry.join());
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.synchronous().put(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.synchronous().invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        cache.synchronous().invalidateAll();
+    }
+}
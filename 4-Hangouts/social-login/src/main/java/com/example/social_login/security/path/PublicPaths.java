@@ -0,0 +1,58 @@
+package com.example.social_login.security.path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.example.social_login.config.RefreshTokenProperties;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The single list of endpoints that need no authentication. SecurityConfig
+ * permits them, and the JWT filter skips them entirely.
+ */
+@Component
+public class PublicPaths {
+
+    /**
+     * Landing page, public API, OAuth2 login flow and logout.
+     */
+    private static final List<String> DEFAULTS = List.of("/", "/api/public", "/oauth2/**", "/login", "/logout");
+
+    private final List<String> patterns;
+    private final CompiledPathMatcher matcher;
+
+    public PublicPaths(RefreshTokenProperties refreshTokenProperties) {
+        List<String> all = new ArrayList<>(DEFAULTS);
+        // The refresh endpoint authenticates with its own cookie
+        all.add(refreshTokenProperties.path());
+        this.patterns = List.copyOf(all);
+        this.matcher = CompiledPathMatcher.compile(patterns);
+    }
+
+    /**
+     * @return The patterns, for {@code requestMatchers(...)}
+     */
+    public String[] patterns() {
+        return patterns.toArray(String[]::new);
+    }
+
+    /**
+     * @return true if the request targets a public endpoint
+     */
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return matches(contextPath.isEmpty() ? uri : uri.substring(contextPath.length()));
+    }
+
+    /**
+     * @param path The request path within the application, without the context path
+     * @return true if the path is a public endpoint
+     */
+    public boolean matches(String path) {
+        return matcher.matches(path);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.social_login.security.profiling;
+
+import java.io.IOException;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * Measures one filter's own time and allocation. On a sampled request the
+ * downstream chain is wrapped so the clock stops while the rest of the
+ * chain runs and restarts when it returns.
+ */
+final class ProfilingFilter implements Filter {
+
+    private final Filter delegate;
+    private final FilterStats stats;
+    private final FilterChainProfiler profiler;
+
+    ProfilingFilter(Filter delegate, FilterStats stats, FilterChainProfiler profiler) {
+        this.delegate = delegate;
+        this.stats = stats;
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!profiler.sample()) {
+            delegate.doFilter(request, response, chain);
+            return;
+        }
+        Measurement measurement = new Measurement(chain, profiler);
+        measurement.resume();
+        try {
+            delegate.doFilter(request, response, measurement);
+        } finally {
+            measurement.pause();
+            stats.record(measurement.nanos, measurement.bytes);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Profiling(" + delegate + ")";
+    }
+
+    /**
+     * Downstream chain that excludes its own time from the filter's.
+     */
+    private static final class Measurement implements FilterChain {
+
+        private final FilterChain next;
+        private final FilterChainProfiler profiler;
+        private long nanos;
+        private long bytes;
+        private long startNanos;
+        private long startBytes;
+
+        Measurement(FilterChain next, FilterChainProfiler profiler) {
+            this.next = next;
+            this.profiler = profiler;
+        }
+
+        void resume() {
+            startBytes = profiler.allocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        void pause() {
+            nanos += System.nanoTime() - startNanos;
+            long allocated = profiler.allocatedBytes();
+            bytes = allocated < 0 ? -1 : bytes + allocated - startBytes;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response)
+                throws IOException, ServletException {
+            pause();
+            try {
+                next.doFilter(request, response);
+            } finally {
+                resume();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.social_login.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate per-key request counts over a sliding window, in fixed
+ * memory: a count-min sketch per window, the current and the previous one.
+ *
+ * A key's count is the smallest of its {@value #DEPTH} counters, one per
+ * row, so keys sharing a counter can only make a count too high, never too
+ * low. Updates are conservative: each counter is raised to the new count
+ * rather than incremented, so a counter shared with a busier key doesn't
+ * drift further up. The sliding count weights the previous window by how
+ * much of it still overlaps, as a fixed-window counter would otherwise allow
+ * twice the rate across a window boundary.
+ *
+ * Counters are updated without locks. Requests racing each other may be
+ * counted once, and a request racing a window change may be counted in the
+ * window that just ended, both of which the estimate tolerates.
+ */
+final class CountMinSketch {
+
+    private static final int DEPTH = 4;
+
+    private final int width;
+    private final long windowNanos;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    /**
+     * @param width  Counters per row, a power of two
+     * @param window Length of one window
+     */
+    CountMinSketch(int width, Duration window) {
+        this.width = width;
+        this.windowNanos = window.toNanos();
+    }
+
+    /**
+     * Counts one request for a key unless that would exceed the limit.
+     *
+     * @param hash     The key's hash
+     * @param limit    Requests allowed per window
+     * @param nowNanos {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until
+     *         the current window ends
+     */
+    long acquire(long hash, long limit, long nowNanos) {
+        Window window = advance(nowNanos);
+        Window before = previous;
+        int estimate = window.estimate(hash);
+        double count = estimate;
+        if (before != null && window.start - before.start == windowNanos) {
+            double overlap = 1 - (double) (nowNanos - window.start) / windowNanos;
+            count += before.estimate(hash) * overlap;
+        }
+        if (count + 1 > limit) {
+            return Math.max(1, window.start + windowNanos - nowNanos);
+        }
+        window.increment(hash, estimate);
+        return 0;
+    }
+
+    private Window advance(long now) {
+        Window window = current;
+        if (window != null && now - window.start < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (window == null) {
+                window = new Window(now, width);
+            } else if (now - window.start >= windowNanos) {
+                long elapsed = (now - window.start) / windowNanos;
+                previous = window;
+                window = new Window(window.start + elapsed * windowNanos, width);
+            } else {
+                return window;
+            }
+            current = window;
+            return window;
+        }
+    }
+
+    /**
+     * One window's counters, {@value #DEPTH} rows of {@code width}.
+     */
+    private static final class Window {
+
+        private final long start;
+        private final AtomicIntegerArray counters;
+        private final int mask;
+
+        Window(long start, int width) {
+            this.start = start;
+            this.counters = new AtomicIntegerArray(DEPTH * width);
+            this.mask = width - 1;
+        }
+
+        int estimate(long hash) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters.get(index(hash, row)));
+            }
+            return min;
+        }
+
+        void increment(long hash, int estimate) {
+            for (int row = 0; row < DEPTH; row++) {
+                counters.accumulateAndGet(index(hash, row), estimate + 1, Math::max);
+            }
+        }
+
+        /**
+         * Row {@code i} uses {@code low + i * high} (Kirsch and Mitzenmacher),
+         * so one 64-bit hash serves every row.
+         */
+        private int index(long hash, int row) {
+            int low = (int) hash;
+            int high = (int) (hash >>> 32) | 1;
+            return row * (mask + 1) + ((low + row * high) & mask);
+        }
+    }
+}
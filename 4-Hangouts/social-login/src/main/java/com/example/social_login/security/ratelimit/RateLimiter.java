@@ -0,0 +1,221 @@
+package com.example.social_login.security.ratelimit;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets for any number of keys (client IPs, user names) in a fixed
+ * amount of memory.
+ *
+ * Each bucket is a single timestamp, the generic cell rate algorithm's
+ * theoretical arrival time: a key may send {@code requests} at once, then
+ * one more every {@code period / requests}. Buckets live in an open-addressed
+ * table split into stripes, each behind its own lock, so threads only
+ * contend when they hit the same stripe. A slot whose bucket has refilled
+ * completely holds no information and is reused for the next key.
+ *
+ * When every slot a key could go to holds a bucket still refilling, the key
+ * is counted in its limit's {@link CountMinSketch} instead. Heavy hitters
+ * keep their exact buckets; the long tail of occasional keys is limited
+ * approximately (a sketch can only overcount), and the table never grows.
+ *
+ * Keys are identified by a seeded 64-bit hash, so they are never stored.
+ */
+public class RateLimiter {
+
+    /**
+     * Slots a key may occupy, starting at its home slot.
+     */
+    private static final int PROBES = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final int slotMask;
+    private final int sketchWidth;
+    private final SecureRandom random = new SecureRandom();
+    private final LongAdder approximate = new LongAdder();
+
+    /**
+     * @param trackedKeys Keys kept exactly, rounded up so every stripe has a
+     *                    power of two slots
+     * @param stripes     Number of locks, rounded up to a power of two
+     * @param sketchWidth Counters per sketch row, rounded up to a power of two
+     */
+    public RateLimiter(int trackedKeys, int stripes, int sketchWidth) {
+        int stripeCount = powerOfTwo(stripes);
+        int slots = Math.max(PROBES, powerOfTwo(Math.ceilDiv(trackedKeys, stripeCount)));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(slots);
+        }
+        this.stripeMask = stripeCount - 1;
+        this.slotMask = slots - 1;
+        this.sketchWidth = powerOfTwo(sketchWidth);
+    }
+
+    /**
+     * Creates a limit whose keys are counted separately from every other
+     * limit's.
+     *
+     * @param requests Requests allowed per period, at least 1
+     * @param period   Period they are counted over
+     */
+    public Limit limit(long requests, Duration period) {
+        if (requests <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Limit must allow at least one request per period");
+        }
+        return new Limit(requests, period.toNanos(), random.nextLong(), new CountMinSketch(sketchWidth, period));
+    }
+
+    /**
+     * Takes one request from a key's bucket.
+     *
+     * @param limit     The limit to apply
+     * @param key       Client IP, user name or other identity
+     * @param nowNanos  {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise the nanoseconds until it
+     *         would be
+     */
+    public long acquire(Limit limit, String key, long nowNanos) {
+        long hash = limit.hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        synchronized (stripe) {
+            int slot = stripe.find(hash, (int) hash & slotMask, slotMask, nowNanos);
+            if (slot >= 0) {
+                return stripe.acquire(slot, limit, nowNanos);
+            }
+        }
+        approximate.increment();
+        return limit.sketch.acquire(hash, limit.requests, nowNanos);
+    }
+
+    /**
+     * @return Keys currently holding a bucket, including buckets that have
+     *         refilled and will be reused
+     */
+    public int trackedKeys() {
+        int keys = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                keys += stripe.size;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return Bucket slots, the most keys tracked exactly
+     */
+    public int capacity() {
+        return stripes.length * (slotMask + 1);
+    }
+
+    /**
+     * @return Requests decided by a sketch because the table had no slot for the key
+     */
+    public long approximateDecisions() {
+        return approximate.sum();
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * A rate, with its own hash seed so the same key has one bucket per limit.
+     */
+    public static final class Limit {
+
+        private final long requests;
+        private final long periodNanos;
+        private final long intervalNanos;
+        private final long seed;
+        private final CountMinSketch sketch;
+
+        private Limit(long requests, long periodNanos, long seed, CountMinSketch sketch) {
+            this.requests = requests;
+            this.periodNanos = periodNanos;
+            this.intervalNanos = Math.max(1, periodNanos / requests);
+            this.seed = seed;
+            this.sketch = sketch;
+        }
+
+        /**
+         * @return Requests allowed per period
+         */
+        public long requests() {
+            return requests;
+        }
+
+        /**
+         * FNV-1a over the characters, finished with MurmurHash3's mixer.
+         * Never 0, which marks an empty slot.
+         */
+        long hash(String key) {
+            long h = seed ^ 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h != 0 ? h : 1;
+        }
+    }
+
+    /**
+     * One lock's share of the buckets: key hashes and theoretical arrival
+     * times in parallel arrays. Guarded by its own monitor.
+     */
+    private static final class Stripe {
+
+        private final long[] keys;
+        private final long[] arrivals;
+        private int size;
+
+        Stripe(int slots) {
+            this.keys = new long[slots];
+            this.arrivals = new long[slots];
+        }
+
+        /**
+         * @return The key's slot, claiming a free or refilled one if it has
+         *         none, or -1 if every candidate is still in use
+         */
+        int find(long hash, int home, int mask, long now) {
+            int free = -1;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (home + i) & mask;
+                long key = keys[slot];
+                if (key == hash) {
+                    return slot;
+                }
+                if (free < 0 && (key == 0 || arrivals[slot] - now <= 0)) {
+                    free = slot;
+                }
+            }
+            if (free >= 0) {
+                if (keys[free] == 0) {
+                    size++;
+                }
+                keys[free] = hash;
+                arrivals[free] = now; // A full bucket
+            }
+            return free;
+        }
+
+        long acquire(int slot, Limit limit, long now) {
+            long arrival = arrivals[slot] - now > 0 ? arrivals[slot] : now;
+            long next = arrival + limit.intervalNanos;
+            long wait = next - now - limit.periodNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            arrivals[slot] = next;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.social_login.security.refresh;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link RefreshTokenStore} that keeps the in-memory maps and appends every
+ * change to a local log file, so refresh tokens survive a restart.
+ *
+ * The log has one tab-separated record per line:
+ * <pre>
+ * S  hash  familyId  base64(subject)  issuedAtMs  expiresAtMs   saved
+ * U  hash                                                     used
+ * R  familyId  untilMs                                         family revoked
+ * </pre>
+ * The file is replayed on startup and rewritten with only the live entries
+ * whenever expired entries are purged. A torn last line from a crash is
+ * ignored.
+ */
+public class FileRefreshTokenStore extends InMemoryRefreshTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileRefreshTokenStore.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Path file;
+
+    // Guarded by this
+    private BufferedWriter writer;
+
+    /**
+     * @param file Log file, created if missing
+     * @throws IllegalStateException if the file cannot be read or opened
+     */
+    public FileRefreshTokenStore(Path file) {
+        this.file = file;
+        try {
+            if (Files.exists(file)) {
+                replay(Files.readAllLines(file, StandardCharsets.UTF_8));
+            } else if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open refresh token store " + file, e);
+        }
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        super.save(token);
+        append(saveRecord(token));
+        if (token.used()) {
+            append("U\t" + token.hash());
+        }
+    }
+
+    @Override
+    public boolean markUsed(String hash) {
+        boolean marked = super.markUsed(hash);
+        if (marked) {
+            append("U\t" + hash);
+        }
+        return marked;
+    }
+
+    @Override
+    public void revokeFamily(String familyId, Instant until) {
+        super.revokeFamily(familyId, until);
+        append("R\t" + familyId + "\t" + until.toEpochMilli());
+    }
+
+    @Override
+    public synchronized int purgeExpired(Instant now) {
+        int removed = super.purgeExpired(now);
+        if (removed > 0) {
+            compact();
+        }
+        return removed;
+    }
+
+    /**
+     * Closes the log file.
+     */
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Cannot close refresh token store {}: {}", file, e.getMessage());
+        }
+    }
+
+    private synchronized void append(String record) {
+        try {
+            writer.write(record);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write refresh token store " + file, e);
+        }
+    }
+
+    /**
+     * Rewrites the log with only the live entries, then swaps it in atomically.
+     */
+    private void compact() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (RefreshToken token : tokens()) {
+                    out.write(saveRecord(token));
+                    out.newLine();
+                    if (token.used()) {
+                        out.write("U\t" + token.hash());
+                        out.newLine();
+                    }
+                }
+                for (Map.Entry<String, Instant> revoked : revokedFamilies().entrySet()) {
+                    out.write("R\t" + revoked.getKey() + "\t" + revoked.getValue().toEpochMilli());
+                    out.newLine();
+                }
+            }
+            writer.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact refresh token store " + file, e);
+        }
+    }
+
+    private void replay(List<String> lines) {
+        int skipped = 0;
+        for (String line : lines) {
+            String[] fields = line.split("\t");
+            try {
+                switch (fields[0]) {
+                    case "S" -> super.save(new RefreshToken(
+                            fields[1],
+                            fields[2],
+                            new String(DECODER.decode(fields[3]), StandardCharsets.UTF_8),
+                            Instant.ofEpochMilli(Long.parseLong(fields[4])),
+                            Instant.ofEpochMilli(Long.parseLong(fields[5])),
+                            false));
+                    case "U" -> super.markUsed(fields[1]);
+                    case "R" -> super.revokeFamily(fields[1], Instant.ofEpochMilli(Long.parseLong(fields[2])));
+                    default -> skipped++;
+                }
+            } catch (RuntimeException e) {
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} unreadable record(s) in refresh token store {}", skipped, file);
+        }
+    }
+
+    private static String saveRecord(RefreshToken token) {
+        return "S\t" + token.hash()
+                + "\t" + token.familyId()
+                + "\t" + ENCODER.encodeToString(token.subject().getBytes(StandardCharsets.UTF_8))
+                + "\t" + token.issuedAt().toEpochMilli()
+                + "\t" + token.expiresAt().toEpochMilli();
+    }
+}
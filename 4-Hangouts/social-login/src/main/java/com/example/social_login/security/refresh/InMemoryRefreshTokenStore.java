@@ -0,0 +1,73 @@
+package com.example.social_login.security.refresh;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RefreshTokenStore} kept in concurrent maps. Tokens do not survive
+ * a restart; users then fall back to a full OAuth2 login.
+ */
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Instant> revokedFamilies = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(RefreshToken token) {
+        tokens.put(token.hash(), token);
+    }
+
+    @Override
+    public Optional<RefreshToken> find(String hash) {
+        return Optional.ofNullable(tokens.get(hash));
+    }
+
+    @Override
+    public boolean markUsed(String hash) {
+        boolean[] marked = new boolean[1];
+        // computeIfPresent runs atomically per key, so only one caller can win
+        tokens.computeIfPresent(hash, (key, token) -> {
+            if (token.used()) {
+                return token;
+            }
+            marked[0] = true;
+            return token.markUsed();
+        });
+        return marked[0];
+    }
+
+    @Override
+    public void revokeFamily(String familyId, Instant until) {
+        revokedFamilies.merge(familyId, until, (a, b) -> a.isAfter(b) ? a : b);
+        tokens.values().removeIf(token -> token.familyId().equals(familyId));
+    }
+
+    @Override
+    public boolean isFamilyRevoked(String familyId) {
+        return revokedFamilies.containsKey(familyId);
+    }
+
+    @Override
+    public int purgeExpired(Instant now) {
+        int before = tokens.size() + revokedFamilies.size();
+        tokens.values().removeIf(token -> token.isExpired(now));
+        revokedFamilies.values().removeIf(until -> !now.isBefore(until));
+        return Math.max(0, before - tokens.size() - revokedFamilies.size());
+    }
+
+    /**
+     * @return Live tokens, for compaction by subclasses
+     */
+    Iterable<RefreshToken> tokens() {
+        return tokens.values();
+    }
+
+    /**
+     * @return Live revocation records, for compaction by subclasses
+     */
+    Map<String, Instant> revokedFamilies() {
+        return revokedFamilies;
+    }
+}
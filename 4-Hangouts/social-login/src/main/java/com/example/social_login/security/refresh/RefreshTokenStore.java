@@ -0,0 +1,52 @@
+package com.example.social_login.security.refresh;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Storage for refresh tokens and revoked token families.
+ * Implementations must be safe for concurrent use.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Stores a newly issued token.
+     */
+    void save(RefreshToken token);
+
+    /**
+     * @param hash Hash of the token value
+     * @return The token, if known
+     */
+    Optional<RefreshToken> find(String hash);
+
+    /**
+     * Atomically marks a token as rotated.
+     *
+     * @param hash Hash of the token value
+     * @return true if this call marked it; false if it was already used or unknown
+     */
+    boolean markUsed(String hash);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId The family to revoke
+     * @param until    When the revocation record can be forgotten because
+     *                 every token of the family has expired
+     */
+    void revokeFamily(String familyId, Instant until);
+
+    /**
+     * @return true if the family has been revoked
+     */
+    boolean isFamilyRevoked(String familyId);
+
+    /**
+     * Drops expired tokens and revocation records that are no longer needed.
+     *
+     * @param now The current time
+     * @return Number of entries removed
+     */
+    int purgeExpired(Instant now);
+}
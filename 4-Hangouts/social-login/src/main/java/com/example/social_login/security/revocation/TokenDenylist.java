@@ -0,0 +1,157 @@
+package com.example.social_login.security.revocation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Revoked token ids ({@code jti}), each kept until the token's own expiry.
+ *
+ * The per-request check first asks a lock-free {@link BloomFilter}; almost
+ * every token is not revoked, so the filter answers "no" after hashing the
+ * jti once. Only a positive consults the exact set, which tells a real
+ * revocation apart from a false positive.
+ *
+ * A Bloom filter cannot forget entries, so {@link #rebuild()} periodically
+ * drops expired ids and replaces the filter with one built from the live
+ * set, resized to the current load. Revocations and rebuilds are rare and
+ * serialised; the check never takes a lock.
+ */
+public class TokenDenylist implements MeterBinder {
+
+    /** Rough heap cost of one exact-set entry: map node, jti string and Instant. */
+    private static final long BYTES_PER_ENTRY = 160;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Clock clock;
+
+    // Replaced wholesale by rebuild(); writers are serialised on this, readers never lock
+    private volatile BloomFilter filter;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterPositives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * @param expectedInsertions Minimum number of revoked tokens the filter is sized for
+     * @param falsePositiveRate  Target false-positive rate of the filter
+     * @param clock              Clock used to expire entries
+     */
+    public TokenDenylist(long expectedInsertions, double falsePositiveRate, Clock clock) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a token until it expires on its own.
+     *
+     * @param tokenId   The token's jti
+     * @param expiresAt The token's exp
+     */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (!clock.instant().isBefore(expiresAt)) {
+            return; // Already expired, nothing to deny
+        }
+        // Exact set first: a filter positive must always find its entry
+        revoked.merge(tokenId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+        filter.put(tokenId);
+    }
+
+    /**
+     * @param tokenId The token's jti, may be null for tokens minted without one
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterPositives.increment();
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Drops expired ids and rebuilds the filter from the live ones.
+     *
+     * @return Number of ids dropped
+     */
+    public synchronized int rebuild() {
+        Instant now = clock.instant();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !now.isBefore(expiresAt));
+        int removed = Math.max(0, before - revoked.size());
+
+        // Leave headroom so the filter stays near its target rate until the next rebuild
+        BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, 2L * revoked.size()), falsePositiveRate);
+        revoked.keySet().forEach(next::put);
+        filter = next;
+        return removed;
+    }
+
+    /**
+     * @return Number of revoked tokens not yet expired
+     */
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * @return Estimated heap used by the filter and the exact set, in bytes
+     */
+    public long memoryBytes() {
+        return filter.sizeInBytes() + revoked.size() * BYTES_PER_ENTRY;
+    }
+
+    /**
+     * @return Share of non-revoked lookups that the filter let through to the exact set
+     */
+    public double observedFalsePositiveRate() {
+        long negatives = checks.sum() - (filterPositives.sum() - falsePositives.sum());
+        return negatives > 0 ? (double) falsePositives.sum() / negatives : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revocation.entries", this, TokenDenylist::size)
+                .description("Revoked tokens not yet expired")
+                .register(registry);
+        Gauge.builder("jwt.revocation.memory", this, TokenDenylist::memoryBytes)
+                .description("Estimated heap used by the revocation filter and set")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("jwt.revocation.filter.size", this, d -> d.filter.sizeInBytes())
+                .description("Size of the revocation Bloom filter bit array")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("jwt.revocation.filter.fpp.expected", this, d -> d.filter.expectedFalsePositiveRate())
+                .description("Theoretical false-positive rate of the revocation Bloom filter")
+                .register(registry);
+        Gauge.builder("jwt.revocation.filter.fpp.observed", this, TokenDenylist::observedFalsePositiveRate)
+                .description("Measured false-positive rate of the revocation Bloom filter")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.checks", checks, LongAdder::sum)
+                .description("Revocation checks performed")
+                .register(registry);
+        FunctionCounter.builder("jwt.revocation.filter.false.positives", falsePositives, LongAdder::sum)
+                .description("Filter positives not found in the exact set")
+                .register(registry);
+    }
+}
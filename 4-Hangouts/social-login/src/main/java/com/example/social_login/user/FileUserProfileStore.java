@@ -0,0 +1,267 @@
+package com.example.social_login.user;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link UserProfileStore} backed by an append-only log file, so profiles
+ * survive a restart without keeping every one of them in memory.
+ *
+ * The log has one tab-separated record per line; the last record for an
+ * email wins:
+ * <pre>
+ * P  base64(email)  base64(provider)  base64(name)  base64(username)  base64(avatarUrl)  firstLoginMs  lastLoginMs
+ * </pre>
+ * Only an index of where each email's latest record starts is kept in
+ * memory, and {@link #find} reads that record back from the file.
+ *
+ * Writes are batched: {@link #save} only queues the profile, and
+ * {@link #flush} appends everything queued in a single write. A caller that
+ * finds the queue full flushes it itself, so the backlog stays bounded. On
+ * open the log is replayed, a torn last line from a crash is cut off, and the
+ * file is compacted if most of its records have been superseded.
+ */
+public class FileUserProfileStore implements UserProfileStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FileUserProfileStore.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Path file;
+    private final int maxPending;
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+    private final Map<String, UserProfile> pending = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private FileChannel channel;
+    private long end;
+
+    /**
+     * @param file       Log file, created if missing
+     * @param maxPending Most queued profiles before a save flushes them
+     * @throws IllegalStateException if the file cannot be read or opened
+     */
+    public FileUserProfileStore(Path file, int maxPending) {
+        this.file = file;
+        this.maxPending = maxPending;
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            this.channel = open(file);
+            int records = replay();
+            if (records > 2 * index.size()) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open user profile store " + file, e);
+        }
+    }
+
+    @Override
+    public void save(UserProfile profile) {
+        pending.put(profile.email(), profile);
+        if (pending.size() >= maxPending) {
+            flush();
+        }
+    }
+
+    @Override
+    public Optional<UserProfile> find(String email) {
+        UserProfile queued = pending.get(email);
+        if (queued != null) {
+            return Optional.of(queued);
+        }
+        Slot slot = index.get(email);
+        return slot == null ? Optional.empty() : Optional.of(read(slot));
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<UserProfile> batch = new ArrayList<>(pending.values());
+        List<Slot> slots = new ArrayList<>(batch.size());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(batch.size() * 160);
+        for (UserProfile profile : batch) {
+            byte[] record = encode(profile);
+            slots.add(new Slot(end + out.size(), record.length));
+            out.writeBytes(record);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, end + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write user profile store " + file, e);
+        }
+        end += out.size();
+        // Index before dequeuing, so find() always sees one or the other
+        for (int i = 0; i < batch.size(); i++) {
+            UserProfile profile = batch.get(i);
+            index.put(profile.email(), slots.get(i));
+            pending.remove(profile.email(), profile);
+        }
+    }
+
+    /**
+     * Flushes queued profiles and closes the log file.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            flush();
+            channel.close();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Cannot close user profile store {}: {}", file, e.getMessage());
+        }
+    }
+
+    private UserProfile read(Slot slot) {
+        ByteBuffer buffer = ByteBuffer.allocate(slot.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, slot.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read user profile store " + file, e);
+        }
+        return decode(buffer.array(), slot.length());
+    }
+
+    /**
+     * Indexes every record and cuts off a torn last line.
+     *
+     * @return Number of records read, live or superseded
+     */
+    private int replay() throws IOException {
+        int records = 0;
+        int skipped = 0;
+        long offset = 0;
+        long lineStart = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                offset++;
+                line.write(b);
+                if (b == '\n') {
+                    try {
+                        UserProfile profile = decode(line.toByteArray(), line.size());
+                        index.put(profile.email(), new Slot(lineStart, line.size()));
+                        records++;
+                    } catch (RuntimeException e) {
+                        skipped++;
+                    }
+                    line.reset();
+                    lineStart = offset;
+                }
+            }
+        }
+        if (lineStart < offset) {
+            channel.truncate(lineStart);
+            skipped++;
+        }
+        end = lineStart;
+        if (skipped > 0) {
+            log.warn("Skipped {} unreadable record(s) in user profile store {}", skipped, file);
+        }
+        return records;
+    }
+
+    /**
+     * Rewrites the log with only the latest record per email, then swaps it
+     * in atomically. Only called while opening, before any reader can hold an
+     * offset into the old file.
+     */
+    private void compact() throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Map<String, Slot> compacted = new ConcurrentHashMap<>();
+        long written = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                ByteBuffer record = ByteBuffer.wrap(encode(read(entry.getValue())));
+                compacted.put(entry.getKey(), new Slot(written, record.remaining()));
+                while (record.hasRemaining()) {
+                    written += out.write(record);
+                }
+            }
+        }
+        channel.close();
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+        index.putAll(compacted);
+        end = written;
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static byte[] encode(UserProfile profile) {
+        String record = "P\t" + field(profile.email())
+                + "\t" + field(profile.provider())
+                + "\t" + field(profile.name())
+                + "\t" + field(profile.username())
+                + "\t" + field(profile.avatarUrl())
+                + "\t" + profile.firstLogin().toEpochMilli()
+                + "\t" + profile.lastLogin().toEpochMilli()
+                + "\n";
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static UserProfile decode(byte[] bytes, int length) {
+        String[] fields = new String(bytes, 0, length, StandardCharsets.UTF_8).strip().split("\t", -1);
+        if (fields.length != 8 || !"P".equals(fields[0]) || fields[1].isEmpty()) {
+            throw new IllegalArgumentException("Not a profile record");
+        }
+        return new UserProfile(
+                value(fields[1]),
+                value(fields[2]),
+                value(fields[3]),
+                value(fields[4]),
+                value(fields[5]),
+                Instant.ofEpochMilli(Long.parseLong(fields[6])),
+                Instant.ofEpochMilli(Long.parseLong(fields[7])));
+    }
+
+    private static String field(String value) {
+        return value == null ? "" : ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String value(String field) {
+        return field.isEmpty() ? null : new String(DECODER.decode(field), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Where a record sits in the log, newline included.
+     */
+    private record Slot(long offset, int length) {
+    }
+}
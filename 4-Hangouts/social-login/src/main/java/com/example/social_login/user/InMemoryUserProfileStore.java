@@ -0,0 +1,24 @@
+package com.example.social_login.user;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link UserProfileStore} kept in a concurrent map. Profiles do not survive
+ * a restart; they are filled in again at each user's next login.
+ */
+public class InMemoryUserProfileStore implements UserProfileStore {
+
+    private final Map<String, UserProfile> profiles = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(UserProfile profile) {
+        profiles.put(profile.email(), profile);
+    }
+
+    @Override
+    public Optional<UserProfile> find(String email) {
+        return Optional.ofNullable(profiles.get(email));
+    }
+}
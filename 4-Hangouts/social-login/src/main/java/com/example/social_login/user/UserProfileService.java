@@ -0,0 +1,118 @@
+package com.example.social_login.user;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.stereotype.Service;
+
+import com.example.social_login.config.UserProfileProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps each user's profile from their last OAuth2 login, so
+ * {@code /api/me} can answer from memory instead of calling the provider.
+ *
+ * Reads go through a bounded cache in front of the {@link UserProfileStore};
+ * a miss loads the profile from the store and caches it. Logins update the
+ * cache straight away and hand the profile to the store, which may write it
+ * behind.
+ */
+@Service
+public class UserProfileService {
+
+    private final UserProfileStore store;
+    private final Cache<String, UserProfile> cache;
+    private final Clock clock;
+
+    @Autowired
+    public UserProfileService(UserProfileStore store, UserProfileProperties properties) {
+        this(store, properties, Clock.systemUTC());
+    }
+
+    UserProfileService(UserProfileStore store, UserProfileProperties properties, Clock clock) {
+        this.store = store;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .recordStats()
+                .build();
+        this.clock = clock;
+    }
+
+    /**
+     * Records a successful OAuth2 login.
+     *
+     * @param authentication The OAuth2 login result
+     * @return The updated profile
+     */
+    public UserProfile recordLogin(Authentication authentication) {
+        OAuth2User user = (OAuth2User) authentication.getPrincipal();
+        String provider = authentication instanceof OAuth2AuthenticationToken token
+                ? token.getAuthorizedClientRegistrationId()
+                : null;
+        Instant now = clock.instant();
+        UserProfile profile = new UserProfile(
+                user.getAttribute("email"),
+                provider,
+                attribute(user, "name"),
+                // GitHub's handle; OIDC providers may send preferred_username
+                firstNonNull(attribute(user, "login"), attribute(user, "preferred_username")),
+                // GitHub's avatar_url; OIDC's picture
+                firstNonNull(attribute(user, "avatar_url"), attribute(user, "picture")),
+                now,
+                now);
+        if (profile.email() == null) {
+            return profile; // Nothing to key it by; the login itself fails later
+        }
+        // Store I/O stays outside compute: a save may flush, and that must not block the cache
+        UserProfile stored = cache.getIfPresent(profile.email()) == null
+                ? store.find(profile.email()).orElse(null)
+                : null;
+        UserProfile updated = cache.asMap().compute(profile.email(),
+                (email, cached) -> profile.after(cached != null ? cached : stored));
+        // Concurrent logins of one user may reach the store in either order; both keep firstLogin
+        store.save(updated);
+        return updated;
+    }
+
+    /**
+     * @param email The user's email
+     * @return The profile, if the user has logged in since the store was created
+     */
+    public Optional<UserProfile> find(String email) {
+        return Optional.ofNullable(cache.get(email, key -> store.find(key).orElse(null)));
+    }
+
+    /**
+     * Writes profiles the store has buffered.
+     */
+    @Scheduled(fixedDelayString = "${application.user-profile.flush-interval:1s}")
+    public void flush() {
+        store.flush();
+    }
+
+    /**
+     * @return Binder for the {@code cache.*} metrics of the profile cache
+     */
+    public MeterBinder metrics() {
+        return registry -> CaffeineCacheMetrics.monitor(registry, cache, "user.profiles");
+    }
+
+    private static String attribute(OAuth2User user, String name) {
+        Object value = user.getAttribute(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.social_login.user;
+
+import java.util.Optional;
+
+/**
+ * Storage for user profiles, keyed by email.
+ * Implementations must be safe for concurrent use.
+ */
+public interface UserProfileStore {
+
+    /**
+     * Inserts or replaces a profile. The write may be buffered; it is
+     * visible to {@link #find} straight away.
+     */
+    void save(UserProfile profile);
+
+    /**
+     * @param email The user's email
+     * @return The profile, if known
+     */
+    Optional<UserProfile> find(String email);
+
+    /**
+     * Writes buffered profiles to durable storage.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.social_login;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.social_login.security.jwt.JwtService;
+
+/**
+ * Runs many concurrent authenticated requests with virtual threads enabled
+ * and checks each one sees its own principal, both as the injected
+ * {@link Authentication} and through {@link SecurityContextHolder}, and that
+ * nothing leaks into later anonymous requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "application.security.jwt.engine=fast",
+        "application.security.jwt.cache.enabled=true",
+        "spring.security.oauth2.client.registration.github.client-id=test",
+        "spring.security.oauth2.client.registration.github.client-secret=test",
+})
+@Import(VirtualThreadModeTest.ThreadProbe.class)
+class VirtualThreadModeTest {
+
+    private static final int USERS = 200;
+    private static final int REQUESTS_PER_USER = 5;
+
+    @RestController
+    static class ThreadProbe {
+
+        @GetMapping("/api/probe")
+        Map<String, Object> probe(Authentication authentication) {
+            return Map.of(
+                    "virtual", Thread.currentThread().isVirtual(),
+                    "principal", authentication.getName(),
+                    "holder", SecurityContextHolder.getContext().getAuthentication().getName());
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void concurrentRequestsSeeOnlyTheirOwnPrincipal() throws Exception {
+        URI probe = URI.create("http://localhost:" + port + "/api/probe");
+        List<Callable<String>> calls = new ArrayList<>();
+        for (int user = 0; user < USERS; user++) {
+            String email = "user-" + user + "@example.com";
+            String token = jwtService.generateToken(email);
+            for (int i = 0; i < REQUESTS_PER_USER; i++) {
+                calls.add(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(probe).header("Cookie", "ACCESS_TOKEN=" + token).build();
+                    String body = send(request).body();
+                    assertThat(body)
+                            .contains("\"virtual\":true")
+                            .contains("\"principal\":\"" + email + "\"")
+                            .contains("\"holder\":\"" + email + "\"");
+                    return body;
+                });
+            }
+        }
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<String> result : clients.invokeAll(calls)) {
+                result.get(); // Rethrows any failed assertion
+            }
+        }
+
+        // No context survives on a reused carrier: an anonymous request is still rejected
+        HttpResponse<String> anonymous = send(HttpRequest.newBuilder(probe).build());
+        assertThat(anonymous.statusCode()).isEqualTo(403);
+    }
+
+    private static HttpResponse<String> send(HttpRequest request) throws Exception {
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.social_login.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives complete Google logins against a running application at a fixed
+ * concurrency, the way a browser would, and reports throughput and
+ * per-step latency.
+ *
+ * One login is five requests, each a {@link Step}: the app's authorization
+ * redirect, the provider's authorize endpoint, the callback (token exchange,
+ * user info and JWT issuance happen inside it), {@code /api/me} and
+ * {@code /logout}. Every login keeps its own cookie jar. A step that answers
+ * with the wrong status or misses an expected cookie counts as an error and
+ * abandons that login.
+ */
+public final class LoginLoadHarness implements AutoCloseable {
+
+    /**
+     * The requests of one login, in order.
+     */
+    public enum Step {
+        AUTHORIZATION_REDIRECT,
+        PROVIDER_AUTHORIZE,
+        CALLBACK,
+        ME,
+        LOGOUT
+    }
+
+    private final HttpClient client;
+    private final URI app;
+    private final int concurrency;
+
+    /**
+     * @param app         Base URL of the application under test
+     * @param concurrency Number of logins in flight at any time
+     */
+    public LoginLoadHarness(URI app, int concurrency) {
+        this.app = app;
+        this.concurrency = concurrency;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    /**
+     * Runs {@code warmup} logins whose results are discarded, then {@code logins} measured ones.
+     */
+    public Report run(int warmup, int logins) throws InterruptedException {
+        if (warmup > 0) {
+            execute(warmup);
+        }
+        return execute(logins);
+    }
+
+    /**
+     * Calls {@code /api/me} with one access token from a few clients until
+     * {@code done} is set, to measure the API while logins are in flight.
+     * A response other than 200 with {@code email} in the body is an error.
+     *
+     * @param app         Base URL of the application under test
+     * @param token       Access token cookie value
+     * @param email       The token's subject
+     * @param concurrency Number of clients calling in a loop
+     * @param done        Set when the clients should stop
+     */
+    public static StepReport hammerMe(URI app, String token, String email, int concurrency, AtomicBoolean done) {
+        StepStats stats = new StepStats();
+        HttpRequest request = HttpRequest.newBuilder(app.resolve("/api/me"))
+                .header("Cookie", "ACCESS_TOKEN=" + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                ExecutorService workers = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (!done.get()) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                            stats.record(System.nanoTime() - start);
+                            if (response.statusCode() != 200 || !response.body().contains(email)) {
+                                stats.error();
+                            }
+                        } catch (IOException e) {
+                            stats.record(System.nanoTime() - start);
+                            stats.error();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+        return stats.report();
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private Report execute(int logins) throws InterruptedException {
+        Map<Step, StepStats> stats = new EnumMap<>(Step.class);
+        for (Step step : Step.values()) {
+            stats.put(step, new StepStats());
+        }
+        AtomicInteger remaining = new AtomicInteger(logins);
+        AtomicLong completed = new AtomicLong();
+
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newFixedThreadPool(concurrency)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        if (login(stats)) {
+                            completed.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<Step, StepReport> steps = new EnumMap<>(Step.class);
+        stats.forEach((step, s) -> steps.put(step, s.report()));
+        return new Report(concurrency, logins, completed.get(), elapsed, steps);
+    }
+
+    /**
+     * Performs one login.
+     *
+     * @return true if every step succeeded
+     */
+    private boolean login(Map<Step, StepStats> stats) {
+        Map<String, String> cookies = new HashMap<>();
+
+        HttpResponse<String> redirect = send(stats.get(Step.AUTHORIZATION_REDIRECT), cookies,
+                get(app.resolve("/oauth2/authorization/google")), 302, null);
+        if (redirect == null) {
+            return false;
+        }
+        HttpResponse<String> authorize = send(stats.get(Step.PROVIDER_AUTHORIZE), cookies,
+                get(location(redirect)), 302, null);
+        if (authorize == null) {
+            return false;
+        }
+        if (send(stats.get(Step.CALLBACK), cookies, get(location(authorize)), 302, "ACCESS_TOKEN") == null) {
+            return false;
+        }
+        if (send(stats.get(Step.ME), cookies, get(app.resolve("/api/me")), 200, null) == null) {
+            return false;
+        }
+        HttpRequest.Builder logout = HttpRequest.newBuilder(app.resolve("/logout"))
+                .POST(HttpRequest.BodyPublishers.noBody());
+        return send(stats.get(Step.LOGOUT), cookies, logout, 200, null) != null;
+    }
+
+    /**
+     * Sends a request with the login's cookies and records its latency.
+     *
+     * @return The response, or null if it failed
+     */
+    private HttpResponse<String> send(StepStats stats, Map<String, String> cookies,
+            HttpRequest.Builder request, int expectedStatus, String expectedCookie) {
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", String.join("; ",
+                    cookies.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).toList()));
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            stats.record(System.nanoTime() - start);
+            response.headers().allValues("Set-Cookie").forEach(header -> storeCookie(cookies, header));
+            if (response.statusCode() != expectedStatus
+                    || (expectedCookie != null && !cookies.containsKey(expectedCookie))) {
+                stats.error();
+                return null;
+            }
+            return response;
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - start);
+            stats.error();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.error();
+            return null;
+        }
+    }
+
+    private static HttpRequest.Builder get(URI uri) {
+        return HttpRequest.newBuilder(uri).GET();
+    }
+
+    private static URI location(HttpResponse<?> response) {
+        return response.uri().resolve(response.headers().firstValue("Location").orElseThrow());
+    }
+
+    private static void storeCookie(Map<String, String> cookies, String header) {
+        String pair = header.split(";", 2)[0];
+        int eq = pair.indexOf('=');
+        if (eq <= 0) {
+            return;
+        }
+        String name = pair.substring(0, eq).trim();
+        String value = pair.substring(eq + 1).trim();
+        if (value.isEmpty() || header.toLowerCase().contains("max-age=0")) {
+            cookies.remove(name);
+        } else {
+            cookies.put(name, value);
+        }
+    }
+
+    /**
+     * Latencies and errors of one step, collected from all workers.
+     */
+    static final class StepStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized StepReport report() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new StepReport(count, errors, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    count == 0 ? Duration.ZERO : Duration.ofNanos(sorted[count - 1]));
+        }
+
+        private static Duration percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return Duration.ofNanos(sorted[Math.max(0, rank - 1)]);
+        }
+    }
+
+    /**
+     * @param attempts Requests sent for this step
+     * @param errors   Requests that failed or answered unexpectedly
+     */
+    public record StepReport(long attempts, long errors, Duration p50, Duration p99, Duration max) {
+
+        public double errorRate() {
+            return attempts == 0 ? 0 : (double) errors / attempts;
+        }
+    }
+
+    /**
+     * Outcome of one measured run.
+     *
+     * @param completed Logins that finished every step
+     */
+    public record Report(int concurrency, int logins, long completed, Duration elapsed, Map<Step, StepReport> steps) {
+
+        public double loginsPerSecond() {
+            return completed / (elapsed.toNanos() / 1e9);
+        }
+
+        public long errors() {
+            return steps.values().stream().mapToLong(StepReport::errors).sum();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format("%d/%d logins at concurrency %d in %d ms: %.1f logins/s%n",
+                    completed, logins, concurrency, elapsed.toMillis(), loginsPerSecond()));
+            out.append(String.format("%-24s %8s %8s %10s %10s %10s%n", "step", "requests", "errors", "p50 ms",
+                    "p99 ms", "max ms"));
+            steps.forEach((step, report) -> out.append(String.format("%-24s %8d %7.2f%% %10.2f %10.2f %10.2f%n",
+                    step, report.attempts(), report.errorRate() * 100, millis(report.p50()), millis(report.p99()),
+                    millis(report.max()))));
+            return out.toString();
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.social_login.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * End-to-end login load test against the stub provider.
+ *
+ * Tagged {@code load}, so it only runs with {@code -Pload}. The defaults
+ * are a quick smoke run; scale it up to catch regressions in the auth stack,
+ * for example:
+ * <pre>
+ * mvn test -Pload -Dtest=LoginLoadTest -Dloadtest.concurrency=64 -Dloadtest.logins=20000 \
+ *     -Dloadtest.provider-latency-ms=50
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "application.security.jwt.secret=0123456789abcdef0123456789abcdef0123456789abcdef",
+        "logging.level.org.springframework.security=WARN",
+})
+@Tag("load")
+class LoginLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginLoadTest.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 4);
+    private static final int LOGINS = Integer.getInteger("loadtest.logins", 100);
+    private static final int WARMUP = Integer.getInteger("loadtest.warmup", LOGINS / 5);
+    private static final Duration PROVIDER_LATENCY =
+            Duration.ofMillis(Long.getLong("loadtest.provider-latency-ms", 0));
+
+    private static final StubOAuth2Provider provider = startProvider();
+
+    @LocalServerPort
+    private int port;
+
+    private static StubOAuth2Provider startProvider() {
+        try {
+            return new StubOAuth2Provider(PROVIDER_LATENCY);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void pointGoogleAtStub(DynamicPropertyRegistry registry) {
+        provider.googleRegistration().forEach((name, value) -> registry.add(name, () -> value));
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.close();
+    }
+
+    @Test
+    void loginsCompleteWithoutErrors() throws Exception {
+        LoginLoadHarness.Report report;
+        try (LoginLoadHarness harness = new LoginLoadHarness(URI.create("http://localhost:" + port), CONCURRENCY)) {
+            report = harness.run(WARMUP, LOGINS);
+        }
+        log.info("Login load test:\n{}", report);
+
+        assertThat(report.errors()).as("errors").isZero();
+        assertThat(report.completed()).isEqualTo(LOGINS);
+        assertThat(report.steps().get(LoginLoadHarness.Step.CALLBACK).attempts()).isEqualTo(LOGINS);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import io.jsonwebtoken.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.impl.DefaultJwtParserBuilder;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+
+class JjwtRuntimeHintsTest {
+
+    @Test
+    void registersTheClassesJwtsCreatesByName() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new JjwtRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        for (Class<?> type : new Class<?>[] { DefaultJwtBuilder.class, DefaultJwtParserBuilder.class,
+                JacksonDeserializer.class }) {
+            assertThat(RuntimeHintsPredicates.reflection().onConstructorInvocation(type.getConstructor()))
+                    .as(type.getName()).accepts(hints);
+        }
+        assertThat(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer")).accepts(hints);
+    }
+}
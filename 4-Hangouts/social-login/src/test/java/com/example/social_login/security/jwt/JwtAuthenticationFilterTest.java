@@ -0,0 +1,114 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.example.social_login.accesslog.AccessEvent;
+import com.example.social_login.config.JwtProperties;
+import com.example.social_login.config.RefreshTokenProperties;
+import com.example.social_login.security.path.PublicPaths;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtProperties properties = JwtTestSupport.properties();
+    private final JwtService jwtService = spy(new JwtService(properties));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<AccessEvent> events = new CopyOnWriteArrayList<>();
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, properties,
+            new PublicPaths(new RefreshTokenProperties(null, 0, null, null, null, null)),
+            new JwtMetrics(registry, properties), events::add);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenIsVerifiedExactlyOncePerRequest() throws Exception {
+        String token = jwtService.generateToken("user@example.com");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        request.setCookies(new Cookie("ACCESS_TOKEN", token));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(jwtService, times(1)).verify(token);
+        verify(jwtService, never()).isTokenValid(anyString());
+        verify(jwtService, never()).extractEmail(anyString());
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isNotNull();
+        assertThat(auth.getPrincipal()).isEqualTo("user@example.com");
+        assertThat(auth.getDetails()).isInstanceOfSatisfying(VerifiedToken.class,
+                verified -> assertThat(verified.subject()).isEqualTo("user@example.com"));
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(registry.get("jwt.verification").tag("status", "valid").timer().count()).isEqualTo(1);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo("auth");
+            assertThat(event.path()).isEqualTo("/api/me");
+            assertThat(event.subject()).isEqualTo("user@example.com");
+            assertThat(event.outcome()).isEqualTo("VALID");
+        });
+    }
+
+    @Test
+    void invalidTokenIsVerifiedOnceAndLeavesContextEmpty() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        request.setCookies(new Cookie("ACCESS_TOKEN", "not-a-jwt"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtService, times(1)).verify("not-a-jwt");
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(registry.get("jwt.verification.failures").tag("reason", "malformed").counter().count())
+                .isEqualTo(1);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.subject()).isNull();
+            assertThat(event.outcome()).isEqualTo("MALFORMED");
+        });
+    }
+
+    @Test
+    void missingCookieSkipsVerification() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtService, never()).verify(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void publicPathsSkipCookieAndVerification() throws Exception {
+        String token = jwtService.generateToken("user@example.com");
+        for (String path : new String[] { "/", "/api/public", "/oauth2/authorization/github", "/logout" }) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setCookies(new Cookie("ACCESS_TOKEN", token));
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+            assertThat(chain.getRequest()).isSameAs(request);
+        }
+
+        verify(jwtService, never()).verify(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
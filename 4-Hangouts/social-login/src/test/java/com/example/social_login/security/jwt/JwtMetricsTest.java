@@ -0,0 +1,54 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JwtMetrics metrics = new JwtMetrics(registry, JwtTestSupport.properties());
+
+    @Test
+    void validTokenRecordsLatencyAgeAndRemainingLifetime() {
+        Instant now = Instant.now();
+        VerifiedToken verified = VerifiedToken.valid("user@example.com", "jti",
+                now.minus(Duration.ofMinutes(5)), now.plus(Duration.ofMinutes(10)));
+
+        metrics.recordVerification(verified, System.nanoTime());
+
+        assertThat(registry.get("jwt.verification").tag("status", "valid").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.token.age").timer().totalTime(TimeUnit.MINUTES)).isBetween(4.9, 5.1);
+        assertThat(registry.get("jwt.token.remaining").timer().totalTime(TimeUnit.MINUTES)).isBetween(9.9, 10.1);
+        assertThat(registry.find("jwt.verification.failures").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    @Test
+    void failureIsCountedByReason() {
+        metrics.recordVerification(VerifiedToken.failure(VerifiedToken.Status.EXPIRED), System.nanoTime());
+        metrics.recordVerification(VerifiedToken.failure(VerifiedToken.Status.EXPIRED), System.nanoTime());
+        metrics.recordVerification(VerifiedToken.failure(VerifiedToken.Status.INVALID_SIGNATURE), System.nanoTime());
+
+        assertThat(registry.get("jwt.verification.failures").tag("reason", "expired").counter().count()).isEqualTo(2);
+        assertThat(registry.get("jwt.verification.failures").tag("reason", "invalid_signature").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("jwt.token.age").timer().count()).isZero();
+    }
+
+    @Test
+    void mintedTokensAreCountedBySource() {
+        metrics.tokenMinted(JwtMetrics.Source.OAUTH2_LOGIN);
+        metrics.tokenMinted(JwtMetrics.Source.REFRESH);
+        metrics.tokenMinted(JwtMetrics.Source.REFRESH);
+
+        assertThat(registry.get("jwt.tokens.minted").tag("source", "oauth2-login").counter().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.tokens.minted").tag("source", "refresh").counter().count()).isEqualTo(2);
+    }
+}
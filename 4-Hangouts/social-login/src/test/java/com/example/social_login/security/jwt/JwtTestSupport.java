@@ -0,0 +1,91 @@
+package com.example.social_login.security.jwt;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import com.example.social_login.config.JwtProperties;
+
+/**
+ * Shared fixtures for JWT tests.
+ */
+final class JwtTestSupport {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private JwtTestSupport() {
+    }
+
+    static JwtProperties properties() {
+        return properties(SECRET);
+    }
+
+    static JwtProperties properties(String secret) {
+        return new JwtProperties(secret, 900000L, "ACCESS_TOKEN", null, null, null, null, null, null);
+    }
+
+    static JwtProperties cachedProperties() {
+        return new JwtProperties(SECRET, 900000L, "ACCESS_TOKEN", new JwtProperties.Cache(true, 100), null, null, null,
+                null, null);
+    }
+
+    static JwtProperties properties(String secret, JwtProperties.Engine engine) {
+        return new JwtProperties(secret, 900000L, "ACCESS_TOKEN", null, engine, null, null, null, null);
+    }
+
+    static JwtProperties keyRingProperties(Path keyFile, JwtProperties.Engine engine) {
+        return new JwtProperties(SECRET, 900000L, "ACCESS_TOKEN", null, engine,
+                new JwtProperties.KeyRing(keyFile, Duration.ofSeconds(1)), null, null, null);
+    }
+
+    static JwtProperties opaqueProperties(Path snapshotFile) {
+        return new JwtProperties(SECRET, 900000L, "ACCESS_TOKEN", new JwtProperties.Cache(true, 100), null, null, null,
+                JwtProperties.Mode.OPAQUE, new JwtProperties.Opaque(4, null, snapshotFile, null));
+    }
+
+    /**
+     * Replaces one character in the middle of the signature, so the decoded
+     * bytes are guaranteed to change (unlike the last character, whose low
+     * bits are padding).
+     */
+    static String tamperSignature(String token) {
+        int start = token.lastIndexOf('.') + 1;
+        int i = start + (token.length() - start) / 2;
+        char c = token.charAt(i);
+        return token.substring(0, i) + (c == 'A' ? 'B' : 'A') + token.substring(i + 1);
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.example.social_login.config.JwtProperties;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+class SigningKeyRingTest {
+
+    private static final String K1 = "k1-secret-k1-secret-k1-secret-k1-secret";
+    private static final String K2 = "k2-secret-k2-secret-k2-secret-k2-secret";
+
+    @TempDir
+    Path dir;
+
+    private final JwtTestSupport.MutableClock clock =
+            new JwtTestSupport.MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void activeKeySignsAndOthersVerify() throws IOException {
+        Path file = write("active=k2\nkeys.k1=" + K1 + "\nkeys.k2=" + K2 + "\n");
+
+        SigningKeyRing ring = ring(file);
+
+        assertThat(ring.active().kid()).isEqualTo("k2");
+        assertThat(ring.findByKid("k1")).isNotNull();
+        assertThat(ring.findByKid("k3")).isNull();
+        assertThat(ring.findByEncodedHeader(ring.active().encodedHeader())).isSameAs(ring.active());
+    }
+
+    @Test
+    void rotationKeepsRemovedKeyForOneTokenLifetime() throws IOException {
+        Path file = write("active=k1\nkeys.k1=" + K1 + "\n");
+        SigningKeyRing ring = ring(file);
+
+        rewrite(file, "active=k2\nkeys.k1=" + K1 + "\nkeys.k2=" + K2 + "\n");
+        ring.reloadIfChanged();
+        assertThat(ring.active().kid()).isEqualTo("k2");
+
+        rewrite(file, "active=k2\nkeys.k2=" + K2 + "\n");
+        ring.reloadIfChanged();
+        assertThat(ring.findByKid("k1")).as("still in grace period").isNotNull();
+
+        clock.advance(Duration.ofMinutes(15));
+        ring.reloadIfChanged();
+        assertThat(ring.findByKid("k1")).isNull();
+        assertThat(ring.findByKid("k2")).isNotNull();
+    }
+
+    @Test
+    void brokenFileKeepsCurrentKeys() throws IOException {
+        Path file = write("active=k1\nkeys.k1=" + K1 + "\n");
+        SigningKeyRing ring = ring(file);
+
+        rewrite(file, "active=missing\nkeys.k1=" + K1 + "\n");
+        ring.reloadIfChanged();
+
+        assertThat(ring.active().kid()).isEqualTo("k1");
+    }
+
+    @Test
+    void brokenFileFailsStartup() throws IOException {
+        Path file = write("active=k1\nkeys.k1=too-short\n");
+
+        assertThatThrownBy(() -> ring(file)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtProperties.Engine.class)
+    void tokensSurviveRotation(JwtProperties.Engine engine) throws IOException {
+        String legacyToken = new JwtService(JwtTestSupport.properties(JwtTestSupport.SECRET, engine))
+                .generateToken("legacy@example.com");
+        Path file = write("active=k1\nkeys.k1=" + K1 + "\n");
+        JwtService jwtService = new JwtService(JwtTestSupport.keyRingProperties(file, engine));
+        String oldToken = jwtService.generateToken("old@example.com");
+
+        rewrite(file, "active=k2\nkeys.k1=" + K1 + "\nkeys.k2=" + K2 + "\n");
+        jwtService.reloadSigningKeys();
+        String newToken = jwtService.generateToken("new@example.com");
+
+        assertThat(header(newToken)).contains("\"kid\":\"k2\"");
+        assertThat(jwtService.verify(newToken).subject()).isEqualTo("new@example.com");
+        assertThat(jwtService.verify(oldToken).subject()).isEqualTo("old@example.com");
+        assertThat(jwtService.verify(legacyToken).subject()).isEqualTo("legacy@example.com");
+
+        String unknownKid = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "k9")
+                .setSubject("forged@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(K2.getBytes()))
+                .compact();
+        assertThat(jwtService.verify(unknownKid).status()).isEqualTo(VerifiedToken.Status.INVALID_SIGNATURE);
+
+        String wrongKey = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, "k1")
+                .setSubject("forged@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(K2.getBytes()))
+                .compact();
+        assertThat(jwtService.verify(wrongKey).status()).isEqualTo(VerifiedToken.Status.INVALID_SIGNATURE);
+    }
+
+    @Test
+    void fastEngineHandlesKidHeadersWithoutFallback() throws IOException {
+        Path file = write("active=k1\nkeys.k1=" + K1 + "\n");
+        String token = new JwtService(JwtTestSupport.keyRingProperties(file, JwtProperties.Engine.JJWT))
+                .generateToken("user@example.com");
+
+        FastHmacTokenVerifier fast = new FastHmacTokenVerifier(ring(file), t -> {
+            throw new AssertionError("fallback used for " + t);
+        }, Clock.systemUTC());
+
+        assertThat(fast.verify(token).subject()).isEqualTo("user@example.com");
+    }
+
+    private SigningKeyRing ring(Path file) {
+        return new SigningKeyRing(file, null, Duration.ofMinutes(15), clock);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("keys.properties"), content);
+    }
+
+    private static void rewrite(Path file, String content) throws IOException {
+        FileTime before = Files.getLastModifiedTime(file);
+        Files.writeString(file, content);
+        // Make sure the change is visible even on coarse file system timestamps
+        Files.setLastModifiedTime(file, FileTime.fromMillis(before.toMillis() + 1000));
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.social_login.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Runs the fast HMAC engine and the jjwt reference engine over the same
+ * corpus and checks they accept and reject exactly the same tokens.
+ */
+class TokenVerifierDifferentialTest {
+
+    private static final long FUTURE = System.currentTimeMillis() / 1000 + 3600;
+    private static final long PAST = System.currentTimeMillis() / 1000 - 3600;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 32, 48, 64 }) // HS256, HS384, HS512
+    void enginesAgreeOnCorpus(int secretLength) throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(JwtTestSupport.SECRET.repeat(2).substring(0, secretLength).getBytes());
+        TokenVerifier reference = new JjwtTokenVerifier(Jwts.parserBuilder().setSigningKey(key).build());
+        AtomicInteger fallbacks = new AtomicInteger();
+        TokenVerifier fast = new FastHmacTokenVerifier(SigningKeyRing.ofSingleKey(key), token -> {
+            fallbacks.incrementAndGet();
+            return reference.verify(token);
+        }, Clock.systemUTC());
+
+        for (String token : corpus(key)) {
+            VerifiedToken expected = reference.verify(token);
+            VerifiedToken actual = fast.verify(token);
+
+            assertThat(actual.isValid()).as("accepts %s", token).isEqualTo(expected.isValid());
+            assertThat(actual.subject()).as("subject of %s", token).isEqualTo(expected.subject());
+            assertThat(actual.tokenId()).as("jti of %s", token).isEqualTo(expected.tokenId());
+            assertThat(actual.issuedAt()).as("iat of %s", token).isEqualTo(expected.issuedAt());
+            assertThat(actual.expiresAt()).as("exp of %s", token).isEqualTo(expected.expiresAt());
+            if (expected.status() == VerifiedToken.Status.EXPIRED) {
+                assertThat(actual.status()).as("status of %s", token).isEqualTo(VerifiedToken.Status.EXPIRED);
+            }
+        }
+
+        // The tokens we actually mint must never need the fallback
+        fallbacks.set(0);
+        String minted = Jwts.builder()
+                .setId("0f8fad5b-d9cb-469f-a165-70867728950e")
+                .setSubject("user@example.com")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(FUTURE * 1000))
+                .signWith(key)
+                .compact();
+        assertThat(fast.verify(minted).isValid()).isTrue();
+        assertThat(fast.verify(minted).tokenId()).isEqualTo("0f8fad5b-d9cb-469f-a165-70867728950e");
+        assertThat(fast.verify(JwtTestSupport.tamperSignature(minted)).status())
+                .isEqualTo(VerifiedToken.Status.INVALID_SIGNATURE);
+        assertThat(fallbacks).hasValue(0);
+    }
+
+    private static List<String> corpus(SecretKey key) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        SecretKey otherKey = Keys.hmacShaKeyFor("ffffffffffffffffffffffffffffffffffffffffffffffff".getBytes());
+
+        // Valid tokens, including subjects the fast path has to hand over
+        for (String subject : List.of("user@example.com", "ünïcode@example.com", "quote\"d@example.com", "a\\b")) {
+            tokens.add(Jwts.builder().setSubject(subject).setIssuedAt(new Date())
+                    .setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+        }
+        String valid = tokens.get(0);
+        tokens.add(Jwts.builder().setSubject("no-iat@example.com")
+                .setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setSubject("extra@example.com").setId("jti-1").claim("admin", false)
+                .claim("n", 1.5).claim("nothing", null).setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setSubject("nested@example.com").claim("roles", List.of("a", "b"))
+                .setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setHeaderParam("typ", "JWT").setSubject("typ@example.com")
+                .setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+
+        // Expired, premature and incomplete
+        tokens.add(Jwts.builder().setSubject("expired@example.com").setIssuedAt(new Date((PAST - 60) * 1000))
+                .setExpiration(new Date(PAST * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setSubject("nbf@example.com").setNotBefore(new Date(FUTURE * 1000))
+                .setExpiration(new Date((FUTURE + 60) * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setSubject("nbf-past@example.com").setNotBefore(new Date(PAST * 1000))
+                .setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+        tokens.add(Jwts.builder().setSubject("no-exp@example.com").signWith(key).compact());
+        tokens.add(Jwts.builder().setExpiration(new Date(FUTURE * 1000)).signWith(key).compact());
+
+        // Tampered and foreign
+        tokens.add(JwtTestSupport.tamperSignature(valid));
+        String[] parts = valid.split("\\.");
+        String[] otherParts = tokens.get(1).split("\\.");
+        tokens.add(parts[0] + "." + otherParts[1] + "." + parts[2]);
+        tokens.add(parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 4));
+        tokens.add(parts[0] + "." + parts[1] + "." + parts[2] + "AAAA");
+        tokens.add(valid + "=");
+        tokens.add(valid + " ");
+        tokens.add(parts[0] + "." + parts[1] + "é." + parts[2]);
+        tokens.add(Jwts.builder().setSubject("other@example.com").setExpiration(new Date(FUTURE * 1000))
+                .signWith(otherKey).compact());
+        tokens.add(Jwts.builder().setSubject("none@example.com").setExpiration(new Date(FUTURE * 1000)).compact());
+
+        // Garbage
+        tokens.addAll(List.of("abc", "a.b", "a.b.c", "..", "a.b.c.d", parts[0] + "..", "." + parts[1] + "."));
+
+        // Hand-signed payloads exercising the claim scanner
+        for (String json : List.of(
+                "{ \"sub\" : \"spaced@example.com\" ,\n\"exp\" : " + FUTURE + " }",
+                "{\"sub\":\"dup@example.com\",\"exp\":" + FUTURE + ",\"sub\":\"second@example.com\"}",
+                "{\"sub\":\"lead@example.com\",\"exp\":0" + FUTURE + "}",
+                "{\"sub\":\"frac@example.com\",\"exp\":" + FUTURE + ".5}",
+                "{\"sub\":\"expo@example.com\",\"exp\":1e11}",
+                "{\"sub\":\"neg@example.com\",\"exp\":-5}",
+                "{\"sub\":\"str@example.com\",\"exp\":\"" + FUTURE + "\"}",
+                "{\"sub\":42,\"exp\":" + FUTURE + "}",
+                "{\"sub\":\"trail@example.com\",\"exp\":" + FUTURE + "}xyz",
+                "{\"sub\":\"unterminated@example.com\",\"exp\":" + FUTURE,
+                "{\"sub\":\"zero-iat@example.com\",\"iat\":0,\"exp\":" + FUTURE + "}",
+                "{\"sub\":\"esc@example.com\",\"x\":\"a\\\"b\",\"exp\":" + FUTURE + "}",
+                "{\"sub\":\"big@example.com\",\"exp\":99999999999999999999}",
+                "{}",
+                "[]",
+                "not json")) {
+            tokens.add(sign(key, json));
+        }
+        return tokens;
+    }
+
+    private static String sign(SecretKey key, String payloadJson) throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String alg = switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            default -> "HS512";
+        };
+        String input = encoder.encodeToString(("{\"alg\":\"" + alg + "\"}").getBytes(StandardCharsets.UTF_8))
+                + "." + encoder.encodeToString(payloadJson.getBytes(StandardCharsets.UTF_8));
+        Mac mac = Mac.getInstance(key.getAlgorithm());
+        mac.init(key);
+        return input + "." + encoder.encodeToString(mac.doFinal(input.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.social_login.security.oauth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AuthorizationRequest;
+import org.springframework.security.oauth2.core.endpoint.OAuth2ParameterNames;
+
+import com.example.social_login.config.AuthorizationRequestProperties;
+
+import jakarta.servlet.http.Cookie;
+
+class CookieAuthorizationRequestRepositoryTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final AuthorizationRequestProperties PROPERTIES =
+            new AuthorizationRequestProperties(null, Duration.ofMinutes(5), null);
+    private static final SecretKey KEY = CookieAuthorizationRequestRepository.deriveKey(SECRET);
+
+    private static CookieAuthorizationRequestRepository repository(SecretKey key, Instant now) {
+        return new CookieAuthorizationRequestRepository(PROPERTIES, key, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static OAuth2AuthorizationRequest authorizationRequest() {
+        return OAuth2AuthorizationRequest.authorizationCode()
+                .authorizationUri("https://accounts.example.com/o/oauth2/v2/auth")
+                .clientId("client-id")
+                .redirectUri("http://localhost:8080/login/oauth2/code/google")
+                .state("Zm9vYmFyLXN0YXRlLXZhbHVlLXRoYXQtaXMtbG9uZw")
+                .scopes(Set.of("openid", "profile", "email"))
+                .additionalParameters(Map.of("nonce", "hashed-nonce", "code_challenge", "challenge",
+                        "code_challenge_method", "S256"))
+                .attributes(Map.of("registration_id", "google", "nonce", "raw-nonce", "code_verifier", "verifier"))
+                .build();
+    }
+
+    private static MockHttpServletRequest callback(String cookieValue, String state) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/login/oauth2/code/google");
+        request.setCookies(new Cookie(PROPERTIES.cookieName(), cookieValue));
+        if (state != null) {
+            request.setParameter(OAuth2ParameterNames.STATE, state);
+        }
+        return request;
+    }
+
+    @Test
+    void anotherNodeWithTheSameKeyCompletesTheLogin() {
+        OAuth2AuthorizationRequest original = authorizationRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository(KEY, NOW).saveAuthorizationRequest(original, new MockHttpServletRequest(), response);
+        Cookie cookie = response.getCookie(PROPERTIES.cookieName());
+
+        assertThat(cookie.getMaxAge()).isEqualTo(300);
+        assertThat(cookie.isHttpOnly()).isTrue();
+        assertThat(cookie.getValue().length()).isLessThan(1024);
+
+        // A fresh instance, as on another node, derived from the same secret
+        CookieAuthorizationRequestRepository otherNode = repository(
+                CookieAuthorizationRequestRepository.deriveKey(SECRET), NOW.plusSeconds(60));
+        MockHttpServletResponse removal = new MockHttpServletResponse();
+        OAuth2AuthorizationRequest restored = otherNode.removeAuthorizationRequest(
+                callback(cookie.getValue(), original.getState()), removal);
+
+        assertThat(restored).isEqualTo(original);
+        assertThat(restored.getAuthorizationRequestUri()).isEqualTo(original.getAuthorizationRequestUri());
+        assertThat(removal.getCookie(PROPERTIES.cookieName()).getMaxAge()).isZero();
+    }
+
+    @Test
+    void rejectsTamperedForeignAndExpiredCookies() {
+        OAuth2AuthorizationRequest original = authorizationRequest();
+        String state = original.getState();
+        String sealed = repository(KEY, NOW).seal(original);
+        char last = sealed.charAt(sealed.length() - 2);
+        String tampered = sealed.substring(0, sealed.length() - 2) + (last == 'A' ? 'B' : 'A')
+                + sealed.charAt(sealed.length() - 1);
+
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback(sealed, state))).isNotNull();
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback(tampered, state))).isNull();
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback("not base64!", state))).isNull();
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback("", state))).isNull();
+        assertThat(repository(CookieAuthorizationRequestRepository.deriveKey("another-secret-another-secret-xx"), NOW)
+                .loadAuthorizationRequest(callback(sealed, state))).isNull();
+        assertThat(repository(KEY, NOW.plus(Duration.ofMinutes(6)))
+                .loadAuthorizationRequest(callback(sealed, state))).isNull();
+    }
+
+    @Test
+    void stateMustMatchTheCallback() {
+        String sealed = repository(KEY, NOW).seal(authorizationRequest());
+
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback(sealed, "other-state"))).isNull();
+        assertThat(repository(KEY, NOW).loadAuthorizationRequest(callback(sealed, null))).isNull();
+    }
+
+    @Test
+    void savingNullClearsTheCookie() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository(KEY, NOW).saveAuthorizationRequest(null, new MockHttpServletRequest(), response);
+
+        assertThat(response.getCookie(PROPERTIES.cookieName()).getMaxAge()).isZero();
+    }
+}
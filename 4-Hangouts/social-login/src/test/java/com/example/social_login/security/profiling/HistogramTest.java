@@ -0,0 +1,58 @@
+package com.example.social_login.security.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithBoundedError() {
+        for (long value : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789L, Long.MAX_VALUE / 3 }) {
+            long upper = Histogram.upperBound(Histogram.index(value));
+            assertThat(upper).as("upper bound of %d", value).isGreaterThanOrEqualTo(value);
+            assertThat((double) upper).as("error at %d", value).isLessThanOrEqualTo(Math.max(value * 1.125, value + 1));
+        }
+        assertThat(Histogram.index(Long.MAX_VALUE)).isLessThan((Long.SIZE - 2) * 8);
+    }
+
+    @Test
+    void percentilesTrackDistribution() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat(histogram.count()).isEqualTo(1000);
+        assertThat(histogram.max()).isEqualTo(1_000_000);
+        assertThat(histogram.mean()).isEqualTo(500_500.0);
+        assertThat(histogram.percentile(0.5)).isBetween(500_000L, 562_500L);
+        assertThat(histogram.percentile(0.99)).isBetween(990_000L, 1_000_000L);
+
+        histogram.reset();
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentile(0.5)).isZero();
+    }
+
+    @Test
+    void concurrentRecordsAreNotLost() throws Exception {
+        Histogram histogram = new Histogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.count()).isEqualTo(800_000);
+        assertThat(histogram.sum()).isEqualTo(8L * 99_999 * 100_000 / 2);
+    }
+}
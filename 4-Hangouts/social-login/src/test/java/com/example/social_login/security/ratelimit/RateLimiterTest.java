@@ -0,0 +1,94 @@
+package com.example.social_login.security.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final RateLimiter limiter = new RateLimiter(1_024, 4, 256);
+
+    @Test
+    void allowsBurstThenOneRequestPerInterval() {
+        RateLimiter.Limit limit = limiter.limit(10, Duration.ofSeconds(10));
+        long now = 5 * SECOND;
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire(limit, "10.0.0.1", now)).as("request " + i).isZero();
+        }
+        long wait = limiter.acquire(limit, "10.0.0.1", now);
+        assertThat(wait).isEqualTo(SECOND);
+
+        // One token back per second
+        assertThat(limiter.acquire(limit, "10.0.0.1", now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(limiter.acquire(limit, "10.0.0.1", now + SECOND)).isZero();
+        assertThat(limiter.acquire(limit, "10.0.0.1", now + SECOND)).isPositive();
+    }
+
+    @Test
+    void keysAndLimitsHaveSeparateBuckets() {
+        RateLimiter.Limit login = limiter.limit(1, Duration.ofMinutes(1));
+        RateLimiter.Limit api = limiter.limit(1, Duration.ofMinutes(1));
+        long now = 0;
+
+        assertThat(limiter.acquire(login, "10.0.0.1", now)).isZero();
+        assertThat(limiter.acquire(login, "10.0.0.1", now)).isPositive();
+        assertThat(limiter.acquire(login, "10.0.0.2", now)).isZero();
+        assertThat(limiter.acquire(api, "10.0.0.1", now)).isZero();
+    }
+
+    @Test
+    void refilledBucketsFreeTheirSlots() {
+        RateLimiter small = new RateLimiter(8, 1, 256);
+        RateLimiter.Limit limit = small.limit(2, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(small.acquire(limit, "client-" + i, 0)).isZero();
+        }
+        assertThat(small.trackedKeys()).isEqualTo(8);
+
+        // Every bucket has refilled, so new keys take their slots exactly
+        for (int i = 8; i < 16; i++) {
+            assertThat(small.acquire(limit, "client-" + i, 2 * SECOND)).isZero();
+        }
+        assertThat(small.trackedKeys()).isEqualTo(8);
+        assertThat(small.approximateDecisions()).isZero();
+    }
+
+    @Test
+    void longTailFallsBackToSketchWithoutGrowing() {
+        RateLimiter small = new RateLimiter(8, 1, 1_024);
+        RateLimiter.Limit limit = small.limit(3, Duration.ofMinutes(1));
+        assertThat(small.capacity()).isEqualTo(8);
+
+        for (int i = 0; i < 1_000; i++) {
+            small.acquire(limit, "client-" + i, 0);
+        }
+        assertThat(small.trackedKeys()).isEqualTo(8);
+        assertThat(small.approximateDecisions()).isPositive();
+
+        // A key without a slot is still limited, by its approximate count
+        String untracked = "untracked";
+        long allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (small.acquire(limit, untracked, SECOND) == 0) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isBetween(1L, 3L);
+        assertThat(small.acquire(limit, untracked, SECOND)).isEqualTo(59 * SECOND);
+    }
+
+    @Test
+    void rejectsEmptyLimits() {
+        assertThatThrownBy(() -> limiter.limit(0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter.limit(1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
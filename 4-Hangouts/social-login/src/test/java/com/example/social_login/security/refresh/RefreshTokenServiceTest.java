@@ -0,0 +1,131 @@
+package com.example.social_login.security.refresh;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.example.social_login.config.RefreshTokenProperties;
+
+/**
+ * Rotation and reuse detection, run against every store implementation.
+ */
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final RefreshTokenProperties PROPERTIES =
+            new RefreshTokenProperties(null, Duration.ofDays(7).toMillis(), null, null, null, null);
+
+    @TempDir
+    static Path dir;
+
+    static Stream<Arguments> stores() {
+        return Stream.of(
+                Arguments.of(Named.of("memory", (Function<Path, RefreshTokenStore>) file -> new InMemoryRefreshTokenStore())),
+                Arguments.of(Named.of("file", (Function<Path, RefreshTokenStore>) FileRefreshTokenStore::new)));
+    }
+
+    private static RefreshTokenService service(RefreshTokenStore store, Instant now) {
+        return new RefreshTokenService(store, PROPERTIES, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static RefreshTokenStore store(Function<Path, RefreshTokenStore> factory) {
+        return factory.apply(dir.resolve("tokens-" + System.nanoTime() + ".log"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("stores")
+    void rotationIssuesNewTokenAndRetiresOldOne(Function<Path, RefreshTokenStore> factory) {
+        RefreshTokenService service = service(store(factory), NOW);
+        RotatedRefreshToken first = service.issue("user@example.com");
+
+        Optional<RotatedRefreshToken> second = service.rotate(first.value());
+
+        assertThat(second).isPresent();
+        assertThat(second.get().subject()).isEqualTo("user@example.com");
+        assertThat(second.get().value()).isNotEqualTo(first.value());
+        assertThat(service.rotate(second.get().value())).isPresent();
+    }
+
+    @ParameterizedTest
+    @MethodSource("stores")
+    void reuseRevokesWholeFamily(Function<Path, RefreshTokenStore> factory) {
+        RefreshTokenService service = service(store(factory), NOW);
+        RotatedRefreshToken stolen = service.issue("user@example.com");
+        RotatedRefreshToken legitimate = service.rotate(stolen.value()).orElseThrow();
+        RotatedRefreshToken otherLogin = service.issue("user@example.com");
+
+        assertThat(service.rotate(stolen.value())).isEmpty();
+
+        // The legitimate successor dies with the family; other logins are untouched
+        assertThat(service.rotate(legitimate.value())).isEmpty();
+        assertThat(service.rotate(otherLogin.value())).isPresent();
+    }
+
+    @ParameterizedTest
+    @MethodSource("stores")
+    void expiredAndUnknownTokensAreRejected(Function<Path, RefreshTokenStore> factory) {
+        RefreshTokenStore store = store(factory);
+        RotatedRefreshToken token = service(store, NOW).issue("user@example.com");
+
+        RefreshTokenService later = service(store, NOW.plus(Duration.ofDays(7)));
+        assertThat(later.rotate(token.value())).isEmpty();
+        assertThat(later.rotate("not-a-token")).isEmpty();
+        assertThat(later.rotate("")).isEmpty();
+        assertThat(later.rotate(null)).isEmpty();
+
+        later.purgeExpired();
+        assertThat(store.find(RefreshTokenService.hash(token.value()))).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("stores")
+    void revokeEndsFamily(Function<Path, RefreshTokenStore> factory) {
+        RefreshTokenService service = service(store(factory), NOW);
+        RotatedRefreshToken token = service.issue("user@example.com");
+
+        service.revoke(token.value());
+
+        assertThat(service.rotate(token.value())).isEmpty();
+    }
+
+    @ParameterizedTest
+    @MethodSource("stores")
+    void concurrentRotationOfOneTokenHasOneWinner(Function<Path, RefreshTokenStore> factory) throws Exception {
+        RefreshTokenService service = service(store(factory), NOW);
+        RotatedRefreshToken token = service.issue("user@example.com");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Optional<RotatedRefreshToken>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> service.rotate(token.value()));
+            }
+            int winners = 0;
+            for (Future<Optional<RotatedRefreshToken>> result : executor.invokeAll(tasks)) {
+                winners += result.get().isPresent() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.social_login.security.revocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAddedKeysAsAbsent() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti-" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("jti-" + i)).isTrue();
+        }
+        assertThat(filter.mightContain("ünïcode")).isFalse();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void concurrentPutsAreNotLost() throws Exception {
+        BloomFilter filter = BloomFilter.create(80_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    filter.put(thread + "-" + i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        for (int t = 0; t < 8; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain(t + "-" + i)).isTrue();
+            }
+        }
+        assertThat(filter.insertions()).isEqualTo(80_000);
+    }
+
+    @Test
+    void rejectsImpossibleRate() {
+        assertThatThrownBy(() -> BloomFilter.create(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
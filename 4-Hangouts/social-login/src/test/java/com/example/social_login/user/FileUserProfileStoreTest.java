@@ -0,0 +1,102 @@
+package com.example.social_login.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileUserProfileStoreTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void profilesSurviveRestart() {
+        Path file = dir.resolve("profiles.log");
+        FileUserProfileStore store = new FileUserProfileStore(file, 100);
+        store.save(profile("a@example.com", "Ada\tLovelace", NOW));
+        store.save(new UserProfile("b@example.com", "google", null, null, null, NOW, NOW));
+        store.close();
+
+        FileUserProfileStore reopened = new FileUserProfileStore(file, 100);
+
+        assertThat(reopened.find("a@example.com")).get().extracting(UserProfile::name).isEqualTo("Ada\tLovelace");
+        assertThat(reopened.find("b@example.com")).contains(
+                new UserProfile("b@example.com", "google", null, null, null, NOW, NOW));
+        assertThat(reopened.find("c@example.com")).isEmpty();
+        reopened.close();
+    }
+
+    @Test
+    void savesAreWrittenBehindInBatches() throws Exception {
+        Path file = dir.resolve("profiles.log");
+        FileUserProfileStore store = new FileUserProfileStore(file, 3);
+
+        store.save(profile("a@example.com", "A", NOW));
+        store.save(profile("b@example.com", "B", NOW));
+        assertThat(Files.size(file)).isZero();
+        assertThat(store.find("a@example.com")).isPresent(); // Visible while queued
+
+        store.save(profile("c@example.com", "C", NOW)); // Queue full, written by this call
+        assertThat(Files.readAllLines(file)).hasSize(3);
+
+        store.save(profile("a@example.com", "A2", NOW.plusSeconds(1)));
+        store.flush();
+        assertThat(Files.readAllLines(file)).hasSize(4);
+        assertThat(store.find("a@example.com")).get().extracting(UserProfile::name).isEqualTo("A2");
+        store.close();
+    }
+
+    @Test
+    void tornLastLineIsCutOff() throws Exception {
+        Path file = dir.resolve("profiles.log");
+        FileUserProfileStore store = new FileUserProfileStore(file, 100);
+        store.save(profile("a@example.com", "A", NOW));
+        store.close();
+        Files.writeString(file, "P\tYkBleGFt", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        FileUserProfileStore reopened = new FileUserProfileStore(file, 100);
+        reopened.save(profile("b@example.com", "B", NOW));
+        reopened.close();
+
+        assertThat(Files.readAllLines(file)).hasSize(2);
+        FileUserProfileStore again = new FileUserProfileStore(file, 100);
+        assertThat(again.find("a@example.com")).isPresent();
+        assertThat(again.find("b@example.com")).isPresent();
+        again.close();
+    }
+
+    @Test
+    void supersededRecordsAreCompactedOnOpen() throws Exception {
+        Path file = dir.resolve("profiles.log");
+        FileUserProfileStore store = new FileUserProfileStore(file, 1);
+        for (int login = 0; login < 5; login++) {
+            store.save(profile("a@example.com", "A", NOW.plusSeconds(login)));
+            store.save(profile("b@example.com", "B", NOW.plusSeconds(login)));
+        }
+        store.close();
+        assertThat(Files.readAllLines(file)).hasSize(10);
+
+        FileUserProfileStore reopened = new FileUserProfileStore(file, 1);
+
+        assertThat(Files.readAllLines(file)).hasSize(2);
+        assertThat(reopened.find("a@example.com")).get().extracting(UserProfile::lastLogin)
+                .isEqualTo(NOW.plusSeconds(4));
+        reopened.save(profile("c@example.com", "C", NOW));
+        assertThat(reopened.find("b@example.com")).isPresent();
+        assertThat(reopened.find("c@example.com")).isPresent();
+        reopened.close();
+    }
+
+    private static UserProfile profile(String email, String name, Instant lastLogin) {
+        return new UserProfile(email, "github", name, "handle", "https://avatars.example.com/u/1", NOW, lastLogin);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.cors.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}.
+ *
+ * With no arguments, runs every benchmark at 1, 4, 16 and 64 threads with
+ * the GC profiler attached, so contention shows up even past the number of
+ * available processors. With arguments, behaves exactly like the standard
+ * JMH command line.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        for (int threads : new int[] { 1, 4, 16, 64 }) {
+            run(threads);
+        }
+    }
+
+    private static void run(int threads) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackageName() + ".*Benchmark")
+                .threads(threads)
+                .addProfiler(GCProfiler.class)
+                .result("jmh-result-" + threads + "t.json")
+                .resultFormat(org.openjdk.jmh.results.format.ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.cors.benchmark;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.cors.AtomicIdAllocator;
+import com.example.cors.BlockIdAllocator;
+import com.example.cors.IdAllocator;
+import com.example.cors.IdProperties;
+import com.example.cors.SnowflakeIdAllocator;
+
+/**
+ * Every thread taking greeting IDs from one shared allocator as fast as it
+ * can. Run at increasing thread counts ({@code -t}) to see how each
+ * allocator holds up under contention; {@code ATOMIC} is the single shared
+ * counter the controller used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdAllocatorBenchmark {
+
+    @Param({ "ATOMIC", "BLOCK", "SNOWFLAKE" })
+    IdProperties.Allocator allocator;
+
+    private IdAllocator ids;
+
+    @Setup
+    public void setUp() {
+        ids = switch (allocator) {
+            case ATOMIC -> new AtomicIdAllocator(null);
+            case BLOCK -> BlockIdAllocator.forAvailableProcessors(1_000, null);
+            case SNOWFLAKE -> new SnowflakeIdAllocator(0, Clock.systemUTC(), null);
+        };
+    }
+
+    @Benchmark
+    public long nextId() {
+        return ids.nextId();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.cors;
+
+/**
+ * One line of the access log.
+ *
+ * @param timestamp When it happened, in epoch milliseconds
+ * @param type      What happened, e.g. {@code greeting}
+ * @param path      Request path
+ * @param subject   Who it concerns, or null if unknown
+ * @param outcome   How it ended, e.g. {@code OK}
+ */
+public record AccessEvent(
+        long timestamp,
+        String type,
+        String path,
+        String subject,
+        String outcome) {
+
+    /**
+     * Creates an event stamped with the current time.
+     */
+    public static AccessEvent now(String type, String path, String subject, String outcome) {
+        return new AccessEvent(System.currentTimeMillis(), type, path, subject, outcome);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.cors;
+
+/**
+ * Where request handlers and filters record {@link AccessEvent}s.
+ *
+ * Publishing must be cheap enough for the request path: implementations
+ * hand the event off and write it elsewhere.
+ */
+public interface AccessLog extends AutoCloseable {
+
+    /**
+     * Access log that discards every event.
+     */
+    AccessLog DISABLED = event -> {
+    };
+
+    /**
+     * @param event The event to record
+     */
+    void publish(AccessEvent event);
+
+    /**
+     * @return Events written so far
+     */
+    default long written() {
+        return 0;
+    }
+
+    /**
+     * @return Events discarded so far because the log could not keep up or
+     *         could not write
+     */
+    default long dropped() {
+        return 0;
+    }
+
+    /**
+     * Writes what is still pending and releases the log's resources.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.cors;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Creates the access log configured in application.yaml, or a disabled one
+ * when no file is set.
+ */
+@Configuration
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogConfig {
+
+    @Bean
+    AccessLog accessLog(AccessLogProperties properties) {
+        if (properties.file() == null) {
+            return AccessLog.DISABLED;
+        }
+        return new AsyncAccessLog(
+                properties.file(),
+                properties.bufferSize(),
+                properties.whenFull(),
+                properties.flushInterval(),
+                properties.maxFileSize().toBytes(),
+                properties.maxFiles());
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.cors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Access log configuration properties externalized from application.yaml.
+ *
+ * @param file          Log file, or null to keep no access log
+ * @param bufferSize    Most events queued for the writer
+ * @param whenFull      Whether a full queue drops events or makes requests wait
+ * @param flushInterval Longest an event is queued before being written
+ * @param maxFileSize   Size past which the file is rolled
+ * @param maxFiles      Rolled files kept
+ */
+@ConfigurationProperties(prefix = "application.access-log")
+public record AccessLogProperties(
+        Path file,
+        int bufferSize,
+        AsyncAccessLog.WhenFull whenFull,
+        Duration flushInterval,
+        DataSize maxFileSize,
+        int maxFiles) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public AccessLogProperties {
+        if (bufferSize <= 0) {
+            bufferSize = 8_192;
+        }
+        if (whenFull == null) {
+            whenFull = AsyncAccessLog.WhenFull.DROP;
+        }
+        if (flushInterval == null) {
+            flushInterval = Duration.ofMillis(200);
+        }
+        if (maxFileSize == null) {
+            maxFileSize = DataSize.ofMegabytes(10);
+        }
+        if (maxFiles <= 0) {
+            maxFiles = 5;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.cors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link AccessLog} that writes on a background thread, so a request only
+ * pays for queueing its event.
+ *
+ * Events go into a bounded lock-free {@link EventRing}. A single writer
+ * thread drains it, encodes everything it finds into one batch and appends
+ * the batch to a {@link RollingFile}, one tab-separated line per event:
+ * <pre>
+ * 2026-10-17T09:30:00.123Z  greeting  /greeting  World  OK
+ * </pre>
+ * The writer wakes every {@code flushInterval}, or sooner once the ring is
+ * half full. When the ring is full, {@link WhenFull} decides whether the
+ * event is dropped or the request waits for room. Events the writer fails
+ * to write are counted as dropped too.
+ */
+public class AsyncAccessLog implements AccessLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncAccessLog.class);
+
+    /**
+     * How long a blocked publisher sleeps between attempts.
+     */
+    private static final long BLOCKED_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * What {@link #publish} does when the ring is full.
+     */
+    public enum WhenFull {
+        /**
+         * Discard the event and count it; requests never wait on the log.
+         */
+        DROP,
+        /**
+         * Wait until the writer makes room; no event is lost while the
+         * disk keeps up on average.
+         */
+        BLOCK
+    }
+
+    private final Path path;
+    private final EventRing<AccessEvent> ring;
+    private final WhenFull whenFull;
+    private final long flushIntervalNanos;
+    private final int wakeAt;
+    private final RollingFile file;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+
+    // Updated by the writer thread only
+    private volatile long written;
+    private volatile boolean closed;
+
+    // Writer thread only
+    private final StringBuilder batch = new StringBuilder(8 * 1024);
+    private boolean failing;
+
+    /**
+     * @param path          Log file, created if missing
+     * @param capacity      Most events queued; rounded up to a power of two
+     * @param whenFull      What to do when the queue is full
+     * @param flushInterval Longest an event waits before being written
+     * @param maxFileSize   Size in bytes past which the file is rolled
+     * @param maxFiles      Rolled files kept
+     * @throws IllegalStateException if the file cannot be opened
+     */
+    public AsyncAccessLog(Path path, int capacity, WhenFull whenFull, Duration flushInterval, long maxFileSize,
+            int maxFiles) {
+        this.path = path;
+        this.ring = new EventRing<>(capacity);
+        this.whenFull = whenFull;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.wakeAt = Math.max(1, ring.capacity() / 2);
+        try {
+            this.file = new RollingFile(path, maxFileSize, maxFiles);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open access log " + path, e);
+        }
+        this.writer = Thread.ofPlatform().name("access-log-writer").daemon().start(this::run);
+    }
+
+    @Override
+    public void publish(AccessEvent event) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        if (ring.offer(event)) {
+            if (ring.size() >= wakeAt) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        if (whenFull == WhenFull.BLOCK) {
+            while (!closed) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(BLOCKED_WAIT_NANOS);
+                if (ring.offer(event)) {
+                    return;
+                }
+            }
+        }
+        dropped.increment();
+    }
+
+    @Override
+    public long written() {
+        return written;
+    }
+
+    @Override
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the events still queued, stops the writer and closes the file.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.warn("Cannot close access log {}: {}", path, e.getMessage());
+        }
+    }
+
+    private void run() {
+        while (true) {
+            // Read before draining, so nothing published before close is left behind
+            boolean last = closed;
+            if (writeBatch() == 0) {
+                if (last) {
+                    return;
+                }
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+    }
+
+    /**
+     * Drains the ring into one buffer and writes it.
+     *
+     * @return Number of events taken off the ring
+     */
+    private int writeBatch() {
+        batch.setLength(0);
+        int events = 0;
+        AccessEvent event;
+        // At most one ring's worth, so a steady stream still gets written
+        while (events < ring.capacity() && (event = ring.poll()) != null) {
+            encode(event);
+            events++;
+        }
+        if (events == 0) {
+            return 0;
+        }
+        try {
+            file.write(ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8)));
+            written += events;
+            if (failing) {
+                failing = false;
+                log.info("Access log {} is writable again", path);
+            }
+        } catch (IOException e) {
+            dropped.add(events);
+            if (!failing) {
+                failing = true;
+                log.warn("Dropping access events, cannot write {}: {}", path, e.getMessage());
+            }
+        }
+        if (batch.capacity() > 1024 * 1024) {
+            batch.setLength(0);
+            batch.trimToSize();
+        }
+        return events;
+    }
+
+    private void encode(AccessEvent event) {
+        batch.append(Instant.ofEpochMilli(event.timestamp()));
+        field(event.type());
+        field(event.path());
+        field(event.subject());
+        field(event.outcome());
+        batch.append('\n');
+    }
+
+    /**
+     * Appends a column. Control characters are replaced, so a value taken
+     * from the request cannot forge a line or a column.
+     */
+    private void field(String value) {
+        batch.append('\t');
+        if (value == null || value.isEmpty()) {
+            batch.append('-');
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            batch.append(c < 0x20 || c == 0x7f ? '?' : c);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.cors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts up from one on a single shared counter, so IDs are dense and
+ * ordered across threads. Every ID is a compare-and-set on the same cache
+ * line, which stops scaling once many cores ask at once.
+ */
+public class AtomicIdAllocator implements IdAllocator {
+
+    private final AtomicLong counter;
+    private final IdReservation reservation;
+
+    /**
+     * @param reservation Stored high-water mark, or null to restart from one
+     */
+    public AtomicIdAllocator(IdReservation reservation) {
+        this.reservation = reservation;
+        this.counter = new AtomicLong(reservation == null ? 0 : reservation.mark());
+    }
+
+    @Override
+    public long nextId() {
+        long id = counter.incrementAndGet();
+        if (reservation != null) {
+            reservation.reserve(id + 1);
+        }
+        return id;
+    }
+}
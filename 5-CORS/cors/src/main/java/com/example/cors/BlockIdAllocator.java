@@ -0,0 +1,92 @@
+package com.example.cors;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out IDs from blocks taken off a shared sequence.
+ *
+ * Each platform thread counts through its own block of {@code blockSize}
+ * IDs, held in a thread local, with no lock and no compare-and-set. Only
+ * when a block runs out does the thread touch the shared sequence, so the
+ * shared compare-and-set happens once per block instead of once per ID.
+ * Virtual threads are too many and too short-lived for a block each; they
+ * are spread over a fixed set of stripes by thread ID, each stripe with its
+ * own block under its own lock.
+ *
+ * A thread always uses the same block or stripe and blocks are taken in
+ * increasing order, so each thread's IDs increase. Blocks being used by
+ * other threads leave gaps between consecutive IDs, and the rest of a block
+ * in use when its thread ends, or at shutdown, is never handed out.
+ */
+public class BlockIdAllocator implements IdAllocator {
+
+    private final long blockSize;
+    private final IdReservation reservation;
+    private final AtomicLong sequence;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private final Block[] stripes;
+
+    /**
+     * @param blockSize   IDs taken off the shared sequence at a time
+     * @param stripes     Number of stripes for virtual threads; rounded up to
+     *                    a power of two
+     * @param reservation Stored high-water mark, or null to restart from one
+     */
+    public BlockIdAllocator(long blockSize, int stripes, IdReservation reservation) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.reservation = reservation;
+        this.sequence = new AtomicLong(Math.max(1, reservation == null ? 1 : reservation.mark()));
+        this.stripes = new Block[stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new Block();
+        }
+    }
+
+    /**
+     * @param blockSize   IDs taken off the shared sequence at a time
+     * @param reservation Stored high-water mark, or null to restart from one
+     * @return An allocator with two virtual thread stripes per available
+     *         processor
+     */
+    public static BlockIdAllocator forAvailableProcessors(long blockSize, IdReservation reservation) {
+        return new BlockIdAllocator(blockSize, 2 * Runtime.getRuntime().availableProcessors(), reservation);
+    }
+
+    @Override
+    public long nextId() {
+        Thread thread = Thread.currentThread();
+        if (!thread.isVirtual()) {
+            return next(blocks.get());
+        }
+        Block stripe = stripes[(int) thread.threadId() & (stripes.length - 1)];
+        synchronized (stripe) {
+            return next(stripe);
+        }
+    }
+
+    private long next(Block block) {
+        if (block.next == block.end) {
+            long start = sequence.getAndAdd(blockSize);
+            if (reservation != null) {
+                reservation.reserve(start + blockSize);
+            }
+            block.next = start;
+            block.end = start + blockSize;
+        }
+        return block.next++;
+    }
+
+    /**
+     * The block a thread or stripe is counting through. The unused fields
+     * keep two threads' counters off the same cache line.
+     */
+    @SuppressWarnings("unused")
+    private static final class Block {
+        long next;
+        long end;
+        long p1, p2, p3, p4, p5, p6;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.cors;
+
+import java.util.List;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+/**
+ * Lets the registered origins call {@code /greeting} from the browser.
+ */
+@Configuration
+@EnableConfigurationProperties(CorsProperties.class)
+public class CorsConfig {
+
+    /**
+     * Policy for {@code allowedOrigins} and for origins file columns left out.
+     */
+    private static final OriginPolicy DEFAULT_POLICY = new OriginPolicy(
+            List.of("GET", "HEAD", "POST"), List.of("*"), false);
+
+    @Bean
+    OriginRegistry originRegistry(CorsProperties properties) {
+        return new OriginRegistry(properties.origins(), DEFAULT_POLICY, properties.allowedOrigins());
+    }
+
+    @Bean
+    OriginRegistryCorsConfigurationSource corsConfigurationSource(
+            OriginRegistry originRegistry,
+            CorsProperties properties) {
+        // Shared by every origin; origins, methods, headers and credentials come from the registry
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setMaxAge(properties.maxAge());
+        UrlBasedCorsConfigurationSource paths = new UrlBasedCorsConfigurationSource();
+        paths.registerCorsConfiguration("/**", configuration);
+        return new OriginRegistryCorsConfigurationSource(paths, originRegistry);
+    }
+
+    @Bean
+    CorsFilter corsFilter(OriginRegistryCorsConfigurationSource corsConfigurationSource) {
+        return new CorsFilter(corsConfigurationSource);
+    }
+}
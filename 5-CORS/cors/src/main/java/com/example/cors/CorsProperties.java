@@ -0,0 +1,34 @@
+package com.example.cors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * CORS configuration properties externalized from application.yaml.
+ *
+ * @param allowedOrigins Origins always allowed, with the default policy
+ * @param origins        File of further allowed origins and their policies,
+ *                       or null for only {@code allowedOrigins}
+ * @param maxAge         How long browsers may cache a preflight result
+ */
+@ConfigurationProperties(prefix = "application.cors")
+public record CorsProperties(
+        List<String> allowedOrigins,
+        Path origins,
+        Duration maxAge) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public CorsProperties {
+        if (allowedOrigins == null) {
+            allowedOrigins = List.of("http://localhost:8080");
+        }
+        if (maxAge == null) {
+            maxAge = Duration.ofMinutes(30);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.cors;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,12 +9,19 @@ public class GreetingController {
 
 	private static final String template = "Hello, %s!";
 
-	private final AtomicLong counter = new AtomicLong();
+	private final IdAllocator ids;
+
+	private final AccessLog accessLog;
+
+	public GreetingController(IdAllocator ids, AccessLog accessLog) {
+		this.ids = ids;
+		this.accessLog = accessLog;
+	}
 
 	@GetMapping("/greeting")
 	public Greeting greeting(@RequestParam(required = false, defaultValue = "World") String name) {
-		System.out.println("==== get greeting ====");
-		return new Greeting(counter.incrementAndGet(), String.format(template, name));
+		accessLog.publish(AccessEvent.now("greeting", "/greeting", name, "OK"));
+		return new Greeting(ids.nextId(), String.format(template, name));
 	}
 
 }
\ No newline at end of file
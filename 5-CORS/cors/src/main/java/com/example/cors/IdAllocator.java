@@ -0,0 +1,16 @@
+package com.example.cors;
+
+/**
+ * Hands out the IDs of greetings.
+ *
+ * Every ID is unique for the life of the allocator, and those handed to one
+ * thread increase. IDs handed to different threads are not ordered with each
+ * other, and there may be gaps.
+ */
+public interface IdAllocator {
+
+    /**
+     * @return A positive ID never returned before
+     */
+    long nextId();
+}
@@ -0,0 +1,56 @@
+package com.example.cors;
+
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jackson.autoconfigure.JsonMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Picks the greeting {@link IdAllocator}.
+ */
+@Configuration
+@EnableConfigurationProperties(IdProperties.class)
+public class IdConfig {
+
+    /**
+     * How many blocks, or seconds of snowflake time, a write of the state
+     * file reserves.
+     */
+    private static final int RESERVE_AHEAD = 100;
+
+    @Bean
+    IdAllocator idAllocator(IdProperties properties) {
+        return switch (properties.allocator()) {
+            case ATOMIC -> new AtomicIdAllocator(reservation(properties, properties.blockSize()));
+            case BLOCK -> BlockIdAllocator.forAvailableProcessors(properties.blockSize(),
+                    reservation(properties, properties.blockSize()));
+            case SNOWFLAKE -> new SnowflakeIdAllocator(properties.node(), Clock.systemUTC(),
+                    reservation(properties, 1_000));
+        };
+    }
+
+    /**
+     * Snowflake IDs soon pass 2<sup>53</sup>, which JavaScript clients would
+     * silently round, so {@link Greeting#id()} is written as a string.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.ids.allocator", havingValue = "snowflake")
+    JsonMapperBuilderCustomizer snowflakeIdsAsStrings() {
+        return builder -> builder.addMixIn(Greeting.class, IdAsString.class);
+    }
+
+    private static IdReservation reservation(IdProperties properties, long unit) {
+        return properties.state() == null ? null : new IdReservation(properties.state(), RESERVE_AHEAD * unit);
+    }
+
+    private interface IdAsString {
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        long id();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.cors;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Greeting ID properties externalized from application.yaml.
+ *
+ * @param allocator How IDs are allocated
+ * @param blockSize IDs each stripe takes at a time with the block allocator
+ * @param node      This instance's node number (0 to 15) with the snowflake
+ *                  allocator
+ * @param state     File keeping a high-water mark so IDs are not reused after
+ *                  a restart, or null to start over
+ */
+@ConfigurationProperties(prefix = "application.ids")
+public record IdProperties(
+        Allocator allocator,
+        long blockSize,
+        int node,
+        Path state) {
+
+    /**
+     * Default values for optional properties.
+     */
+    public IdProperties {
+        if (allocator == null) {
+            allocator = Allocator.BLOCK;
+        }
+        if (blockSize <= 0) {
+            blockSize = 1_000;
+        }
+    }
+
+    public enum Allocator {
+        /**
+         * One shared counter: dense IDs ordered across threads ({@link AtomicIdAllocator})
+         */
+        ATOMIC,
+        /**
+         * Blocks of a shared sequence per stripe of threads ({@link BlockIdAllocator})
+         */
+        BLOCK,
+        /**
+         * Time, node and sequence ({@link SnowflakeIdAllocator}); greeting IDs
+         * are sent as JSON strings
+         */
+        SNOWFLAKE
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.cors;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A high-water mark kept in a file so that IDs survive restarts.
+ *
+ * Every value an allocator hands out is below the mark, which is written
+ * before the value is used. On restart the allocator starts at the stored
+ * mark. The mark is moved {@code ahead} past what is needed, so the file is
+ * written once per {@code ahead} values rather than once per ID; values
+ * reserved but not used before a restart are skipped.
+ */
+public class IdReservation {
+
+    private final Path file;
+    private final long ahead;
+
+    private volatile long mark;
+
+    /**
+     * @param file  File holding the mark; created on first reservation
+     * @param ahead How far past the needed value to move the mark
+     * @throws IllegalStateException if the file exists but cannot be read
+     */
+    public IdReservation(Path file, long ahead) {
+        this.file = file;
+        this.ahead = ahead;
+        try {
+            mark = Long.parseLong(Files.readString(file, StandardCharsets.US_ASCII).strip());
+        } catch (NoSuchFileException e) {
+            mark = 0;
+        } catch (IOException | NumberFormatException e) {
+            throw new IllegalStateException("Cannot read the ID high-water mark from " + file, e);
+        }
+    }
+
+    /**
+     * @return The mark read at startup, or as last reserved
+     */
+    public long mark() {
+        return mark;
+    }
+
+    /**
+     * Makes sure every value below {@code limit} is covered by the stored mark.
+     * Returns without locking when it already is.
+     *
+     * @param limit One past the highest value about to be used
+     * @throws IllegalStateException if the mark cannot be written
+     */
+    public void reserve(long limit) {
+        if (limit > mark) {
+            store(limit);
+        }
+    }
+
+    private synchronized void store(long limit) {
+        if (limit <= mark) {
+            return;
+        }
+        long next = limit + ahead;
+        try {
+            // Replace the file in one step so a crash leaves the old mark or the new one
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, Long.toString(next), StandardCharsets.US_ASCII);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot store the ID high-water mark in " + file, e);
+        }
+        mark = next;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.cors;
+
+import java.util.List;
+
+/**
+ * What a registered origin may do in a cross-origin request.
+ *
+ * @param methods     Allowed methods, or {@code *} for any
+ * @param headers     Allowed request headers, or {@code *} for any
+ * @param credentials Whether cookies may be sent
+ */
+public record OriginPolicy(
+        List<String> methods,
+        List<String> headers,
+        boolean credentials) {
+
+    public OriginPolicy {
+        methods = List.copyOf(methods);
+        headers = List.copyOf(headers);
+    }
+}
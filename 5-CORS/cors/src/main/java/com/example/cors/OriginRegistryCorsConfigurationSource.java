@@ -0,0 +1,95 @@
+package com.example.cors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Applies the {@link OriginRegistry} on top of a path-based
+ * {@link CorsConfigurationSource}.
+ *
+ * The path configuration supplies what is the same for every origin (exposed
+ * headers, max age). For a registered origin it is combined with the
+ * origin's policy into a configuration that allows exactly that policy's
+ * origins, methods, headers and credentials. An unregistered origin gets the
+ * path configuration, which lists no origins, so the request is rejected.
+ *
+ * There is one combined configuration per path configuration and distinct
+ * policy, built on first use. Reloading the registry changes which policy an
+ * origin gets without touching the path source.
+ */
+public class OriginRegistryCorsConfigurationSource implements CorsConfigurationSource {
+
+    private final CorsConfigurationSource paths;
+    private final OriginRegistry registry;
+    private final Map<Combination, CorsConfiguration> combined = new ConcurrentHashMap<>();
+
+    /**
+     * @param paths    Per-path settings shared by every origin
+     * @param registry The allowed origins
+     */
+    public OriginRegistryCorsConfigurationSource(CorsConfigurationSource paths, OriginRegistry registry) {
+        this.paths = paths;
+        this.registry = registry;
+    }
+
+    @Override
+    public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+        CorsConfiguration base = paths.getCorsConfiguration(request);
+        if (base == null) {
+            return null;
+        }
+        OriginPolicy policy = registry.find(request.getHeader(HttpHeaders.ORIGIN));
+        if (policy == null) {
+            return base;
+        }
+        return combined.computeIfAbsent(new Combination(base, policy), PolicyConfiguration::new);
+    }
+
+    /**
+     * Picks up changes to the origins file.
+     * Runs on the interval configured by {@code application.cors.origins-reload-interval}.
+     */
+    @Scheduled(fixedDelayString = "${application.cors.origins-reload-interval:10s}")
+    public void reloadOrigins() {
+        registry.reloadIfChanged();
+    }
+
+    /**
+     * The path configuration compares by identity (CorsConfiguration has no
+     * equals); the policy by value, so an unchanged policy keeps its
+     * configuration across reloads.
+     */
+    private record Combination(CorsConfiguration base, OriginPolicy policy) {
+    }
+
+    /**
+     * A path configuration with one policy applied. Its origin check asks the
+     * registry, so it allows every origin that currently has this policy.
+     */
+    private final class PolicyConfiguration extends CorsConfiguration {
+
+        private final OriginPolicy policy;
+
+        PolicyConfiguration(Combination combination) {
+            super(combination.base());
+            this.policy = combination.policy();
+            setAllowedOrigins(null);
+            setAllowedOriginPatterns(null);
+            setAllowedMethods(policy.methods());
+            setAllowedHeaders(policy.headers());
+            setAllowCredentials(policy.credentials());
+        }
+
+        @Override
+        public String checkOrigin(String origin) {
+            return policy.equals(registry.find(origin)) ? origin : null;
+        }
+    }
+}
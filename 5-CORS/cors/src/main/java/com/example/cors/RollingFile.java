@@ -0,0 +1,85 @@
+package com.example.cors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends to a file through a {@link FileChannel}, moving it aside once it
+ * reaches a size: {@code access.log} becomes {@code access.log.1}, the old
+ * {@code .1} becomes {@code .2}, and so on up to {@code maxFiles}, past
+ * which the oldest is deleted. Not thread-safe; the access log has a single
+ * writer.
+ */
+class RollingFile implements AutoCloseable {
+
+    private final Path file;
+    private final long maxSize;
+    private final int maxFiles;
+
+    private FileChannel channel;
+    private long size;
+
+    /**
+     * @param file     The file written to, created if missing
+     * @param maxSize  Size in bytes past which the file is rolled
+     * @param maxFiles Rolled files kept
+     */
+    RollingFile(Path file, long maxSize, int maxFiles) throws IOException {
+        this.file = file;
+        this.maxSize = maxSize;
+        this.maxFiles = maxFiles;
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        open();
+    }
+
+    /**
+     * Appends the whole buffer, rolling first if it would take the file past
+     * its size. A batch is never split across two files.
+     */
+    void write(ByteBuffer buffer) throws IOException {
+        if (size > 0 && size + buffer.remaining() > maxSize) {
+            roll();
+        }
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        Files.deleteIfExists(rolled(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) {
+                Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles > 0) {
+            Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    private Path rolled(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.cors;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Builds IDs from the time, the node and a per-stripe sequence, in the
+ * manner of Twitter's Snowflake:
+ * <pre>
+ *  63  62          22 21   18 17     12 11        0
+ * [0 | milliseconds | node  | stripe  | sequence  ]
+ *       41 bits       4 bits  6 bits    12 bits
+ * </pre>
+ * Milliseconds count from 2026-01-01, which lasts until 2095. Up to 16 nodes
+ * can share an ID space without coordinating, as long as each has its own
+ * {@code node}.
+ *
+ * Threads are spread over the 64 stripes by thread ID, and the stripe is
+ * part of the ID, so stripes never need to agree with each other: there is
+ * no state shared between them. Each stripe issues up to 4096 IDs per
+ * millisecond; past that, or when the clock steps back, it carries on from
+ * its own last timestamp rather than waiting, so IDs stay unique and a
+ * thread's IDs keep increasing.
+ *
+ * IDs exceed 2<sup>53</sup>, the largest integer a JavaScript number holds
+ * exactly, once the clock is about 25 days (2<sup>31</sup> ms) past the
+ * epoch, so {@link IdConfig} has greetings carry them as JSON strings.
+ */
+public class SnowflakeIdAllocator implements IdAllocator {
+
+    /**
+     * 2026-01-01T00:00:00Z
+     */
+    static final long EPOCH = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 4;
+    static final int STRIPE_BITS = 6;
+    static final int SEQUENCE_BITS = 12;
+
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final int STRIPE_SHIFT = SEQUENCE_BITS;
+    private static final int NODE_SHIFT = STRIPE_SHIFT + STRIPE_BITS;
+    private static final int TIME_SHIFT = NODE_SHIFT + NODE_BITS;
+
+    private final Clock clock;
+    private final IdReservation reservation;
+    private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+    /**
+     * @param node        This node's number, from 0 to 15
+     * @param clock       Source of the time
+     * @param reservation Stored high-water mark of the timestamp, in
+     *                    milliseconds since the epoch above, or null to
+     *                    trust the clock across restarts
+     */
+    public SnowflakeIdAllocator(int node, Clock clock, IdReservation reservation) {
+        if (node < 0 || node >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Node must be between 0 and " + ((1 << NODE_BITS) - 1) + ": " + node);
+        }
+        this.clock = clock;
+        this.reservation = reservation;
+        // Times below the stored mark may have been used before the restart
+        long start = reservation == null ? 0 : reservation.mark();
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe((long) node << NODE_SHIFT | (long) i << STRIPE_SHIFT, start);
+        }
+    }
+
+    @Override
+    public long nextId() {
+        Stripe stripe = stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+        long now = clock.millis() - EPOCH;
+        synchronized (stripe) {
+            if (now > stripe.time) {
+                stripe.time = now;
+                stripe.sequence = 0;
+            } else if (stripe.sequence < MAX_SEQUENCE) {
+                stripe.sequence++;
+            } else {
+                // Sequence exhausted: borrow the next millisecond
+                stripe.time++;
+                stripe.sequence = 0;
+            }
+            if (reservation != null) {
+                reservation.reserve(stripe.time + 1);
+            }
+            return stripe.time << TIME_SHIFT | stripe.bits | stripe.sequence;
+        }
+    }
+
+    /**
+     * The last timestamp and sequence of one stripe, guarded by the stripe.
+     * The unused fields keep two stripes' counters off the same cache line.
+     */
+    @SuppressWarnings("unused")
+    private static final class Stripe {
+        final long bits;
+        long time;
+        long sequence;
+        long p1, p2, p3, p4, p5;
+
+        Stripe(long bits, long start) {
+            this.bits = bits;
+            // The first ID lands on the start time itself
+            this.time = start;
+            this.sequence = -1;
+        }
+    }
+}
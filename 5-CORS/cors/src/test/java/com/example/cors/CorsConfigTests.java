@@ -0,0 +1,60 @@
+package com.example.cors;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "application.cors.origins=src/test/resources/origins.txt")
+@AutoConfigureMockMvc
+class CorsConfigTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void allowedOriginGetsItsPolicy() throws Exception {
+		mockMvc.perform(get("/greeting").header(HttpHeaders.ORIGIN, "http://localhost:8080"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "http://localhost:8080"))
+				.andExpect(header().doesNotExist(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+
+		mockMvc.perform(options("/greeting")
+						.header(HttpHeaders.ORIGIN, "https://app.example.com")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true"))
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_MAX_AGE, "1800"));
+	}
+
+	@Test
+	void wildcardSubdomainsShareOnePolicy() throws Exception {
+		mockMvc.perform(options("/greeting")
+						.header(HttpHeaders.ORIGIN, "https://acme.tenants.example.com")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, "x-tenant"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "https://acme.tenants.example.com"));
+
+		mockMvc.perform(options("/greeting")
+						.header(HttpHeaders.ORIGIN, "https://acme.tenants.example.com")
+						.header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "PUT"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void unknownOriginIsRejected() throws Exception {
+		mockMvc.perform(get("/greeting").header(HttpHeaders.ORIGIN, "https://evil.example.com"))
+				.andExpect(status().isForbidden());
+		mockMvc.perform(get("/greeting").header(HttpHeaders.ORIGIN, "https://tenants.example.com"))
+				.andExpect(status().isForbidden());
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.example.cors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GreetingControllerTests {
+
+	@TempDir
+	static Path dir;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private AccessLog accessLog;
+
+	@DynamicPropertySource
+	static void accessLog(DynamicPropertyRegistry registry) {
+		registry.add("application.access-log.file", () -> dir.resolve("access.log"));
+	}
+
+	@Test
+	void greetingsAreWrittenToTheAccessLog() throws Exception {
+		mockMvc.perform(get("/greeting").param("name", "Ada"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").isNumber());
+		mockMvc.perform(get("/greeting")).andExpect(status().isOk());
+		accessLog.close(); // Writes what is queued
+
+		assertThat(accessLog.written()).isEqualTo(2);
+		assertThat(Files.readAllLines(dir.resolve("access.log")))
+				.satisfiesExactly(
+						line -> assertThat(line).endsWith("\tgreeting\t/greeting\tAda\tOK"),
+						line -> assertThat(line).endsWith("\tgreeting\t/greeting\tWorld\tOK"));
+	}
+
+}
@@ -0,0 +1,103 @@
+package com.example.cors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IdAllocatorTests {
+
+	private static final Clock FROZEN = Clock.fixed(Instant.parse("2026-03-01T12:00:00Z"), ZoneOffset.UTC);
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void idsAreUniqueAndIncreasePerThread() throws Exception {
+		for (Thread.Builder threads : List.of(Thread.ofPlatform(), Thread.ofVirtual())) {
+			assertUniqueAndIncreasingPerThread(new AtomicIdAllocator(null), threads);
+			// More virtual threads than stripes, so some threads share one
+			assertUniqueAndIncreasingPerThread(new BlockIdAllocator(7, 4, null), threads);
+			assertUniqueAndIncreasingPerThread(new SnowflakeIdAllocator(3, Clock.systemUTC(), null), threads);
+			// A frozen clock runs every stripe out of sequence numbers
+			assertUniqueAndIncreasingPerThread(new SnowflakeIdAllocator(3, FROZEN, null), threads);
+		}
+	}
+
+	@Test
+	void snowflakeIdsCarryTimeAndNode() {
+		long id = new SnowflakeIdAllocator(5, FROZEN, null).nextId();
+		long time = id >>> (SnowflakeIdAllocator.SEQUENCE_BITS + SnowflakeIdAllocator.STRIPE_BITS
+				+ SnowflakeIdAllocator.NODE_BITS);
+		long node = (id >>> (SnowflakeIdAllocator.SEQUENCE_BITS + SnowflakeIdAllocator.STRIPE_BITS)) & 0xF;
+		assertThat(time + SnowflakeIdAllocator.EPOCH).isEqualTo(FROZEN.millis());
+		assertThat(node).isEqualTo(5);
+	}
+
+	@Test
+	void storedStateSurvivesRestarts() {
+		Path state = dir.resolve("ids.state");
+		assertNoReuseAfterRestart(() -> new AtomicIdAllocator(new IdReservation(state, 10)));
+		assertNoReuseAfterRestart(() -> new BlockIdAllocator(10, 4, new IdReservation(dir.resolve("block"), 100)));
+		// The same frozen clock after the restart, as if it had been set back
+		assertNoReuseAfterRestart(
+				() -> new SnowflakeIdAllocator(0, FROZEN, new IdReservation(dir.resolve("snowflake"), 1_000)));
+	}
+
+	private static void assertUniqueAndIncreasingPerThread(IdAllocator allocator, Thread.Builder threadBuilder)
+			throws Exception {
+		int threads = 16;
+		int perThread = 20_000;
+		Set<Long> all = ConcurrentHashMap.newKeySet();
+		List<Thread> workers = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+		CountDownLatch start = new CountDownLatch(1);
+		for (int t = 0; t < threads; t++) {
+			Thread worker = threadBuilder.start(() -> {
+				try {
+					start.await();
+					long previous = 0;
+					for (int i = 0; i < perThread; i++) {
+						long id = allocator.nextId();
+						assertThat(id).isGreaterThan(previous);
+						all.add(id);
+						previous = id;
+					}
+				} catch (Throwable e) {
+					synchronized (failures) {
+						failures.add(e);
+					}
+				}
+			});
+			workers.add(worker);
+		}
+		start.countDown();
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		assertThat(failures).as(allocator.getClass().getSimpleName()).isEmpty();
+		assertThat(all).as(allocator.getClass().getSimpleName()).hasSize(threads * perThread);
+	}
+
+	private static void assertNoReuseAfterRestart(Supplier<IdAllocator> restart) {
+		Set<Long> issued = new HashSet<>();
+		for (int run = 0; run < 3; run++) {
+			IdAllocator allocator = restart.get();
+			for (int i = 0; i < 250; i++) {
+				assertThat(issued.add(allocator.nextId())).isTrue();
+			}
+		}
+	}
+}
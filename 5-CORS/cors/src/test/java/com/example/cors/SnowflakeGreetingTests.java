@@ -0,0 +1,29 @@
+package com.example.cors;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "application.ids.allocator=snowflake")
+@AutoConfigureMockMvc
+class SnowflakeGreetingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void snowflakeIdsAreSentAsStrings() throws Exception {
+		mockMvc.perform(get("/greeting"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").isString())
+				.andExpect(jsonPath("$.id").value(matchesPattern("\\d+")));
+	}
+
+}